@@ -7,5 +7,8 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @EnableAsync
 public class AsyncConfig {
     // Esta configuración habilita el envío asíncrono de emails
-    // para que no bloqueen la respuesta HTTP
-}
\ No newline at end of file
+    // para que no bloqueen la respuesta HTTP.
+    // Con spring.threads.virtual.enabled=true las tareas @Async se ejecutan en
+    // hilos virtuales, limitadas por spring.task.execution.simple.concurrency-limit
+    // para no abrir conexiones SMTP sin límite (ver VirtualThreadsConfig)
+}
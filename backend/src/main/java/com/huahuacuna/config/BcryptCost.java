@@ -0,0 +1,60 @@
+package com.huahuacuna.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Coste (factor de trabajo) de BCrypt usado para cifrar contraseñas nuevas.
+ * <p>
+ * En lugar de un coste fijo, puede calibrarse al arrancar midiendo cuánto
+ * tarda este equipo con el coste mínimo: cada punto de coste duplica el
+ * tiempo, así que se elige el mayor coste cuya verificación no supere la
+ * latencia objetivo. Así el login tarda lo mismo en equipos de distinta
+ * potencia.
+ * </p>
+ *
+ * @param value coste de BCrypt (4 a 31)
+ */
+@Slf4j
+public record BcryptCost(int value) {
+
+    private static final String CALIBRATION_PASSWORD = "calibracion-bcrypt";
+    private static final int CALIBRATION_RUNS = 3;
+
+    public BcryptCost {
+        if (value < 4 || value > 31) {
+            throw new IllegalArgumentException("Coste de BCrypt no válido: " + value);
+        }
+    }
+
+    /**
+     * Calcula el coste para una latencia objetivo.
+     *
+     * @param targetMillis latencia objetivo de una verificación
+     * @param minCost      coste mínimo admitido (nunca se baja de aquí)
+     * @param maxCost      coste máximo admitido
+     * @return el coste calibrado
+     */
+    public static BcryptCost calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        String hash = probe.encode(CALIBRATION_PASSWORD); // calentamiento (JIT)
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            probe.matches(CALIBRATION_PASSWORD, hash);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double estimatedMillis = bestNanos / 1_000_000.0;
+        int cost = minCost;
+        while (cost < maxCost && estimatedMillis * 2 <= targetMillis) {
+            cost++;
+            estimatedMillis *= 2;
+        }
+
+        log.info("Coste de BCrypt calibrado: {} (~{} ms por verificación, objetivo {} ms)",
+                cost, Math.round(estimatedMillis), targetMillis);
+        return new BcryptCost(cost);
+    }
+}
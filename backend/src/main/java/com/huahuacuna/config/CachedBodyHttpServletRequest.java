@@ -0,0 +1,110 @@
+package com.huahuacuna.config;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Envoltorio que lee el cuerpo de la petición una vez y permite volver a
+ * leerlo. Lo usa {@link RateLimitFilter} para obtener el email del cuerpo
+ * sin impedir que el controlador lo lea después.
+ * <p>
+ * Si el cuerpo solo se leyó en parte ({@code complete = false}), el flujo
+ * devuelve primero lo ya leído y después el resto del flujo original.
+ * </p>
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final boolean complete;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body, boolean complete) {
+        super(request);
+        this.body = body;
+        this.complete = complete;
+    }
+
+    /**
+     * Cuerpo leído; si no está completo, solo su comienzo.
+     */
+    byte[] getBody() {
+        return body;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        ServletInputStream rest = complete ? null : super.getInputStream();
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0 && (rest == null || rest.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return input.available() > 0 || rest == null || rest.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                if (rest != null) {
+                    // El contenedor avisará cuando llegue el resto; lo leído se entrega primero
+                    rest.setReadListener(readListener);
+                    return;
+                }
+                // Todo el cuerpo está en memoria: se puede leer y ya está completo
+                try {
+                    readListener.onDataAvailable();
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = input.read();
+                return b != -1 || rest == null ? b : rest.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                int read = input.read(buffer, offset, length);
+                return read != -1 || rest == null ? read : rest.read(buffer, offset, length);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    @Override
+    public int getContentLength() {
+        return complete ? body.length : super.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return complete ? body.length : super.getContentLengthLong();
+    }
+}
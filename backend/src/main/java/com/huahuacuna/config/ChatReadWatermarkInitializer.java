@@ -0,0 +1,36 @@
+package com.huahuacuna.config;
+
+import com.huahuacuna.repository.SponsorshipRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente que inicializa las marcas de lectura del chat de los
+ * apadrinamientos creados antes de que existieran.
+ * <p>
+ * Las marcas se calculan a partir del indicador {@code is_read} de los mensajes
+ * existentes con una única actualización masiva; los apadrinamientos que ya
+ * tienen marca no se modifican.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatReadWatermarkInitializer implements CommandLineRunner {
+
+    private final SponsorshipRepository sponsorshipRepository;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int updated = sponsorshipRepository.initializeReadWatermarks();
+            if (updated > 0) {
+                log.info("✅ Marcas de lectura del chat inicializadas en {} apadrinamientos", updated);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error al inicializar las marcas de lectura del chat: {}", e.getMessage(), e);
+        }
+    }
+}
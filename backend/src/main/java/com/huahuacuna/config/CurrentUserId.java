@@ -0,0 +1,28 @@
+package com.huahuacuna.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el ID del usuario autenticado.
+ * <p>
+ * El valor se toma del principal que {@link JwtAuthenticationFilter} dejó en el
+ * contexto de seguridad, de modo que el controlador no vuelve a leer ni a
+ * validar el token JWT.
+ * </p>
+ *
+ * <pre>
+ * public ResponseEntity&lt;?&gt; getMyProfile(@CurrentUserId Long userId)
+ * </pre>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUserId {
+}
@@ -0,0 +1,173 @@
+package com.huahuacuna.config;
+
+import com.huahuacuna.model.Child;
+import com.huahuacuna.model.Event;
+import com.huahuacuna.model.Project;
+import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.repository.EventRepository;
+import com.huahuacuna.repository.ProjectRepository;
+import com.huahuacuna.service.ImageStorageService;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Migración que extrae las imágenes embebidas en base64 (data URLs) de niños,
+ * eventos y proyectos hacia el almacén de imágenes, dejando en la base de
+ * datos solo la URL.
+ * <p>
+ * Se ejecuta al arrancar y es idempotente: solo procesa las filas cuyo
+ * {@code imageUrl} todavía empieza por {@code data:}. Las imágenes inválidas se
+ * dejan como estaban y se registran en el log.
+ * </p>
+ * <p>
+ * Las fotos de niños se guardan en el ámbito privado de niños. Las que se
+ * guardaron antes como imágenes públicas se copian a ese ámbito y, si ningún
+ * evento o proyecto usa la copia pública, esta se borra.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InlineImageMigration implements CommandLineRunner {
+
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final int BATCH_SIZE = 50;
+
+    private final ChildRepository childRepository;
+    private final EventRepository eventRepository;
+    private final ProjectRepository projectRepository;
+    private final ImageStorageService imageStorageService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int children = migrateChildren();
+            int events = migrateEvents();
+            int projects = migrateProjects();
+
+            if (children + events + projects > 0) {
+                log.info("✅ Imágenes embebidas migradas al almacén: {} niños, {} eventos, {} proyectos",
+                        children, events, projects);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error al migrar imágenes embebidas: {}", e.getMessage(), e);
+        }
+    }
+
+    private int migrateChildren() {
+        int migrated = migrateChildren(DATA_URL_PREFIX);
+
+        // Fotos de niños guardadas antes como imágenes públicas
+        Set<String> publicUrls = new LinkedHashSet<>();
+        migrated += migrateChildren(ImageStorageService.URL_PREFIX, publicUrls);
+        for (String url : publicUrls) {
+            if (!eventRepository.existsByImageUrl(url) && !projectRepository.existsByImageUrl(url)) {
+                imageStorageService.delete(ImageScope.PUBLIC, url.substring(ImageStorageService.URL_PREFIX.length()));
+            }
+        }
+        return migrated;
+    }
+
+    private int migrateChildren(String prefix) {
+        return migrateChildren(prefix, new LinkedHashSet<>());
+    }
+
+    /**
+     * Migra al ámbito de niños las fotos cuyo {@code imageUrl} empieza por el prefijo dado.
+     *
+     * @param prefix     prefijo de las URLs a migrar
+     * @param publicUrls recibe las URLs públicas que se copiaron al ámbito de niños
+     * @return número de niños migrados
+     */
+    private int migrateChildren(String prefix, Set<String> publicUrls) {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long lastId = 0;
+        int migrated = 0;
+        List<Child> children;
+
+        while (!(children = childRepository.findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(
+                prefix, lastId, batch)).isEmpty()) {
+            for (Child child : children) {
+                lastId = child.getId();
+                String current = child.getImageUrl();
+                String url = current.startsWith(DATA_URL_PREFIX)
+                        ? externalize("niño", child.getId(), current, ImageScope.CHILDREN)
+                        : imageStorageService.copyToScope(current, ImageScope.CHILDREN);
+                if (url != null && !url.equals(current)) {
+                    if (!current.startsWith(DATA_URL_PREFIX)) {
+                        publicUrls.add(current);
+                    }
+                    child.setImageUrl(url);
+                    childRepository.save(child);
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    private int migrateEvents() {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long lastId = 0;
+        int migrated = 0;
+        List<Event> events;
+
+        while (!(events = eventRepository.findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(
+                DATA_URL_PREFIX, lastId, batch)).isEmpty()) {
+            for (Event event : events) {
+                lastId = event.getId();
+                String url = externalize("evento", event.getId(), event.getImageUrl(), ImageScope.PUBLIC);
+                if (url != null) {
+                    event.setImageUrl(url);
+                    eventRepository.save(event);
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    private int migrateProjects() {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long lastId = 0;
+        int migrated = 0;
+        List<Project> projects;
+
+        while (!(projects = projectRepository.findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(
+                DATA_URL_PREFIX, lastId, batch)).isEmpty()) {
+            for (Project project : projects) {
+                lastId = project.getId();
+                String url = externalize("proyecto", project.getId(), project.getImageUrl(), ImageScope.PUBLIC);
+                if (url != null) {
+                    project.setImageUrl(url);
+                    projectRepository.save(project);
+                    migrated++;
+                }
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Guarda la imagen embebida en el almacén.
+     *
+     * @return la nueva URL, o null si la imagen no pudo migrarse
+     */
+    private String externalize(String entityName, Long id, String imageUrl, ImageScope scope) {
+        try {
+            return imageStorageService.externalizeIfInline(imageUrl, scope);
+        } catch (IllegalArgumentException e) {
+            log.warn("No se pudo migrar la imagen del {} {}: {}", entityName, id, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.huahuacuna.model.Role;
 import com.huahuacuna.model.User;
 import com.huahuacuna.repository.UserRepository;
 import com.huahuacuna.service.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +20,16 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Filtro JWT que intercepta cada petición HTTP para validar el token.
  * Se ejecuta una sola vez por request.
+ * <p>
+ * El token se parsea una única vez; el usuario autenticado queda como principal
+ * en el contexto de seguridad y los controladores obtienen su ID con
+ * {@link CurrentUserId} sin volver a leer el token.
+ * </p>
  */
 @Component
 @RequiredArgsConstructor
@@ -41,9 +48,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extraer token del header Authorization
             String token = extractTokenFromRequest(request);
 
-            if (token != null && jwtService.validateToken(token)) {
+            Optional<Claims> claims = token != null ? jwtService.parseToken(token) : Optional.empty();
+
+            if (claims.isPresent()) {
                 // Extraer email del token
-                String email = jwtService.getEmailFromToken(token);
+                String email = claims.get().getSubject();
 
                 // Buscar usuario en la base de datos
                 User user = userRepository.findByEmail(email).orElse(null);
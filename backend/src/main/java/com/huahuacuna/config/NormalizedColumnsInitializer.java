@@ -0,0 +1,104 @@
+package com.huahuacuna.config;
+
+import com.huahuacuna.repository.ApplicationRequestRepository;
+import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Componente que completa las columnas de búsqueda normalizadas de los
+ * registros creados antes de que existieran.
+ * <p>
+ * Los registros nuevos las calculan en sus métodos {@code @PrePersist}/{@code @PreUpdate};
+ * este proceso solo recorre, por lotes y por ID, las filas en las que todavía
+ * son nulas. Lee únicamente el ID y los nombres, y escribe solo las columnas
+ * normalizadas con un UPDATE directo: no modifica {@code updatedAt} ni
+ * dispara la reindexación de búsqueda.
+ * </p>
+ */
+@Component
+@Slf4j
+public class NormalizedColumnsInitializer implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final ApplicationRequestRepository applicationRepository;
+    private final ChildRepository childRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public NormalizedColumnsInitializer(UserRepository userRepository,
+                                        ApplicationRequestRepository applicationRepository,
+                                        ChildRepository childRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.applicationRepository = applicationRepository;
+        this.childRepository = childRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            long users = backfill(userRepository::findPendingNormalization,
+                    row -> userRepository.updateFullNameNormalized(
+                            (Long) row[0], TextNormalizer.normalize((String) row[1])));
+
+            long applications = backfill(applicationRepository::findPendingNormalization,
+                    row -> applicationRepository.updateFullNameNormalized(
+                            (Long) row[0], TextNormalizer.normalize((String) row[1])));
+
+            long children = backfill(childRepository::findPendingNormalization,
+                    row -> childRepository.updateNormalizedNames((Long) row[0],
+                            TextNormalizer.normalize((String) row[1]),
+                            TextNormalizer.normalize((String) row[2])));
+
+            if (users + applications + children > 0) {
+                log.info("Columnas normalizadas completadas: {} usuarios, {} solicitudes, {} niños",
+                        users, applications, children);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error al completar columnas normalizadas: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recorre las filas pendientes por lotes, avanzando por ID (una fila cuyo
+     * valor normalizado siga siendo nulo no se vuelve a leer), y actualiza
+     * cada lote en su propia transacción.
+     *
+     * @param pending consulta de filas pendientes [id, ...] a partir de un ID
+     * @param update  actualización de una fila
+     * @return número de filas actualizadas
+     */
+    private long backfill(BiFunction<Long, Pageable, List<Object[]>> pending, Consumer<Object[]> update) {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        long afterId = 0;
+        long updated = 0;
+
+        while (true) {
+            long from = afterId;
+            List<Object[]> rows = transactionTemplate.execute(status -> {
+                List<Object[]> result = pending.apply(from, batch);
+                result.forEach(update);
+                return result;
+            });
+            if (rows == null || rows.isEmpty()) {
+                return updated;
+            }
+            updated += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.huahuacuna.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+/**
+ * DataSource que limita cuántos hilos ejecutan a la vez código del driver JDBC.
+ * <p>
+ * Un hilo virtual que se bloquea en un {@code synchronized} del driver ocupa
+ * su hilo portador. Preparar y ejecutar sentencias exige antes un permiso de
+ * un {@link Semaphore}, y esa espera no ocupa portador. Tener una conexión
+ * abierta no consume permisos, así que el tamaño del pool no se toca.
+ * </p>
+ * <p>
+ * Un hilo con permiso puede quedarse esperando un bloqueo de fila (un
+ * {@code SELECT ... FOR UPDATE} o un {@code UPDATE}) que tiene otra
+ * transacción. Si esa transacción tuviera que pedir permiso para continuar,
+ * con todos los permisos en manos de hilos que la esperan no avanzaría nadie.
+ * Por eso solo pide permiso la primera sentencia de cada transacción (o cada
+ * sentencia en autocommit, que no retiene bloqueos): las siguientes, y el
+ * commit y el rollback que liberan los bloqueos, entran sin esperar. Las
+ * transacciones abiertas a la vez siguen acotadas por el pool de conexiones.
+ * </p>
+ */
+class PinningGuardDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_CONNECTION_METHODS = Set.of("prepareStatement", "prepareCall");
+
+    private final Semaphore permits;
+
+    PinningGuardDataSource(DataSource target, int maxConcurrentCalls) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return guard(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return guard(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Estado de la transacción de una conexión. Una conexión la usa un solo
+     * hilo a la vez, así que no necesita sincronización.
+     */
+    private static final class TransactionState {
+
+        private boolean autoCommit;
+
+        /**
+         * true si la transacción en curso ya ejecutó alguna sentencia y puede
+         * tener bloqueos de fila.
+         */
+        private boolean started;
+
+        private TransactionState(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+    }
+
+    private Connection guard(Connection target) throws SQLException {
+        TransactionState transaction = new TransactionState(target.getAutoCommit());
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    Object result = STATEMENT_CONNECTION_METHODS.contains(name)
+                            ? invokeInTransaction(transaction, false, target, method, args)
+                            : invoke(target, method, args);
+                    switch (name) {
+                        case "setAutoCommit" -> {
+                            // Cambiar el modo confirma o empieza una transacción nueva
+                            transaction.autoCommit = (Boolean) args[0];
+                            transaction.started = false;
+                        }
+                        case "commit", "close" -> transaction.started = false;
+                        // Un rollback hasta un savepoint conserva los bloqueos anteriores
+                        case "rollback" -> transaction.started = transaction.started && args != null && args.length > 0;
+                        default -> {
+                        }
+                    }
+                    return wrapStatement(result, transaction);
+                });
+    }
+
+    private Object wrapStatement(Object result, TransactionState transaction) {
+        if (result instanceof CallableStatement statement) {
+            return guard(CallableStatement.class, statement, transaction);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return guard(PreparedStatement.class, statement, transaction);
+        }
+        if (result instanceof Statement statement) {
+            return guard(Statement.class, statement, transaction);
+        }
+        return result;
+    }
+
+    private <T extends Statement> T guard(Class<T> type, T target, TransactionState transaction) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getName().startsWith("execute")
+                        ? invokeInTransaction(transaction, true, target, method, args)
+                        : invoke(target, method, args)));
+    }
+
+    /**
+     * Pide permiso salvo que la transacción ya esté en curso. Al ejecutar una
+     * sentencia fuera de autocommit la transacción pasa a estar en curso
+     * (preparar una sentencia no toma bloqueos).
+     */
+    private Object invokeInTransaction(TransactionState transaction, boolean execution,
+                                       Object target, Method method, Object[] args) throws Throwable {
+        if (transaction.started) {
+            return invoke(target, method, args);
+        }
+        Object result = invokeWithPermit(target, method, args);
+        if (execution && !transaction.autoCommit) {
+            transaction.started = true;
+        }
+        return result;
+    }
+
+    private Object invokeWithPermit(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando para acceder a la base de datos", e);
+        }
+        try {
+            return invoke(target, method, args);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
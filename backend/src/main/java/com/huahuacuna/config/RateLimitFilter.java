@@ -0,0 +1,217 @@
+package com.huahuacuna.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Filtro que limita la frecuencia de las peticiones a los endpoints públicos
+ * costosos (login con BCrypt, envío de emails, altas en base de datos).
+ * <p>
+ * Cada ruta tiene un límite por IP y, opcionalmente, otro por email (leído
+ * del cuerpo JSON), configurables con {@code app.rate-limit.<ruta>.ip} y
+ * {@code app.rate-limit.<ruta>.email} en formato {@code peticiones/segundos}.
+ * Las rutas terminadas en {@code /**} se aplican a todo lo que cuelga de ellas.
+ * Al superarse se responde 429 con la cabecera {@code Retry-After}.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    /**
+     * Regla de una ruta.
+     *
+     * @param name       nombre de la ruta (prefijo de las propiedades y de las claves de los cubos)
+     * @param method     método HTTP al que se aplica
+     * @param paths      rutas exactas (o prefijos terminados en {@code /**}) a las que se aplica
+     * @param ipLimit    límite por IP (null si no aplica)
+     * @param emailLimit límite por email (null si no aplica)
+     */
+    private record Rule(String name, HttpMethod method, List<String> paths,
+                        RateLimiter.Limit ipLimit, RateLimiter.Limit emailLimit) {
+
+        boolean matches(String requestMethod, String path) {
+            if (!method.matches(requestMethod)) {
+                return false;
+            }
+            for (String pattern : paths) {
+                if (pattern.endsWith("/**")
+                        ? path.startsWith(pattern.substring(0, pattern.length() - 2))
+                        : pattern.equals(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final List<Rule> rules;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, Environment environment) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.enabled = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+        this.trustForwardedFor = environment.getProperty("app.rate-limit.trust-forwarded-for", Boolean.class, false);
+        this.rules = Stream.of(
+                        rule(environment, "login", HttpMethod.POST, List.of("/api/auth/login"), "20/60", "5/60"),
+                        rule(environment, "forgot-password", HttpMethod.POST,
+                                List.of("/api/auth/forgot-password"), "5/60", "3/900"),
+                        rule(environment, "reset-password", HttpMethod.POST,
+                                List.of("/api/auth/reset-password"), "10/60", null),
+                        rule(environment, "verify-token", HttpMethod.GET,
+                                List.of("/api/auth/verify-token/**"), "20/60", null),
+                        rule(environment, "donations", HttpMethod.POST, List.of("/api/donations"), "10/60", null),
+                        rule(environment, "applications", HttpMethod.POST,
+                                List.of("/api/applications/volunteer", "/api/applications/sponsor"), "5/60", "3/3600"))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || findRule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = findRule(request);
+        HttpServletRequest effectiveRequest = request;
+
+        if (rule.ipLimit() != null) {
+            long waitNanos = rateLimiter.tryAcquire(rule.name() + ":ip", clientIp(request), rule.ipLimit());
+            if (waitNanos > 0) {
+                reject(response, rule, waitNanos);
+                return;
+            }
+        }
+
+        if (rule.emailLimit() != null) {
+            CachedBodyHttpServletRequest cached = cacheBody(request);
+            if (cached != null) {
+                effectiveRequest = cached;
+            }
+            if (cached != null && cached.isComplete()) {
+                String email = extractEmail(cached.getBody());
+                if (email != null) {
+                    long waitNanos = rateLimiter.tryAcquire(rule.name() + ":email", email, rule.emailLimit());
+                    if (waitNanos > 0) {
+                        reject(response, rule, waitNanos);
+                        return;
+                    }
+                }
+            }
+        }
+
+        filterChain.doFilter(effectiveRequest, response);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Rule findRule(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (Rule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Construye la regla de una ruta desde las propiedades. Un límite vacío lo desactiva.
+     */
+    private static Rule rule(Environment environment, String name, HttpMethod method, List<String> paths,
+                             String defaultIpLimit, String defaultEmailLimit) {
+        RateLimiter.Limit ipLimit = limit(environment, "app.rate-limit." + name + ".ip", defaultIpLimit);
+        RateLimiter.Limit emailLimit = limit(environment, "app.rate-limit." + name + ".email", defaultEmailLimit);
+        if (ipLimit == null && emailLimit == null) {
+            return null;
+        }
+        return new Rule(name, method, paths, ipLimit, emailLimit);
+    }
+
+    private static RateLimiter.Limit limit(Environment environment, String property, String defaultValue) {
+        String value = environment.getProperty(property, defaultValue != null ? defaultValue : "");
+        return value.isBlank() ? null : RateLimiter.Limit.parse(value);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Lee el cuerpo si es JSON, como mucho {@link #MAX_INSPECTED_BODY_BYTES}
+     * bytes aunque no se haya declarado su longitud (chunked). Si es más
+     * largo, lo leído se devuelve a la petición sin inspeccionar y esta solo
+     * queda limitada por IP; lo mismo si no es JSON (devuelve null).
+     */
+    private CachedBodyHttpServletRequest cacheBody(HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).contains("json")
+                || request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+            return null;
+        }
+        byte[] prefix = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+        return new CachedBodyHttpServletRequest(request, prefix, prefix.length <= MAX_INSPECTED_BODY_BYTES);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            if (email.isTextual() && !email.asText().isBlank()) {
+                return email.asText().trim().toLowerCase(Locale.ROOT);
+            }
+        } catch (IOException e) {
+            // Cuerpo inválido: lo rechazará la validación del controlador
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, Rule rule, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Límite de peticiones superado en '{}', reintentar en {} s", rule.name(), retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "success", false,
+                "message", "Demasiadas solicitudes. Intenta de nuevo en " + retryAfterSeconds + " segundos."
+        ));
+    }
+}
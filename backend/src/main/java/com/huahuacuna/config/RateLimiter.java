@@ -0,0 +1,161 @@
+package com.huahuacuna.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador de peticiones en memoria basado en cubos de tokens sin bloqueos.
+ * <p>
+ * Cada cubo se representa con un único {@link AtomicLong}: el instante teórico
+ * en que el cubo volverá a estar lleno (algoritmo GCRA). Consumir un token es
+ * una comparación y un compare-and-set, sin locks ni hilos de recarga. Un cubo
+ * cuyo instante ya pasó está lleno y equivale a no tenerlo, por lo que una
+ * tarea periódica los elimina.
+ * </p>
+ * <p>
+ * Cada tipo de límite (p. ej. {@code login:ip} y {@code login:email}) tiene su
+ * propio mapa acotado, de modo que llenar uno con IPs no desactiva los límites
+ * por email. La eliminación nunca se hace en el hilo de la petición: si un
+ * mapa está lleno, la clave nueva se deja pasar y se adelanta la limpieza en
+ * segundo plano.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    /**
+     * Límite de un cubo: {@code permits} peticiones cada {@code period}.
+     *
+     * @param permits tamaño del cubo (ráfaga máxima)
+     * @param period  tiempo en que se recarga el cubo completo
+     */
+    public record Limit(int permits, Duration period) {
+
+        public Limit {
+            if (permits < 1 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Límite no válido: " + permits + "/" + period);
+            }
+        }
+
+        /**
+         * Crea un límite desde el formato {@code "peticiones/segundos"}, p. ej. {@code "5/60"}.
+         *
+         * @throws IllegalArgumentException si el formato no es válido
+         */
+        public static Limit parse(String value) {
+            String[] parts = value.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Límite no válido (se espera peticiones/segundos): " + value);
+            }
+            try {
+                return new Limit(Integer.parseInt(parts[0].trim()),
+                        Duration.ofSeconds(Long.parseLong(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Límite no válido (se espera peticiones/segundos): " + value);
+            }
+        }
+
+        long intervalNanos() {
+            return period.toNanos() / permits;
+        }
+    }
+
+    /**
+     * Tipo de límite → (clave → cubo).
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, AtomicLong>> bucketsByScope =
+            new ConcurrentHashMap<>();
+    private final AtomicBoolean evictionPending = new AtomicBoolean();
+    private final int maxBuckets;
+
+    public RateLimiter(@Value("${app.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.maxBuckets = Math.max(1, maxBuckets);
+    }
+
+    /**
+     * Intenta consumir un token del cubo de la clave.
+     *
+     * @param scope tipo de límite (ruta + "ip" o "email"); cada uno tiene su propio mapa
+     * @param key   clave del cubo dentro del tipo (IP o email)
+     * @param limit límite del cubo
+     * @return 0 si se permite la petición; si no, nanosegundos hasta que haya un token
+     */
+    public long tryAcquire(String scope, String key, Limit limit) {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, AtomicLong> buckets =
+                bucketsByScope.computeIfAbsent(scope, s -> new ConcurrentHashMap<>());
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                // Sin espacio para más cubos se deja pasar antes que bloquear a usuarios legítimos
+                requestEviction(scope, buckets.size());
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long interval = limit.intervalNanos();
+        long burst = interval * limit.permits();
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt, now) + interval;
+            long allowedAt = newFullAt - burst;
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Elimina los cubos inactivos (ya recargados por completo) de todos los tipos.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-ms:60000}")
+    public void evictIdle() {
+        try {
+            long now = System.nanoTime();
+            int evicted = 0;
+            for (ConcurrentHashMap<String, AtomicLong> buckets : bucketsByScope.values()) {
+                int before = buckets.size();
+                buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+                evicted += before - buckets.size();
+            }
+            if (evicted > 0) {
+                log.debug("Cubos de límite de peticiones eliminados: {}", evicted);
+            }
+        } finally {
+            evictionPending.set(false);
+        }
+    }
+
+    /**
+     * Número de cubos de un tipo de límite.
+     */
+    int size(String scope) {
+        ConcurrentHashMap<String, AtomicLong> buckets = bucketsByScope.get(scope);
+        return buckets != null ? buckets.size() : 0;
+    }
+
+    /**
+     * Adelanta la limpieza a un hilo en segundo plano; mientras haya una
+     * pendiente no se programa otra ni se repite el aviso.
+     */
+    private void requestEviction(String scope, int size) {
+        if (evictionPending.compareAndSet(false, true)) {
+            log.warn("Limitador de peticiones lleno en '{}' ({} cubos), se permiten claves nuevas hasta la limpieza",
+                    scope, size);
+            CompletableFuture.runAsync(this::evictIdle);
+        }
+    }
+}
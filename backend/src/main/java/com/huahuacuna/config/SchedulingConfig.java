@@ -0,0 +1,11 @@
+package com.huahuacuna.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Esta configuración habilita las tareas periódicas (@Scheduled),
+    // como la compactación de los aportes a proyectos
+}
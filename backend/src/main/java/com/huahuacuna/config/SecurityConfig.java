@@ -1,6 +1,8 @@
 package com.huahuacuna.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,12 +13,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -26,10 +30,45 @@ public class SecurityConfig {
 
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
+    /**
+     * Coste de BCrypt: fijo si {@code app.password-hashing.bcrypt-cost} es mayor
+     * que 0; si no, calibrado al arrancar para la latencia objetivo.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BcryptCost bcryptCost(@Value("${app.password-hashing.bcrypt-cost:0}") int fixedCost,
+                                 @Value("${app.password-hashing.target-ms:250}") long targetMillis,
+                                 @Value("${app.password-hashing.min-cost:10}") int minCost,
+                                 @Value("${app.password-hashing.max-cost:14}") int maxCost) {
+        if (fixedCost > 0) {
+            return new BcryptCost(fixedCost);
+        }
+        return BcryptCost.calibrate(targetMillis, minCost, Math.max(minCost, maxCost));
+    }
+
+    /**
+     * Los hashes nuevos se guardan con prefijo ({@code {bcrypt}...}) para poder
+     * cambiar de algoritmo en el futuro; los hashes antiguos sin prefijo se
+     * siguen verificando como BCrypt y se actualizan en el siguiente login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(BcryptCost bcryptCost) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptCost.value())));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * El filtro de límite de peticiones solo debe ejecutarse dentro de la cadena
+     * de seguridad (tras CORS), no como filtro independiente del contenedor.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -143,6 +182,15 @@ public class SecurityConfig {
                         .requestMatchers("/api/events/**").hasRole("ADMIN")
                         .requestMatchers("/api/projects/**").hasRole("ADMIN")
 
+                        // 3. IMÁGENES: se leen por hash de contenido. Las fotos de niños las
+                        // autoriza ImageController (URL firmada, o ADMIN/PADRINO), porque
+                        // <img src> no envía el token. Subida solo ADMIN
+                        .requestMatchers(HttpMethod.GET, "/api/images/**").permitAll()
+                        .requestMatchers("/api/images/**").hasRole("ADMIN")
+
+                        // 4. MÉTRICAS (actuator): solo ADMIN
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+
                         // Cualquier otra petición requiere autenticación
                         .anyRequest().authenticated()
                 )
@@ -150,6 +198,9 @@ public class SecurityConfig {
                 // Agregar filtro JWT antes del filtro de autenticación
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // Limitar la frecuencia de los endpoints públicos antes de cualquier otro trabajo
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+
                 .formLogin(form -> form.disable())
                 .httpBasic(basic -> basic.disable())
 
@@ -0,0 +1,32 @@
+package com.huahuacuna.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.huahuacuna.service.ImageUrlSigner;
+
+import java.io.IOException;
+
+/**
+ * Serializa la URL de la foto de un niño firmada con {@link ImageUrlSigner}.
+ * <p>
+ * Se aplica con {@code @JsonSerialize(using = SignedImageUrlSerializer.class)};
+ * Spring Boot crea el serializador como bean, así que recibe el firmador.
+ * Firmar al serializar mantiene la URL estable en base de datos y en las
+ * instantáneas en memoria.
+ * </p>
+ */
+public class SignedImageUrlSerializer extends StdSerializer<String> {
+
+    private final ImageUrlSigner imageUrlSigner;
+
+    public SignedImageUrlSerializer(ImageUrlSigner imageUrlSigner) {
+        super(String.class);
+        this.imageUrlSigner = imageUrlSigner;
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeString(imageUrlSigner.sign(value));
+    }
+}
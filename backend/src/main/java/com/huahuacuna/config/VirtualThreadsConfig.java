@@ -0,0 +1,72 @@
+package com.huahuacuna.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Ajustes para el modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * Con esa propiedad Spring Boot ya ejecuta en hilos virtuales las peticiones
+ * de Tomcat, las tareas {@code @Async} y las tareas {@code @Scheduled}. El
+ * riesgo está en el "pinning": el driver de H2 usa bloques
+ * {@code synchronized}, y en Java 21 un hilo virtual que se bloquea dentro de
+ * uno ocupa su hilo portador. En lugar de reducir el pool de conexiones
+ * (con open-in-view una petición retiene su conexión hasta responder), el
+ * {@code DataSource} se envuelve en un {@link PinningGuardDataSource} que deja
+ * empezar a la vez, como mucho, tantas sentencias como portadores menos
+ * {@code app.virtual-threads.reserved-carriers}; el resto espera sin ocupar
+ * portador. Las transacciones ya en curso continúan sin esperar, para no
+ * bloquearse con quien espera sus bloqueos de fila.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariPinningGuard(Environment environment) {
+        int reservedCarriers = environment.getProperty("app.virtual-threads.reserved-carriers", Integer.class, 1);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof PinningGuardDataSource) {
+                    return bean;
+                }
+                int carriers = carrierThreads();
+                int maxConcurrentCalls = carriers - reservedCarriers;
+                if (maxConcurrentCalls < 1) {
+                    maxConcurrentCalls = 1;
+                    log.warn("Hilos virtuales activos con {} portador(es): no queda ninguno reservado y una "
+                                    + "llamada JDBC bloqueada puede detener el resto de peticiones. "
+                                    + "Sube -Djdk.virtualThreadScheduler.parallelism o usa hilos de plataforma",
+                            carriers);
+                }
+                log.info("Hilos virtuales activos: como mucho {} llamadas JDBC simultáneas en '{}' ({} portadores)",
+                        maxConcurrentCalls, beanName, carriers);
+                return new PinningGuardDataSource(dataSource, maxConcurrentCalls);
+            }
+        };
+    }
+
+    /**
+     * Número de hilos portadores del planificador de hilos virtuales.
+     */
+    private static int carrierThreads() {
+        String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        if (parallelism != null) {
+            try {
+                return Integer.parseInt(parallelism.trim());
+            } catch (NumberFormatException e) {
+                // Valor inválido: la JVM también usa el número de núcleos
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
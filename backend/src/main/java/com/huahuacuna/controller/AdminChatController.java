@@ -1,13 +1,13 @@
 package com.huahuacuna.controller;
 
+import com.huahuacuna.config.CurrentUserId;
 import com.huahuacuna.model.ChatMessage;
 import com.huahuacuna.model.Sponsorship;
 import com.huahuacuna.model.SponsorshipStatus;
 import com.huahuacuna.model.dto.ChatMessageDTO;
 import com.huahuacuna.repository.ChatMessageRepository;
 import com.huahuacuna.repository.SponsorshipRepository;
-import com.huahuacuna.service.JwtService;
-import jakarta.servlet.http.HttpServletRequest;
+import com.huahuacuna.service.UnreadCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -33,7 +33,7 @@ public class AdminChatController {
 
     private final SponsorshipRepository sponsorshipRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private final JwtService jwtService;
+    private final UnreadCounterService unreadCounterService;
 
     /**
      * Obtiene todas las conversaciones con padrinos.
@@ -57,9 +57,10 @@ public class AdminChatController {
             if (!messages.isEmpty()) {
                 ChatMessage lastMessage = messages.get(messages.size() - 1);
 
-                // Contar mensajes no leídos del padrino
+                // Contar mensajes del padrino posteriores a la marca de lectura del admin
+                long watermark = s.getAdminLastReadMessageId() != null ? s.getAdminLastReadMessageId() : 0L;
                 long unreadCount = messages.stream()
-                        .filter(m -> m.getSentBy() == ChatMessage.SentBy.GODPARENT && !m.getIsRead())
+                        .filter(m -> m.getSentBy() == ChatMessage.SentBy.GODPARENT && m.getId() > watermark)
                         .count();
 
                 Map<String, Object> conversation = new HashMap<>();
@@ -114,9 +115,8 @@ public class AdminChatController {
     public ResponseEntity<?> sendMessage(
             @PathVariable Long sponsorshipId,
             @RequestBody Map<String, String> body,
-            HttpServletRequest request
+            @CurrentUserId Long adminId
     ) {
-        Long adminId = extractUserIdFromToken(request);
         String contenido = body.get("contenido");
 
         log.info("POST /api/admin/chat/conversations/{}/messages - Admin: {}", sponsorshipId, adminId);
@@ -149,6 +149,7 @@ public class AdminChatController {
                 .build();
 
         message = chatMessageRepository.save(message);
+        unreadCounterService.add(UnreadCounterService.godparentChatKey(sponsorship.getGodparent().getId()), 1);
 
         log.info("Mensaje enviado por admin: {}", message.getId());
 
@@ -164,8 +165,20 @@ public class AdminChatController {
     public ResponseEntity<?> markAsRead(@PathVariable Long sponsorshipId) {
         log.info("PUT /api/admin/chat/conversations/{}/read", sponsorshipId);
 
-        // Marcar como leídos los mensajes del padrino
-        chatMessageRepository.markAsReadBySentBy(sponsorshipId, ChatMessage.SentBy.GODPARENT);
+        // Avanzar la marca de lectura del admin hasta el último mensaje (la única
+        // escritura); si no hay mensajes nuevos no se escribe nada
+        Long lastMessageId = chatMessageRepository.findLastMessageId(sponsorshipId);
+        Long current;
+        while (lastMessageId != null
+                && (current = sponsorshipRepository.findAdminReadWatermark(sponsorshipId).orElse(null)) != null
+                && current < lastMessageId) {
+            if (sponsorshipRepository.advanceAdminReadWatermark(sponsorshipId, current, lastMessageId) > 0) {
+                long read = chatMessageRepository.countBySentByInRange(
+                        sponsorshipId, ChatMessage.SentBy.GODPARENT, current, lastMessageId);
+                unreadCounterService.add(UnreadCounterService.adminChatKey(), -read);
+                break;
+            }
+        }
 
         return ResponseEntity.ok(Map.of("success", true));
     }
@@ -179,31 +192,15 @@ public class AdminChatController {
     public ResponseEntity<Map<String, Long>> getUnreadCount() {
         log.info("GET /api/admin/chat/unread-count");
 
-        long count = chatMessageRepository.countUnreadFromGodparents();
+        long count = unreadCounterService.get(UnreadCounterService.adminChatKey());
 
         return ResponseEntity.ok(Map.of("count", count));
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
-    private Long extractUserIdFromToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Token no proporcionado");
-        }
-        String token = authHeader.substring(7);
-        return jwtService.getUserIdFromToken(token);
-    }
-
     private ChatMessageDTO toDTO(ChatMessage message) {
-        return ChatMessageDTO.builder()
-                .id(message.getId())
-                .apadrinamientoId(message.getSponsorship().getId())
-                .contenido(message.getContent())
-                .enviadoPor(message.getSentBy() == ChatMessage.SentBy.GODPARENT ? "PADRINO" : "ADMINISTRADOR")
-                .fecha(message.getCreatedAt().toString())
-                .leido(message.getIsRead())
-                .fechaLectura(message.getReadAt() != null ? message.getReadAt().toString() : null)
-                .build();
+        // Mismo mapeo que el chat del padrino: la lectura se deriva de las marcas
+        return ChatMessageDTO.fromEntity(message);
     }
 }
\ No newline at end of file
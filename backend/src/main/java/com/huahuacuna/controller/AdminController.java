@@ -207,6 +207,75 @@ public class AdminController {
             ));
         }
     }
+
+    /**
+     * Busca entradas de bitácora por título o contenido (vista admin).
+     * GET /api/admin/apadrinamientos/{id}/bitacora/buscar?q=texto
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/buscar")
+    public ResponseEntity<?> searchLogEntriesAdmin(
+            @PathVariable("id") Long sponsorshipId,
+            @RequestParam("q") String query
+    ) {
+        log.info("GET /api/admin/apadrinamientos/{}/bitacora/buscar?q={}", sponsorshipId, query);
+
+        try {
+            List<LogEntryDTO> entries = godparentService.searchLogEntriesAdmin(sponsorshipId, query);
+            return ResponseEntity.ok(entries);
+        } catch (RuntimeException e) {
+            log.error("Error al buscar en bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Obtiene la línea de tiempo de la bitácora paginada por cursor (vista admin).
+     * GET /api/admin/apadrinamientos/{id}/bitacora/timeline?limit=20&cursor=...
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/timeline")
+    public ResponseEntity<?> getLogTimelineAdmin(
+            @PathVariable("id") Long sponsorshipId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.info("GET /api/admin/apadrinamientos/{}/bitacora/timeline", sponsorshipId);
+
+        try {
+            return ResponseEntity.ok(godparentService.getLogTimelineAdmin(sponsorshipId, cursor, limit));
+        } catch (RuntimeException e) {
+            log.error("Error al obtener línea de tiempo de la bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Obtiene una entrada de bitácora completa (vista admin).
+     * GET /api/admin/apadrinamientos/{id}/bitacora/{entryId}
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/{entryId}")
+    public ResponseEntity<?> getLogEntryAdmin(
+            @PathVariable("id") Long sponsorshipId,
+            @PathVariable("entryId") Long entryId
+    ) {
+        log.info("GET /api/admin/apadrinamientos/{}/bitacora/{}", sponsorshipId, entryId);
+
+        try {
+            return ResponseEntity.ok(godparentService.getLogEntryAdmin(sponsorshipId, entryId));
+        } catch (RuntimeException e) {
+            log.error("Error al obtener entrada de bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
     /**
      * Obtiene todos los apadrinamientos activos para la gestión de bitácoras.
      * GET /api/admin/apadrinamientos
@@ -237,9 +306,9 @@ public class AdminController {
     @GetMapping("/stats")
     public ResponseEntity<?> getStats() {
         long totalUsers = userRepository.count();
-        long totalAdmins = userRepository.findByRole(Role.ADMIN).size();
-        long totalVoluntarios = userRepository.findByRole(Role.VOLUNTARIO).size();
-        long totalPadrinos = userRepository.findByRole(Role.PADRINO).size();
+        long totalAdmins = userRepository.countByRole(Role.ADMIN);
+        long totalVoluntarios = userRepository.countByRole(Role.VOLUNTARIO);
+        long totalPadrinos = userRepository.countByRole(Role.PADRINO);
 
         return ResponseEntity.ok(Map.of(
                 "success", true,
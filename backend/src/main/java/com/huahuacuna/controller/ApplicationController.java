@@ -4,6 +4,7 @@ import com.huahuacuna.model.ApplicationRequest;
 import com.huahuacuna.model.ApplicationStatus;
 import com.huahuacuna.model.ApplicationType;
 import com.huahuacuna.model.User;
+import com.huahuacuna.model.dto.ApplicationPageDTO;
 import com.huahuacuna.model.dto.ApplicationRequestDTO;
 import com.huahuacuna.model.dto.ApplicationResponseDTO;
 import com.huahuacuna.model.dto.UpdateApplicationStatusDTO;
@@ -12,12 +13,14 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -188,6 +191,60 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Listado paginado de solicitudes con filtros combinables.
+     * Devuelve una proyección ligera (sin columnas TEXT) y un cursor para la
+     * página siguiente; el detalle completo se obtiene con GET /{id}.
+     * Requiere autenticación y rol ADMIN.
+     *
+     * GET /api/applications/page?type=PADRINO&status=PENDIENTE&from=2025-01-01&to=2025-01-31&limit=20&cursor=...
+     *
+     * @param type   Tipo de solicitud (opcional)
+     * @param status Estado de la solicitud (opcional)
+     * @param from   Fecha mínima de creación, inclusive (opcional, formato ISO)
+     * @param to     Fecha máxima de creación, inclusive (opcional, formato ISO)
+     * @param cursor Cursor devuelto en la página anterior (opcional)
+     * @param limit  Tamaño de la página (por defecto 20, máximo 100)
+     * @return Página de solicitudes con nextCursor y hasMore
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> listApplications(
+            @RequestParam(required = false) ApplicationType type,
+            @RequestParam(required = false) ApplicationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("GET /api/applications/page - tipo: {}, estado: {}, desde: {}, hasta: {}", type, status, from, to);
+
+        try {
+            ApplicationPageDTO page = applicationService.listApplications(type, status, from, to, cursor, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("hasMore", page.isHasMore());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Parámetros de paginación inválidos: {}", e.getMessage());
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+
+        } catch (Exception e) {
+            logger.error("Error al listar solicitudes", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error al obtener las solicitudes");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     /**
      * Obtiene una solicitud específica por su ID.
      * Requiere autenticación y rol ADMIN.
@@ -387,6 +444,40 @@ public class ApplicationController {
         }
     }
 
+    /**
+     * Busca solicitudes por prefijo del nombre (insensible a mayúsculas y tildes).
+     * Requiere autenticación y rol ADMIN.
+     *
+     * @param name Prefijo del nombre
+     * @return ResponseEntity con la lista de solicitudes que coinciden
+     */
+    @GetMapping("/search/prefix")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> searchApplicationsByPrefix(@RequestParam String name) {
+        logger.info("GET /api/applications/search/prefix?name={}", name);
+
+        try {
+            List<ApplicationRequest> applications = applicationService.searchApplicationsByNamePrefix(name);
+            List<ApplicationResponseDTO> responseDTOs = applications.stream()
+                    .map(ApplicationResponseDTO::new)
+                    .collect(Collectors.toList());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", responseDTOs);
+            response.put("total", responseDTOs.size());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error al buscar solicitudes por prefijo", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error al buscar las solicitudes");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     /**
      * Obtiene estadísticas generales de las solicitudes.
      * Requiere autenticación y rol ADMIN.
@@ -1,5 +1,6 @@
 package com.huahuacuna.controller;
 
+import com.huahuacuna.exception.ServiceBusyException;
 import com.huahuacuna.model.ForgotPasswordRequest;
 import com.huahuacuna.model.LoginRequest;
 import com.huahuacuna.model.LoginResponse;
@@ -9,12 +10,15 @@ import com.huahuacuna.service.PasswordRecoveryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controlador REST para gestionar la autenticación de usuarios.
@@ -33,30 +37,33 @@ public class AuthController {
 
     /**
      * Endpoint para iniciar sesión.
+     * La contraseña se verifica en el pool de cifrado; el hilo de la petición
+     * queda libre mientras tanto. Si el pool está saturado se responde 503
+     * con {@code Retry-After}.
      *
      * @param loginRequest credenciales del usuario
      * @return token y datos del usuario
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        CompletableFuture<LoginResponse> login;
         try {
-            LoginResponse response = authService.login(loginRequest);
-            log.info("Usuario autenticado: {}", loginRequest.getEmail());
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "message", "Login exitoso",
-                    "data", response
-            ));
+            login = authService.loginAsync(loginRequest);
         } catch (RuntimeException e) {
-            log.error("Error en login: {}", e.getMessage());
-
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+            login = CompletableFuture.failedFuture(e);
         }
+
+        return login
+                .<ResponseEntity<?>>thenApply(response -> {
+                    log.info("Usuario autenticado: {}", loginRequest.getEmail());
+
+                    return ResponseEntity.ok(Map.of(
+                            "success", true,
+                            "message", "Login exitoso",
+                            "data", response
+                    ));
+                })
+                .exceptionally(this::loginErrorResponse);
     }
 
     /**
@@ -154,4 +161,25 @@ public class AuthController {
             ));
         }
     }
-}
\ No newline at end of file
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private ResponseEntity<?> loginErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", cause.getMessage());
+
+        if (cause instanceof ServiceBusyException busy) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(busy.getRetryAfterSeconds()))
+                    .body(errorResponse);
+        }
+
+        log.error("Error en login: {}", cause.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+    }
+}
@@ -1,11 +1,15 @@
 package com.huahuacuna.controller;
 
 import com.huahuacuna.model.Child;
+import com.huahuacuna.model.dto.ChildResponseDTO;
 import com.huahuacuna.model.dto.InactivateRequestDTO;
+import com.huahuacuna.service.AvailableChildrenCatalog;
 import com.huahuacuna.service.ChildService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,11 +21,23 @@ public class ChildController {
     @Autowired
     private ChildService childService;
 
+    @Autowired
+    private AvailableChildrenCatalog availableChildrenCatalog;
+
     @GetMapping
     public List<Child> getAllChildren() {
         return childService.getAllChildren();
     }
 
+    /**
+     * Búsqueda por prefijo de nombre/apellido, insensible a mayúsculas y tildes.
+     * GET /api/children/search?q=jose
+     */
+    @GetMapping("/search")
+    public List<Child> searchChildren(@RequestParam("q") String query) {
+        return childService.searchChildrenByNamePrefix(query);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Child> getChildById(@PathVariable Long id) {
         return childService.getChildById(id)
@@ -67,8 +83,21 @@ public class ChildController {
         }
     }
 
+    /**
+     * Lista de niños disponibles, servida desde la instantánea del catálogo de disponibles.
+     * El ETag sale de la misma instantánea que el cuerpo, así que siempre lo describe;
+     * si el cliente ya tiene la lista vigente (If-None-Match) responde 304 sin consultar la BD.
+     */
     @GetMapping("/available")
-    public List<Child> getAvailableChildren() {
-        return childService.getAvailableChildren();
+    public ResponseEntity<List<ChildResponseDTO>> getAvailableChildren(WebRequest webRequest) {
+        if (webRequest.checkNotModified(availableChildrenCatalog.currentEtag())) {
+            return null;
+        }
+
+        AvailableChildrenCatalog.Snapshot snapshot = availableChildrenCatalog.getSnapshot();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.children());
     }
 }
\ No newline at end of file
@@ -1,11 +1,29 @@
 package com.huahuacuna.controller;
 
 import com.huahuacuna.model.Event;
+import com.huahuacuna.model.Role;
 import com.huahuacuna.service.EventService;
+import com.huahuacuna.service.PublicContentCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/events")
@@ -14,9 +32,106 @@ public class EventController {
     @Autowired
     private EventService eventService;
 
+    @Value("${app.public-content.max-age-seconds:60}")
+    private long publicMaxAgeSeconds;
+
+    /**
+     * Lista de eventos.
+     * El público recibe solo los publicados, con ETag y caché compartible;
+     * un ADMIN recibe todos (incluidos los no publicados) sin caché.
+     */
     @GetMapping
-    public List<Event> getAllEvents() {
-        return eventService.getAllEvents();
+    public ResponseEntity<List<Event>> getAllEvents(Authentication authentication, WebRequest webRequest) {
+        if (isAdmin(authentication)) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                    .body(eventService.getAllEvents());
+        }
+
+        if (webRequest.checkNotModified(eventService.currentPublishedEventsEtag())) {
+            return null;
+        }
+        PublicContentCatalog.Snapshot<Event> snapshot = eventService.getPublishedEvents();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .eTag(snapshot.etag())
+                .body(snapshot.items());
+    }
+
+    /**
+     * Eventos publicados en un rango de fechas, paginados por cursor.
+     * GET /api/events/range?from=2025-06-01T00:00:00&to=2025-07-01T00:00:00&limit=20&cursor=...
+     * Sin {@code from} devuelve los próximos eventos a partir de ahora.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<Map<String, Object>> getEventsInRange(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        // Sin "from" el resultado depende de la hora actual y no se puede revalidar por versión
+        String etag = from != null ? variantEtag("range", from, to, cursor, limit) : null;
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        try {
+            EventService.EventRangePage page = eventService.getPublishedEventsInRange(from, to, cursor, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.events());
+            response.put("nextCursor", page.nextCursor());
+            response.put("hasMore", page.hasMore());
+
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic());
+            if (etag != null) {
+                builder.eTag(etag);
+            }
+            return builder.body(response);
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(errorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Número de eventos publicados por día de un mes, para el calendario público.
+     * GET /api/events/calendar?year=2025&month=6
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<String, Object>> getEventCalendar(@RequestParam int year,
+                                                                @RequestParam int month,
+                                                                WebRequest webRequest) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(errorResponse("Mes no válido: " + year + "-" + month));
+        }
+
+        String etag = variantEtag("calendar", yearMonth);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        Map<Integer, Long> days = eventService.getPublishedEventCountsByDay(yearMonth);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("year", yearMonth.getYear());
+        response.put("month", yearMonth.getMonthValue());
+        response.put("days", days);
+        response.put("total", days.values().stream().mapToLong(Long::longValue).sum());
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .eTag(etag)
+                .body(response);
     }
 
     @PostMapping
@@ -48,4 +163,36 @@ public class EventController {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * ETag de una consulta sobre los eventos publicados: la versión vigente de la
+     * caché más un SHA-256 de los parámetros, de modo que cambia con cualquier
+     * evento modificado y dos consultas distintas no comparten ETag.
+     */
+    private String variantEtag(Object... parameters) {
+        String base = eventService.currentPublishedEventsEtag();
+        StringBuilder canonical = new StringBuilder();
+        for (Object parameter : parameters) {
+            // Separador que no aparece en fechas, números ni cursores (Base64 URL)
+            canonical.append(parameter).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return base.substring(0, base.length() - 1) + "-" + HexFormat.of().formatHex(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private Map<String, Object> errorResponse(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return error;
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> Role.ADMIN.getAuthority().equals(authority.getAuthority()));
+    }
+}
@@ -1,15 +1,17 @@
 package com.huahuacuna.controller;
 
+import com.huahuacuna.config.CurrentUserId;
 import com.huahuacuna.model.dto.*;
+import com.huahuacuna.service.AvailableChildrenCatalog;
 import com.huahuacuna.service.GodparentService;
-import com.huahuacuna.service.JwtService;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -34,7 +36,7 @@ import java.util.Map;
 public class GodparentController {
 
     private final GodparentService godparentService;
-    private final JwtService jwtService;
+    private final AvailableChildrenCatalog availableChildrenCatalog;
 
     // ========== PERFIL DEL PADRINO ==========
 
@@ -44,8 +46,7 @@ public class GodparentController {
      */
     @GetMapping("/me")
     @PreAuthorize("hasRole('PADRINO')")
-    public ResponseEntity<GodparentProfileDTO> getMyProfile(HttpServletRequest request) {
-        Long userId = extractUserIdFromToken(request);
+    public ResponseEntity<GodparentProfileDTO> getMyProfile(@CurrentUserId Long userId) {
         log.info("GET /api/padrinos/me - Usuario: {}", userId);
 
         GodparentProfileDTO profile = godparentService.getMyProfile(userId);
@@ -57,14 +58,23 @@ public class GodparentController {
     /**
      * Obtiene la lista de niños disponibles para apadrinar.
      * GET /api/padrinos/children/available
+     *
+     * Soporta If-None-Match: si la lista no cambió responde 304 sin cuerpo.
      */
     @GetMapping("/children/available")
     @PreAuthorize("hasRole('PADRINO')")
-    public ResponseEntity<List<ChildResponseDTO>> getAvailableChildren() {
+    public ResponseEntity<List<ChildResponseDTO>> getAvailableChildren(WebRequest webRequest) {
         log.info("GET /api/padrinos/children/available");
 
-        List<ChildResponseDTO> children = godparentService.getAvailableChildren();
-        return ResponseEntity.ok(children);
+        if (webRequest.checkNotModified(availableChildrenCatalog.currentEtag())) {
+            return null;
+        }
+
+        AvailableChildrenCatalog.Snapshot snapshot = availableChildrenCatalog.getSnapshot();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag())
+                .body(snapshot.children());
     }
 
     // ========== APADRINAMIENTO ==========
@@ -77,9 +87,8 @@ public class GodparentController {
     @PreAuthorize("hasRole('PADRINO')")
     public ResponseEntity<?> selectChild(
             @Valid @RequestBody SelectChildRequestDTO request,
-            HttpServletRequest httpRequest
+            @CurrentUserId Long userId
     ) {
-        Long userId = extractUserIdFromToken(httpRequest);
         log.info("POST /api/padrinos/select-child - Usuario: {}, Niño: {}", userId, request.getIdNino());
 
         try {
@@ -97,8 +106,7 @@ public class GodparentController {
      */
     @GetMapping("/my-godchild")
     @PreAuthorize("hasRole('PADRINO')")
-    public ResponseEntity<?> getMyGodchild(HttpServletRequest request) {
-        Long userId = extractUserIdFromToken(request);
+    public ResponseEntity<?> getMyGodchild(@CurrentUserId Long userId) {
         log.info("GET /api/padrinos/my-godchild - Usuario: {}", userId);
 
         SponsorshipResponseDTO sponsorship = godparentService.getMyGodchild(userId);
@@ -123,9 +131,8 @@ public class GodparentController {
     @PreAuthorize("hasRole('PADRINO')")
     public ResponseEntity<?> getLogEntries(
             @PathVariable("id") Long sponsorshipId,
-            HttpServletRequest request
+            @CurrentUserId Long userId
     ) {
-        Long userId = extractUserIdFromToken(request);
         log.info("GET /api/padrinos/apadrinamientos/{}/bitacora - Usuario: {}", sponsorshipId, userId);
 
         try {
@@ -137,6 +144,74 @@ public class GodparentController {
         }
     }
 
+    /**
+     * Busca entradas de bitácora por título o contenido.
+     * GET /api/padrinos/apadrinamientos/{id}/bitacora/buscar?q=texto
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/buscar")
+    @PreAuthorize("hasRole('PADRINO')")
+    public ResponseEntity<?> searchLogEntries(
+            @PathVariable("id") Long sponsorshipId,
+            @RequestParam("q") String query,
+            @CurrentUserId Long userId
+    ) {
+        log.info("GET /api/padrinos/apadrinamientos/{}/bitacora/buscar?q={} - Usuario: {}", sponsorshipId, query, userId);
+
+        try {
+            List<LogEntryDTO> entries = godparentService.searchLogEntries(sponsorshipId, userId, query);
+            return ResponseEntity.ok(entries);
+        } catch (RuntimeException e) {
+            log.error("Error al buscar en bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene la línea de tiempo de la bitácora paginada por cursor.
+     * GET /api/padrinos/apadrinamientos/{id}/bitacora/timeline?limit=20&cursor=...
+     *
+     * Devuelve título, tipo, fecha y un extracto de cada entrada; el contenido
+     * completo se obtiene con GET /api/padrinos/apadrinamientos/{id}/bitacora/{entryId}.
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/timeline")
+    @PreAuthorize("hasRole('PADRINO')")
+    public ResponseEntity<?> getLogTimeline(
+            @PathVariable("id") Long sponsorshipId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUserId Long userId
+    ) {
+        log.info("GET /api/padrinos/apadrinamientos/{}/bitacora/timeline - Usuario: {}", sponsorshipId, userId);
+
+        try {
+            return ResponseEntity.ok(godparentService.getLogTimeline(sponsorshipId, userId, cursor, limit));
+        } catch (RuntimeException e) {
+            log.error("Error al obtener línea de tiempo de la bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Obtiene una entrada de bitácora con su contenido completo.
+     * GET /api/padrinos/apadrinamientos/{id}/bitacora/{entryId}
+     */
+    @GetMapping("/apadrinamientos/{id}/bitacora/{entryId}")
+    @PreAuthorize("hasRole('PADRINO')")
+    public ResponseEntity<?> getLogEntry(
+            @PathVariable("id") Long sponsorshipId,
+            @PathVariable("entryId") Long entryId,
+            @CurrentUserId Long userId
+    ) {
+        log.info("GET /api/padrinos/apadrinamientos/{}/bitacora/{} - Usuario: {}", sponsorshipId, entryId, userId);
+
+        try {
+            return ResponseEntity.ok(godparentService.getLogEntry(sponsorshipId, entryId, userId));
+        } catch (RuntimeException e) {
+            log.error("Error al obtener entrada de bitácora: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
     /**
      * ❌ REMOVIDO: Endpoint para agregar entrada a la bitácora
      *
@@ -161,16 +236,18 @@ public class GodparentController {
     @PreAuthorize("hasRole('PADRINO')")
     public ResponseEntity<?> getChatMessages(
             @PathVariable("id") Long sponsorshipId,
-            HttpServletRequest request
+            @CurrentUserId Long userId
     ) {
-        Long userId = extractUserIdFromToken(request);
         log.info("GET /api/padrinos/apadrinamientos/{}/mensajes - Usuario: {}", sponsorshipId, userId);
 
         try {
             List<ChatMessageDTO> messages = godparentService.getChatMessages(sponsorshipId, userId);
 
-            // Marcar mensajes del admin como leídos
-            godparentService.markMessagesAsRead(sponsorshipId, userId);
+            // Marcar como leídos los mensajes del admin hasta el último recibido
+            // (no escribe nada si no hay mensajes nuevos)
+            if (!messages.isEmpty()) {
+                godparentService.markMessagesAsRead(sponsorshipId, userId, messages.get(messages.size() - 1).getId());
+            }
 
             return ResponseEntity.ok(messages);
         } catch (RuntimeException e) {
@@ -188,9 +265,8 @@ public class GodparentController {
     public ResponseEntity<?> sendMessage(
             @PathVariable("id") Long sponsorshipId,
             @RequestBody Map<String, String> body,
-            HttpServletRequest request
+            @CurrentUserId Long userId
     ) {
-        Long userId = extractUserIdFromToken(request);
         String contenido = body.get("contenido");
 
         log.info("POST /api/padrinos/apadrinamientos/{}/mensajes - Usuario: {}", sponsorshipId, userId);
@@ -214,8 +290,7 @@ public class GodparentController {
      */
     @GetMapping("/mensajes/no-leidos")
     @PreAuthorize("hasRole('PADRINO')")
-    public ResponseEntity<Map<String, Long>> getUnreadCount(HttpServletRequest request) {
-        Long userId = extractUserIdFromToken(request);
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@CurrentUserId Long userId) {
         log.info("GET /api/padrinos/mensajes/no-leidos - Usuario: {}", userId);
 
         long count = godparentService.countUnreadMessages(userId);
@@ -228,19 +303,6 @@ public class GodparentController {
 
     // ========== MÉTODOS AUXILIARES ==========
 
-    /**
-     * Extrae el ID del usuario del token JWT.
-     */
-    private Long extractUserIdFromToken(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new RuntimeException("Token no proporcionado");
-        }
-
-        String token = authHeader.substring(7);
-        return jwtService.getUserIdFromToken(token);
-    }
-
     /**
      * Crea una respuesta de error estandarizada.
      */
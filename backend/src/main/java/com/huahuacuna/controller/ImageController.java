@@ -0,0 +1,205 @@
+package com.huahuacuna.controller;
+
+import com.huahuacuna.service.ImageStorageService;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.service.ImageThumbnailService;
+import com.huahuacuna.service.ImageThumbnailService.ThumbnailSize;
+import com.huahuacuna.service.ImageUrlSigner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controlador REST del almacén de imágenes.
+ * <p>
+ * Las imágenes se identifican por el hash SHA-256 de su contenido, por lo que
+ * una URL siempre devuelve los mismos bytes y puede cachearse indefinidamente.
+ * Las fotos de los niños se sirven bajo {@code /api/images/children/}
+ * únicamente con caché privada del navegador, y solo con una firma válida
+ * (las URLs que la API entrega a ADMIN y PADRINO ya van firmadas, ver
+ * {@link ImageUrlSigner}, porque {@code <img src>} no envía el token) o a
+ * una petición autenticada como ADMIN o PADRINO.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "http://localhost:3000")
+public class ImageController {
+
+    private final ImageStorageService imageStorageService;
+    private final ImageThumbnailService imageThumbnailService;
+    private final ImageUrlSigner imageUrlSigner;
+
+    private static final Set<String> CHILD_IMAGE_ROLES = Set.of("ROLE_ADMIN", "ROLE_PADRINO");
+
+    /**
+     * Sube una imagen al almacén (solo ADMIN).
+     * POST /api/images?scope=public|children (multipart, campo "file")
+     *
+     * @param file  archivo de imagen
+     * @param scope ámbito de la imagen; las fotos de niños deben subirse con {@code children}
+     * @return URL y hash de la imagen almacenada
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> uploadImage(@RequestParam("file") MultipartFile file,
+                                                           @RequestParam(defaultValue = "public") String scope) {
+        log.info("POST /api/images - {} ({} bytes, ámbito {})", file.getOriginalFilename(), file.getSize(), scope);
+
+        try {
+            ImageStorageService.StoredImage image = imageStorageService.store(file.getBytes(), ImageScope.fromKey(scope));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("url", imageUrlSigner.sign(image.url()));
+            response.put("hash", image.hash());
+            response.put("contentType", image.format().getContentType());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Imagen rechazada: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IOException | RuntimeException e) {
+            log.error("Error al guardar imagen", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Error al guardar la imagen"));
+        }
+    }
+
+    /**
+     * Sirve una imagen pública por su hash con caché de larga duración.
+     * GET /api/images/{hash}?size=small|medium|large
+     *
+     * @param hash       hash SHA-256 de la imagen
+     * @param size       tamaño de miniatura (opcional; sin él se sirve el original)
+     * @param webRequest petición (para If-None-Match)
+     * @return el archivo de imagen, 304 si el cliente ya lo tiene, 400 si el tamaño no existe o 404
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<Resource> getImage(@PathVariable String hash,
+                                             @RequestParam(required = false) String size,
+                                             WebRequest webRequest) {
+        return serveImage(ImageScope.PUBLIC, hash, size, webRequest);
+    }
+
+    /**
+     * Sirve la foto de un niño con una URL firmada o a ADMIN y PADRINO autenticados.
+     * GET /api/images/children/{hash}?expires=...&sig=...&size=small|medium|large
+     *
+     * @param hash           hash SHA-256 de la imagen
+     * @param size           tamaño de miniatura (opcional; sin él se sirve el original)
+     * @param expires        expiración firmada (segundos epoch)
+     * @param sig            firma HMAC de la URL
+     * @param authentication usuario autenticado, si lo hay
+     * @param webRequest     petición (para If-None-Match)
+     * @return el archivo de imagen, 304 si el cliente ya lo tiene, 400 si el tamaño no existe,
+     * 403 sin firma válida ni rol, o 404
+     */
+    @GetMapping("/children/{hash}")
+    public ResponseEntity<Resource> getChildImage(@PathVariable String hash,
+                                                  @RequestParam(required = false) String size,
+                                                  @RequestParam(required = false) Long expires,
+                                                  @RequestParam(required = false) String sig,
+                                                  Authentication authentication,
+                                                  WebRequest webRequest) {
+        if (!imageUrlSigner.verify(hash, expires, sig) && !canViewChildImages(authentication)) {
+            log.warn("Foto de niño {} solicitada sin firma válida ni rol", hash);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return serveImage(ImageScope.CHILDREN, hash, size, webRequest);
+    }
+
+    private static boolean canViewChildImages(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(CHILD_IMAGE_ROLES::contains);
+    }
+
+    private ResponseEntity<Resource> serveImage(ImageScope scope, String hash, String size, WebRequest webRequest) {
+        if (size == null || size.isBlank()) {
+            String etag = "\"" + hash + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            return imageStorageService.find(scope, hash)
+                    .map(image -> imageResponse(scope, image, etag, true))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        ThumbnailSize thumbnailSize;
+        try {
+            thumbnailSize = ThumbnailSize.fromKey(size);
+        } catch (IllegalArgumentException e) {
+            log.warn("Tamaño de imagen no válido: {}", size);
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = "\"" + hash + "-" + thumbnailSize.key() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return imageThumbnailService.findVariant(scope, hash, thumbnailSize)
+                .map(variant -> variant.permanent()
+                        ? imageResponse(scope, variant.file(), etag, true)
+                        // Original servido mientras se genera la miniatura: sin ETag ni caché larga
+                        : imageResponse(scope, variant.file(), null, false))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Construye la respuesta con el archivo de imagen.
+     * Las URLs de contenido definitivo se cachean un año como inmutables; las
+     * fotos de niños solo en la caché privada del navegador, nunca en cachés compartidas.
+     */
+    private ResponseEntity<Resource> imageResponse(ImageScope scope, ImageStorageService.ImageFile image,
+                                                   String etag, boolean immutable) {
+        CacheControl cacheControl = CacheControl.noCache();
+        if (immutable) {
+            CacheControl longLived = CacheControl.maxAge(365, TimeUnit.DAYS);
+            cacheControl = (scope == ImageScope.PUBLIC ? longLived.cachePublic() : longLived.cachePrivate()).immutable();
+        } else if (scope != ImageScope.PUBLIC) {
+            cacheControl = cacheControl.cachePrivate();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(image.format().getContentType()))
+                .cacheControl(cacheControl);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(new FileSystemResource(image.path()));
+    }
+
+    /**
+     * Crea una respuesta de error estandarizada.
+     */
+    private Map<String, Object> createErrorResponse(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        error.put("timestamp", System.currentTimeMillis());
+        return error;
+    }
+}
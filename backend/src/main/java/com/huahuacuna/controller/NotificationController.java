@@ -3,6 +3,7 @@ package com.huahuacuna.controller;
 import com.huahuacuna.model.Notification;
 import com.huahuacuna.model.User;
 import com.huahuacuna.model.dto.NotificationDTO;
+import com.huahuacuna.model.dto.NotificationReadRequestDTO;
 import com.huahuacuna.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -172,25 +173,25 @@ public class NotificationController {
     }
 
     /**
-     * Marca una notificación específica como leída.
+     * Marca una notificación específica del usuario como leída con una sola
+     * actualización condicional. Para marcar varias a la vez, usar PATCH /read.
      *
-     * @param id ID de la notificación
+     * @param id             ID de la notificación
+     * @param authentication Objeto de autenticación
      * @return Notificación actualizada
      */
     @PatchMapping("/{id}/read")
-    public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id, Authentication authentication) {
         logger.info("PATCH /api/notifications/{}/read - Marcando como leída", id);
 
         try {
-            Notification notification = notificationService.markAsRead(id);
-            NotificationDTO notificationDTO = new NotificationDTO(notification);
+            User user = (User) authentication.getPrincipal();
+            Notification notification = notificationService.markAsReadForUser(user.getId(), id);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Notificación marcada como leída");
-            response.put("data", notificationDTO);
-
-            logger.info("Notificación {} marcada como leída", id);
+            response.put("data", new NotificationDTO(notification));
             return ResponseEntity.ok(response);
 
         } catch (RuntimeException e) {
@@ -199,12 +200,43 @@ public class NotificationController {
             errorResponse.put("success", false);
             errorResponse.put("message", "Notificación no encontrada");
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    /**
+     * Marca varias notificaciones del usuario como leídas en una sola actualización.
+     * Las notificaciones de otros usuarios se ignoran.
+     *
+     * @param request        IDs de las notificaciones
+     * @param authentication Objeto de autenticación
+     * @return Número de notificaciones marcadas
+     */
+    @PatchMapping("/read")
+    public ResponseEntity<Map<String, Object>> markManyAsRead(@RequestBody NotificationReadRequestDTO request,
+                                                              Authentication authentication) {
+        logger.info("PATCH /api/notifications/read - Marcando varias como leídas");
+
+        try {
+            User user = (User) authentication.getPrincipal();
+            int marked = notificationService.markAsRead(user.getId(), request.getIds());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Notificaciones marcadas como leídas");
+            response.put("data", Map.of("marked", marked));
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
 
         } catch (Exception e) {
-            logger.error("Error al marcar notificación como leída", e);
+            logger.error("Error al marcar notificaciones como leídas", e);
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
-            errorResponse.put("message", "Error al actualizar la notificación");
+            errorResponse.put("message", "Error al actualizar las notificaciones");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
@@ -1,11 +1,26 @@
 package com.huahuacuna.controller;
 
 import com.huahuacuna.model.Project;
+import com.huahuacuna.model.ProjectContribution;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.dto.ProjectContributionRequestDTO;
+import com.huahuacuna.service.ProjectContributionService;
 import com.huahuacuna.service.ProjectService;
+import com.huahuacuna.service.PublicContentCatalog;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -14,9 +29,79 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private ProjectContributionService projectContributionService;
+
+    @Value("${app.public-content.max-age-seconds:60}")
+    private long publicMaxAgeSeconds;
+
+    /**
+     * Lista de proyectos.
+     * El público recibe solo los publicados, con ETag y caché compartible;
+     * un ADMIN recibe todos (incluidos los no publicados) sin caché.
+     */
     @GetMapping
-    public List<Project> getAllProjects() {
-        return projectService.getAllProjects();
+    public ResponseEntity<List<Project>> getAllProjects(Authentication authentication, WebRequest webRequest) {
+        if (isAdmin(authentication)) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                    .body(projectService.getAllProjects());
+        }
+
+        if (webRequest.checkNotModified(projectService.currentPublishedProjectsEtag())) {
+            return null;
+        }
+        PublicContentCatalog.Snapshot<Project> snapshot = projectService.getPublishedProjects();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(publicMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .eTag(snapshot.etag())
+                .body(snapshot.items());
+    }
+
+    /**
+     * Monto recaudado vigente de un proyecto (incluye los aportes aún no compactados).
+     * GET /api/projects/{id}/amount
+     */
+    @GetMapping("/{id}/amount")
+    public ResponseEntity<Map<String, Object>> getLiveAmount(@PathVariable Long id) {
+        try {
+            BigDecimal amount = projectContributionService.getLiveAmount(id);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("projectId", id);
+            response.put("currentAmount", amount);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Registra un aporte a un proyecto (solo ADMIN).
+     * POST /api/projects/{id}/contributions
+     */
+    @PostMapping("/{id}/contributions")
+    public ResponseEntity<Map<String, Object>> addContribution(@PathVariable Long id,
+                                                               @RequestBody ProjectContributionRequestDTO request) {
+        try {
+            ProjectContribution contribution =
+                    projectContributionService.addContribution(id, request.getAmount(), request.getNote());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", contribution);
+            response.put("currentAmount", projectContributionService.getLiveAmount(id));
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(errorResponse(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse(e.getMessage()));
+        }
     }
 
     @PostMapping
@@ -47,4 +132,15 @@ public class ProjectController {
         }
     }
 
+    private Map<String, Object> errorResponse(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", message);
+        return error;
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> Role.ADMIN.getAuthority().equals(authority.getAuthority()));
+    }
 }
@@ -302,6 +302,35 @@ public class UserController {
         }
     }
 
+    /**
+     * Busca usuarios por prefijo del nombre (insensible a mayúsculas y tildes)
+     */
+    @GetMapping("/search/prefix")
+    public ResponseEntity<Map<String, Object>> searchUsersByPrefix(@RequestParam String q) {
+        logger.info("GET /api/users/search/prefix?q={}", q);
+
+        try {
+            List<User> users = userService.searchUsersByNamePrefix(q);
+            List<UserResponseDTO> responseDTOs = users.stream()
+                    .map(UserResponseDTO::new)
+                    .collect(Collectors.toList());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", responseDTOs);
+            response.put("total", responseDTOs.size());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error al buscar usuarios por prefijo", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Error al buscar usuarios");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     /**
      * Obtiene usuarios por rol
      */
@@ -1,5 +1,6 @@
 package com.huahuacuna.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li>{@link AuthenticationException}: errores de autenticación (401)</li>
  *   <li>{@link MethodArgumentNotValidException}: errores de validación (400)</li>
+ *   <li>{@link ServiceBusyException}: recurso saturado, reintentar más tarde (503)</li>
  *   <li>{@link Exception}: errores genéricos no controlados (500)</li>
  * </ul>
  */
@@ -96,6 +98,36 @@ public class GlobalExceptionHandler {
                 .body(errorResponse);
     }
 
+    /**
+     * Maneja el rechazo inmediato de peticiones cuando un recurso acotado está saturado.
+     * <p>
+     * Se devuelve una respuesta 503 (Service Unavailable) con la cabecera
+     * {@code Retry-After} para que el cliente reintente más tarde.
+     * </p>
+     *
+     * @param ex      la excepción {@link ServiceBusyException} capturada.
+     * @param request el objeto {@link WebRequest} que contiene la información de la solicitud.
+     * @return una respuesta {@link ResponseEntity} con detalles del rechazo.
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusyException(
+            ServiceBusyException ex,
+            WebRequest request) {
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Maneja cualquier otra excepción no controlada de manera específica.
      * <p>
@@ -0,0 +1,33 @@
+package com.huahuacuna.exception;
+
+/**
+ * Excepción lanzada cuando un recurso acotado (por ejemplo, el pool de
+ * cifrado de contraseñas) está saturado y la petición se rechaza de
+ * inmediato en lugar de esperar.
+ * <p>
+ * Se traduce en una respuesta 503 (Service Unavailable) con la cabecera
+ * {@code Retry-After}.
+ * </p>
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor que crea una nueva excepción con un mensaje descriptivo.
+     *
+     * @param message           el mensaje que describe el rechazo.
+     * @param retryAfterSeconds segundos recomendados antes de reintentar.
+     */
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return segundos recomendados antes de reintentar.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
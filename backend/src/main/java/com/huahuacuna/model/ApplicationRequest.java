@@ -1,5 +1,7 @@
 package com.huahuacuna.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.huahuacuna.util.TextNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -15,7 +17,12 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "application_requests")
+@Table(name = "application_requests", indexes = {
+        @Index(name = "idx_app_full_name_norm", columnList = "full_name_normalized"),
+        @Index(name = "idx_app_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_app_status_created_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_app_type_created_id", columnList = "type, created_at, id")
+})
 public class ApplicationRequest {
 
     @Id
@@ -48,6 +55,13 @@ public class ApplicationRequest {
     @Column(nullable = false, length = 100)
     private String fullName;
 
+    /**
+     * Nombre completo normalizado (minúsculas, sin tildes) para búsquedas por prefijo
+     */
+    @JsonIgnore
+    @Column(name = "full_name_normalized", length = 100)
+    private String fullNameNormalized;
+
     /**
      * Correo electrónico del solicitante
      */
@@ -155,6 +169,7 @@ public class ApplicationRequest {
         if (this.status == null) {
             this.status = ApplicationStatus.PENDIENTE;
         }
+        normalizeSearchFields();
     }
 
     /**
@@ -163,6 +178,14 @@ public class ApplicationRequest {
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        normalizeSearchFields();
+    }
+
+    /**
+     * Recalcula las columnas normalizadas usadas en las búsquedas
+     */
+    public void normalizeSearchFields() {
+        this.fullNameNormalized = TextNormalizer.normalize(this.fullName);
     }
 
     // ========== CONSTRUCTORES ==========
@@ -236,6 +259,10 @@ public class ApplicationRequest {
         this.fullName = fullName;
     }
 
+    public String getFullNameNormalized() {
+        return fullNameNormalized;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "chat_messages", indexes = {
         @Index(name = "idx_chat_sponsorship", columnList = "sponsorship_id"),
+        @Index(name = "idx_chat_sponsorship_sent_by_id", columnList = "sponsorship_id, sent_by, id"),
         @Index(name = "idx_chat_created_at", columnList = "created_at"),
         @Index(name = "idx_chat_is_read", columnList = "is_read")
 })
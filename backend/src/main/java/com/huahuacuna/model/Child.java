@@ -1,5 +1,9 @@
 package com.huahuacuna.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.huahuacuna.config.SignedImageUrlSerializer;
+import com.huahuacuna.util.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDate;
@@ -13,7 +17,10 @@ import java.time.Period;
  * @version 2.1 - Agregados campos de inhabilitación
  */
 @Entity
-@Table(name = "children")
+@Table(name = "children", indexes = {
+        @Index(name = "idx_child_first_name_norm", columnList = "first_name_normalized"),
+        @Index(name = "idx_child_last_name_norm", columnList = "last_name_normalized")
+})
 @Data
 public class Child {
 
@@ -27,6 +34,18 @@ public class Child {
     @Column(nullable = false)
     private String lastName;
 
+    /**
+     * Nombre normalizado (minúsculas, sin tildes) para búsquedas por prefijo
+     */
+    @JsonIgnore
+    private String firstNameNormalized;
+
+    /**
+     * Apellido normalizado (minúsculas, sin tildes) para búsquedas por prefijo
+     */
+    @JsonIgnore
+    private String lastNameNormalized;
+
     @Column(nullable = false)
     private LocalDate birthDate;
 
@@ -52,9 +71,11 @@ public class Child {
     private String story;
 
     /**
-     * URL de la foto del niño
+     * URL de la foto del niño (las imágenes se guardan en el almacén de imágenes,
+     * no embebidas en esta columna)
      */
     @Column(columnDefinition = "TEXT")
+    @JsonSerialize(using = SignedImageUrlSerializer.class)
     private String imageUrl;
 
     /**
@@ -100,10 +121,20 @@ public class Child {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizeSearchFields();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeSearchFields();
+    }
+
+    /**
+     * Recalcula las columnas normalizadas usadas en las búsquedas
+     */
+    public void normalizeSearchFields() {
+        firstNameNormalized = TextNormalizer.normalize(firstName);
+        lastNameNormalized = TextNormalizer.normalize(lastName);
     }
 }
\ No newline at end of file
@@ -19,7 +19,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "log_entries", indexes = {
-        @Index(name = "idx_log_sponsorship", columnList = "sponsorship_id"),
+        @Index(name = "idx_log_sponsorship_created_id", columnList = "sponsorship_id, created_at, id"),
         @Index(name = "idx_log_created_at", columnList = "created_at")
 })
 @Data
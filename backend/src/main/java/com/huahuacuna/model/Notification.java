@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_user_read", columnList = "user_id, is_read")
+})
 public class Notification {
 
     @Id
@@ -0,0 +1,85 @@
+package com.huahuacuna.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token de un solo uso (recuperación de contraseña, verificación de email...).
+ * <p>
+ * Solo se guarda el hash SHA-256 del token: el valor en claro se envía al
+ * usuario y nunca se persiste. Un token es válido mientras no haya expirado
+ * ni se haya usado; el índice sobre {@code expires_at} permite purgar los
+ * vencidos sin recorrer la tabla.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Entity
+@Table(name = "one_time_tokens", indexes = {
+        @Index(name = "idx_ott_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_ott_user_purpose", columnList = "user_id, purpose"),
+        @Index(name = "idx_ott_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OneTimeToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Hash SHA-256 (hexadecimal) del token.
+     */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    /**
+     * ID del usuario al que pertenece el token.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Propósito del token.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "purpose", nullable = false, length = 30)
+    private TokenPurpose purpose;
+
+    /**
+     * Fecha a partir de la cual el token deja de ser válido.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Fecha en que se usó el token (null si aún no se ha usado).
+     * Solo se modifica con la actualización condicional de consumo.
+     */
+    @Column(name = "used_at", updatable = false)
+    private LocalDateTime usedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Indica si el token puede usarse en el instante dado.
+     */
+    public boolean isUsableAt(LocalDateTime now) {
+        return usedAt == null && expiresAt.isAfter(now);
+    }
+}
@@ -19,7 +19,10 @@ public class Project {
     private String description;
 
     private BigDecimal goalAmount; // Meta de dinero a recaudar
-    private BigDecimal currentAmount; // Dinero recaudado actualmente
+    // Dinero recaudado (aportes ya compactados). Solo se modifica con una actualización
+    // atómica desde ProjectContributionService, nunca al guardar la entidad.
+    @Column(updatable = false)
+    private BigDecimal currentAmount;
 
     private String imageUrl;
     @Column(nullable = false)
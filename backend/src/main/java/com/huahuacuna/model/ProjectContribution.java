@@ -0,0 +1,70 @@
+package com.huahuacuna.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Aporte registrado para un proyecto de recaudación.
+ * <p>
+ * Los aportes se agregan como filas nuevas (libro de movimientos) en lugar de
+ * modificar {@link Project#getCurrentAmount()}, de modo que los aportes
+ * concurrentes nunca compiten por la misma fila. Una tarea periódica suma los
+ * aportes pendientes al total del proyecto y los marca como compactados.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Entity
+@Table(name = "project_contributions", indexes = {
+        @Index(name = "idx_contribution_project_compacted", columnList = "project_id, compacted")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectContribution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del proyecto al que se aporta.
+     */
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    /**
+     * Monto del aporte. Puede ser negativo para registrar una corrección.
+     */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    /**
+     * Nota opcional (donante, referencia del pago, motivo de la corrección).
+     */
+    @Column(length = 255)
+    private String note;
+
+    /**
+     * Indica si el aporte ya está incluido en el total del proyecto.
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean compacted = false;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
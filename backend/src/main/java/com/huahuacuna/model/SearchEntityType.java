@@ -0,0 +1,13 @@
+package com.huahuacuna.model;
+
+/**
+ * Tipos de entidad cubiertos por el índice de búsqueda de texto completo.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public enum SearchEntityType {
+    USER,
+    APPLICATION,
+    LOG_ENTRY
+}
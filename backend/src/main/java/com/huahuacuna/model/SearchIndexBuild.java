@@ -0,0 +1,42 @@
+package com.huahuacuna.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de reconstrucción completa del índice de búsqueda para un tipo de entidad.
+ * <p>
+ * Solo se guarda cuando la reconstrucción termina; si la aplicación se detiene
+ * a mitad, al arrancar de nuevo el tipo sigue sin marca y se reconstruye otra vez.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Entity
+@Table(name = "search_index_builds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndexBuild {
+
+    /**
+     * Tipo de entidad indexado.
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20)
+    private SearchEntityType entityType;
+
+    /**
+     * Fecha en que terminó la reconstrucción.
+     */
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,62 @@
+package com.huahuacuna.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entrada del índice invertido de búsqueda de texto completo.
+ * <p>
+ * Cada fila asocia un término normalizado (minúsculas, sin tildes) con la
+ * entidad que lo contiene. Las búsquedas por prefijo de término se resuelven
+ * con los índices sobre {@code (entity_type, term)}, por lo que su costo no
+ * depende del tamaño de los textos indexados.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Entity
+@Table(name = "search_terms", indexes = {
+        @Index(name = "idx_search_type_term", columnList = "entity_type, term"),
+        @Index(name = "idx_search_type_scope_term", columnList = "entity_type, scope_id, term"),
+        @Index(name = "idx_search_type_entity", columnList = "entity_type, entity_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tipo de la entidad indexada.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private SearchEntityType entityType;
+
+    /**
+     * ID de la entidad indexada.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Ámbito opcional de la entidad (por ejemplo, el apadrinamiento de una
+     * entrada de bitácora) para acotar la búsqueda sin filtrar en memoria.
+     */
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    /**
+     * Término normalizado.
+     */
+    @Column(nullable = false, length = 60)
+    private String term;
+}
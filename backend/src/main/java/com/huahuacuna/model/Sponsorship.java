@@ -85,6 +85,33 @@ public class Sponsorship {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * ID del último mensaje del chat leído por el padrino (marca de lectura).
+     * Los mensajes del admin con ID mayor se consideran no leídos. Solo se
+     * modifica con una actualización condicional, nunca al guardar la entidad.
+     */
+    @Column(name = "godparent_last_read_message_id", updatable = false)
+    private Long godparentLastReadMessageId;
+
+    /**
+     * ID del último mensaje del chat leído por el administrador (marca de lectura).
+     * Los mensajes del padrino con ID mayor se consideran no leídos.
+     */
+    @Column(name = "admin_last_read_message_id", updatable = false)
+    private Long adminLastReadMessageId;
+
+    /**
+     * Momento en que avanzó por última vez la marca de lectura del padrino.
+     */
+    @Column(name = "godparent_last_read_at", updatable = false)
+    private LocalDateTime godparentLastReadAt;
+
+    /**
+     * Momento en que avanzó por última vez la marca de lectura del administrador.
+     */
+    @Column(name = "admin_last_read_at", updatable = false)
+    private LocalDateTime adminLastReadAt;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,18 @@
+package com.huahuacuna.model;
+
+/**
+ * Propósito de un token de un solo uso. Un token emitido para un propósito
+ * no es válido para ningún otro.
+ */
+public enum TokenPurpose {
+
+    /**
+     * Restablecimiento de contraseña.
+     */
+    PASSWORD_RESET,
+
+    /**
+     * Verificación de la dirección de email.
+     */
+    EMAIL_VERIFICATION
+}
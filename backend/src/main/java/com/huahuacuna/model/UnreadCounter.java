@@ -0,0 +1,49 @@
+package com.huahuacuna.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador materializado de elementos no leídos (notificaciones o mensajes de chat).
+ * <p>
+ * Cada fila guarda el último valor conocido de un contador identificado por
+ * su clave (por ejemplo {@code notif:15} o {@code chat:godparent:7}). Los
+ * valores se sirven desde memoria y se escriben aquí en diferido, de modo que
+ * al reiniciar la aplicación no hace falta recontar las tablas de origen.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Entity
+@Table(name = "unread_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCounter {
+
+    /**
+     * Clave del contador.
+     */
+    @Id
+    @Column(name = "counter_key", length = 100)
+    private String counterKey;
+
+    /**
+     * Número de elementos no leídos.
+     */
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+
+    /**
+     * Fecha de la última escritura del contador.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
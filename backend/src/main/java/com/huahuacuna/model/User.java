@@ -1,5 +1,7 @@
 package com.huahuacuna.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.huahuacuna.util.TextNormalizer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -23,7 +25,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email", unique = true),
-        @Index(name = "idx_reset_token", columnList = "reset_password_token")
+        @Index(name = "idx_user_role_active", columnList = "role, is_active"),
+        @Index(name = "idx_user_full_name", columnList = "full_name"),
+        @Index(name = "idx_user_full_name_norm", columnList = "full_name_normalized")
 })
 @Data
 @NoArgsConstructor
@@ -47,6 +51,14 @@ public class User {
     @NotBlank(message = "El nombre completo es obligatorio")
     private String fullName;
 
+    /**
+     * Nombre completo normalizado (minúsculas, sin tildes) para búsquedas por prefijo.
+     * Se mantiene automáticamente en los métodos de ciclo de vida.
+     */
+    @JsonIgnore
+    @Column(name = "full_name_normalized", length = 100)
+    private String fullNameNormalized;
+
     /**
      * Correo electrónico único del usuario.
      * Se utiliza como identificador de inicio de sesión.
@@ -78,20 +90,6 @@ public class User {
     @Column(name = "telefono", length = 20)
     private String telefono;
 
-    /**
-     * Token para recuperación de contraseña.
-     * Se genera cuando el usuario solicita restablecer su contraseña.
-     */
-    @Column(name = "reset_password_token", length = 100)
-    private String resetPasswordToken;
-
-    /**
-     * Fecha de expiración del token de recuperación de contraseña.
-     * El token solo es válido hasta esta fecha.
-     */
-    @Column(name = "reset_password_expires")
-    private LocalDateTime resetPasswordExpires;
-
     /**
      * Indica si la cuenta del usuario está activa.
      * Por defecto es true, pero puede desactivarse por el administrador.
@@ -132,6 +130,7 @@ public class User {
         if (this.isActive == null) {
             this.isActive = true;
         }
+        normalizeSearchFields();
     }
 
     /**
@@ -143,6 +142,14 @@ public class User {
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        normalizeSearchFields();
+    }
+
+    /**
+     * Recalcula las columnas normalizadas usadas en las búsquedas.
+     */
+    public void normalizeSearchFields() {
+        this.fullNameNormalized = TextNormalizer.normalize(this.fullName);
     }
 
     /**
@@ -162,23 +169,4 @@ public class User {
         this.telefono = telefono;
         this.isActive = true;
     }
-
-    /**
-     * Verifica si el token de recuperación de contraseña es válido.
-     *
-     * @return true si el token existe y no ha expirado
-     */
-    public boolean isResetTokenValid() {
-        return resetPasswordToken != null
-                && resetPasswordExpires != null
-                && resetPasswordExpires.isAfter(LocalDateTime.now());
-    }
-
-    /**
-     * Limpia el token de recuperación de contraseña.
-     */
-    public void clearResetToken() {
-        this.resetPasswordToken = null;
-        this.resetPasswordExpires = null;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.huahuacuna.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de solicitudes obtenida con paginación por cursor (keyset).
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationPageDTO {
+
+    /**
+     * Solicitudes de la página, de la más reciente a la más antigua.
+     */
+    private List<ApplicationSummaryDTO> items;
+
+    /**
+     * Cursor opaco para pedir la página siguiente, o null si no hay más.
+     */
+    private String nextCursor;
+
+    /**
+     * Indica si existen más resultados después de esta página.
+     */
+    private boolean hasMore;
+}
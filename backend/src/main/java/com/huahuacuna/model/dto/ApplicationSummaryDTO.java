@@ -0,0 +1,33 @@
+package com.huahuacuna.model.dto;
+
+import com.huahuacuna.model.ApplicationStatus;
+import com.huahuacuna.model.ApplicationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección ligera de una solicitud para los listados paginados.
+ * Omite las columnas TEXT (disponibilidad, experiencia, comentarios);
+ * el detalle completo se obtiene con {@code GET /api/applications/{id}}.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationSummaryDTO {
+
+    private Long id;
+    private ApplicationType type;
+    private ApplicationStatus status;
+    private String fullName;
+    private String email;
+    private String phone;
+    private String country;
+    private LocalDateTime createdAt;
+    private LocalDateTime reviewedAt;
+}
@@ -1,11 +1,14 @@
 package com.huahuacuna.model.dto;
 
 import com.huahuacuna.model.ChatMessage;
+import com.huahuacuna.model.Sponsorship;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO para mensajes del chat.
  *
@@ -28,10 +31,27 @@ public class ChatMessageDTO {
 
     /**
      * Convierte una entidad ChatMessage a DTO.
+     * <p>
+     * El estado de lectura se deriva de la marca de lectura del destinatario en
+     * el apadrinamiento: un mensaje está leído si su ID no supera la marca, y su
+     * fecha de lectura es la del último avance de la marca. Los mensajes
+     * anteriores a las marcas conservan la fecha que se guardó en cada uno.
+     * </p>
      */
     public static ChatMessageDTO fromEntity(ChatMessage message) {
         if (message == null) return null;
 
+        Sponsorship sponsorship = message.getSponsorship();
+        boolean toGodparent = message.getSentBy() == ChatMessage.SentBy.ADMIN;
+        Long watermark = sponsorship == null ? null
+                : toGodparent ? sponsorship.getGodparentLastReadMessageId() : sponsorship.getAdminLastReadMessageId();
+        boolean read = Boolean.TRUE.equals(message.getIsRead())
+                || (watermark != null && message.getId() != null && message.getId() <= watermark);
+        LocalDateTime readAt = message.getReadAt();
+        if (readAt == null && read) {
+            readAt = toGodparent ? sponsorship.getGodparentLastReadAt() : sponsorship.getAdminLastReadAt();
+        }
+
         return ChatMessageDTO.builder()
                 .id(message.getId())
                 .apadrinamientoId(message.getSponsorship() != null ?
@@ -40,9 +60,8 @@ public class ChatMessageDTO {
                 .enviadoPor(mapSentBy(message.getSentBy()))
                 .fecha(message.getCreatedAt() != null ?
                         message.getCreatedAt().toString() : null)
-                .leido(message.getIsRead())
-                .fechaLectura(message.getReadAt() != null ?
-                        message.getReadAt().toString() : null)
+                .leido(read)
+                .fechaLectura(readAt != null ? readAt.toString() : null)
                 .build();
     }
 
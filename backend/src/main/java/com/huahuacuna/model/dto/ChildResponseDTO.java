@@ -1,5 +1,7 @@
 package com.huahuacuna.model.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.huahuacuna.config.SignedImageUrlSerializer;
 import com.huahuacuna.model.Child;
 import com.huahuacuna.model.ChildStatus;
 import lombok.AllArgsConstructor;
@@ -30,6 +32,7 @@ public class ChildResponseDTO {
     private Integer edad;
     private String genero;
     private String biografia;
+    @JsonSerialize(using = SignedImageUrlSerializer.class)
     private String fotoUrl;
     private String necesidades;
     private String estado;
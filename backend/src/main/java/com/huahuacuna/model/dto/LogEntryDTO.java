@@ -52,7 +52,7 @@ public class LogEntryDTO {
     /**
      * Mapea quién registró la entrada.
      */
-    private static String mapRegisteredBy(LogEntry.RegisteredBy registeredBy) {
+    static String mapRegisteredBy(LogEntry.RegisteredBy registeredBy) {
         if (registeredBy == null) return "ADMINISTRADOR";
         return switch (registeredBy) {
             case GODPARENT -> "PADRINO";
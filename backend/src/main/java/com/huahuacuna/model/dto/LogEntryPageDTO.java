@@ -0,0 +1,34 @@
+package com.huahuacuna.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de la línea de tiempo de una bitácora obtenida con paginación por cursor (keyset).
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogEntryPageDTO {
+
+    /**
+     * Entradas de la página, de la más reciente a la más antigua.
+     */
+    private List<LogEntrySummaryDTO> items;
+
+    /**
+     * Cursor opaco para pedir la página siguiente, o null si no hay más.
+     */
+    private String nextCursor;
+
+    /**
+     * Indica si existen más entradas después de esta página.
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,58 @@
+package com.huahuacuna.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.huahuacuna.model.LogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección ligera de una entrada de bitácora para la línea de tiempo.
+ * En lugar del contenido completo (TEXT) incluye un extracto recortado en la
+ * base de datos; el contenido completo se obtiene por entrada.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogEntrySummaryDTO {
+
+    /**
+     * Longitud máxima del extracto del contenido.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
+    private Long id;
+    private String titulo;
+    private String extracto;
+    private boolean contenidoRecortado;
+    private String tipoEntrada;
+    private String registradoPor;
+    private String fecha;
+
+    /**
+     * Fecha de creación original, usada para construir el cursor de paginación.
+     */
+    @JsonIgnore
+    private LocalDateTime createdAt;
+
+    /**
+     * Constructor usado por las consultas de proyección JPQL.
+     */
+    public LogEntrySummaryDTO(Long id, String title, String excerpt, Integer contentLength,
+                              LogEntry.LogEntryType entryType, LogEntry.RegisteredBy registeredBy,
+                              LocalDateTime createdAt) {
+        this.id = id;
+        this.titulo = title;
+        this.extracto = excerpt;
+        this.contenidoRecortado = contentLength != null && contentLength > EXCERPT_LENGTH;
+        this.tipoEntrada = entryType != null ? entryType.getDisplayName() : "General";
+        this.registradoPor = LogEntryDTO.mapRegisteredBy(registeredBy);
+        this.fecha = createdAt != null ? createdAt.toString() : null;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.huahuacuna.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para marcar varias notificaciones como leídas en una sola petición.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadRequestDTO {
+    private List<Long> ids;
+}
@@ -0,0 +1,18 @@
+package com.huahuacuna.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para registrar un aporte a un proyecto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectContributionRequestDTO {
+    private BigDecimal amount;
+    private String note;
+}
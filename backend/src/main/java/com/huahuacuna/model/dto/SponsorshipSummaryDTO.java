@@ -1,6 +1,9 @@
 package com.huahuacuna.model.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.huahuacuna.config.SignedImageUrlSerializer;
 import com.huahuacuna.model.Sponsorship;
+import com.huahuacuna.model.SponsorshipStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,11 +29,31 @@ public class SponsorshipSummaryDTO {
     private String godparentEmail;
     private String childName;
     private Long childId;
+    @JsonSerialize(using = SignedImageUrlSerializer.class)
     private String childImageUrl;
     private String status;
     private LocalDateTime createdAt;
     private Long entriesCount;
 
+    /**
+     * Constructor usado por la proyección JPQL del listado de apadrinamientos,
+     * que obtiene padrino, niño y conteo de entradas en una sola consulta.
+     */
+    public SponsorshipSummaryDTO(Long id, String godparentName, String godparentEmail,
+                                 String childFirstName, String childLastName, Long childId,
+                                 String childImageUrl, SponsorshipStatus status,
+                                 LocalDateTime createdAt, Long entriesCount) {
+        this.id = id;
+        this.godparentName = godparentName;
+        this.godparentEmail = godparentEmail;
+        this.childName = childFirstName + " " + childLastName;
+        this.childId = childId;
+        this.childImageUrl = childImageUrl;
+        this.status = status != null ? status.name() : null;
+        this.createdAt = createdAt;
+        this.entriesCount = entriesCount;
+    }
+
     /**
      * Convierte una entidad Sponsorship a DTO con conteo de entradas.
      *
@@ -3,12 +3,15 @@ package com.huahuacuna.repository;
 import com.huahuacuna.model.ApplicationRequest;
 import com.huahuacuna.model.ApplicationStatus;
 import com.huahuacuna.model.ApplicationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +23,7 @@ import java.util.Optional;
  * @version 1.0
  */
 @Repository
-public interface ApplicationRequestRepository extends JpaRepository<ApplicationRequest, Long> {
+public interface ApplicationRequestRepository extends JpaRepository<ApplicationRequest, Long>, ApplicationRequestRepositoryCustom {
 
     /**
      * Busca todas las solicitudes por tipo (VOLUNTARIO o PADRINO)
@@ -105,12 +108,17 @@ public interface ApplicationRequestRepository extends JpaRepository<ApplicationR
     List<ApplicationRequest> findLatestByType(@Param("type") ApplicationType type);
 
     /**
-     * Obtiene estadísticas de solicitudes agrupadas por estado
+     * Obtiene estadísticas de solicitudes agrupadas por estado y tipo en una sola consulta,
+     * incluyendo cuántas de cada grupo se crearon desde la fecha indicada
      *
-     * @return Lista de arrays con [estado, cantidad]
+     * @param since Inicio de la ventana de solicitudes recientes
+     * @return Lista de arrays con [estado, tipo, cantidad, cantidad reciente]
      */
-    @Query("SELECT a.status, COUNT(a) FROM ApplicationRequest a GROUP BY a.status")
-    List<Object[]> countApplicationsByStatus();
+    @Query("SELECT a.status, a.type, COUNT(a), " +
+            "SUM(CASE WHEN a.createdAt >= :since THEN 1 ELSE 0 END) " +
+            "FROM ApplicationRequest a " +
+            "GROUP BY a.status, a.type")
+    List<Object[]> countGroupedByStatusAndType(@Param("since") LocalDateTime since);
 
     /**
      * Obtiene solicitudes revisadas por un administrador específico
@@ -121,13 +129,46 @@ public interface ApplicationRequestRepository extends JpaRepository<ApplicationR
     List<ApplicationRequest> findByReviewedBy(Long adminId);
 
     /**
-     * Busca solicitudes por nombre (búsqueda parcial, case-insensitive)
+     * Obtiene las solicitudes con los IDs dados, de la más reciente a la más antigua.
+     * Se usa para materializar los resultados del índice de búsqueda.
      *
-     * @param name Nombre o parte del nombre a buscar
-     * @return Lista de solicitudes que coinciden
+     * @param ids IDs de las solicitudes
+     * @return Lista de solicitudes ordenadas por fecha de creación descendente
      */
-    @Query("SELECT a FROM ApplicationRequest a WHERE LOWER(a.fullName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<ApplicationRequest> searchByName(@Param("name") String name);
+    List<ApplicationRequest> findByIdInOrderByCreatedAtDesc(Collection<Long> ids);
+
+    /**
+     * Busca solicitudes cuyo nombre normalizado comience con el prefijo dado.
+     * Usa el índice sobre la columna normalizada (sin tildes, en minúsculas).
+     *
+     * @param prefix Prefijo ya normalizado
+     * @return Hasta 50 solicitudes ordenadas por nombre
+     */
+    List<ApplicationRequest> findTop50ByFullNameNormalizedStartingWithOrderByFullNameNormalizedAsc(String prefix);
+
+    /**
+     * Obtiene el ID y el nombre de las solicitudes que aún no tienen calculado
+     * el nombre normalizado, a partir de un ID dado.
+     *
+     * @param afterId  Último ID procesado
+     * @param pageable Tamaño del lote
+     * @return Filas [id, fullName] ordenadas por ID
+     */
+    @Query("SELECT a.id, a.fullName FROM ApplicationRequest a " +
+            "WHERE a.fullNameNormalized IS NULL AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findPendingNormalization(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Escribe solo la columna normalizada, sin cargar la entidad ni disparar
+     * sus callbacks (no modifica {@code updatedAt} ni reindexa).
+     *
+     * @param id                 ID de la solicitud
+     * @param fullNameNormalized Nombre normalizado
+     * @return Número de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE ApplicationRequest a SET a.fullNameNormalized = :fullNameNormalized WHERE a.id = :id")
+    int updateFullNameNormalized(@Param("id") Long id, @Param("fullNameNormalized") String fullNameNormalized);
 
     /**
      * Obtiene las solicitudes más recientes (últimos 7 días) que están pendientes
@@ -137,4 +178,4 @@ public interface ApplicationRequestRepository extends JpaRepository<ApplicationR
      */
     @Query("SELECT a FROM ApplicationRequest a WHERE a.status = 'PENDIENTE' AND a.createdAt >= :date ORDER BY a.createdAt DESC")
     List<ApplicationRequest> findRecentPendingApplications(@Param("date") LocalDateTime date);
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.ApplicationStatus;
+import com.huahuacuna.model.ApplicationType;
+import com.huahuacuna.model.dto.ApplicationSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas de solicitudes cuyo predicado depende de los filtros recibidos.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public interface ApplicationRequestRepositoryCustom {
+
+    /**
+     * Página del listado de solicitudes con filtros opcionales, como proyección
+     * ligera sin columnas TEXT, ordenada por fecha de creación e ID descendentes.
+     * <p>
+     * Solo se incluyen en la consulta los filtros presentes, de modo que el
+     * planificador puede recorrer el índice {@code (status, created_at, id)},
+     * {@code (type, created_at, id)} o {@code (created_at, id)} según el caso.
+     * </p>
+     *
+     * @param type            Tipo de solicitud (null para todos)
+     * @param status          Estado (null para todos)
+     * @param from            Fecha mínima de creación, inclusive (null sin límite)
+     * @param to              Fecha máxima de creación, exclusiva (null sin límite)
+     * @param cursorCreatedAt Fecha de creación de la última fila de la página anterior (null en la primera)
+     * @param cursorId        ID de la última fila de la página anterior (null en la primera)
+     * @param limit           Número máximo de filas
+     * @return Lista de resúmenes de solicitudes
+     */
+    List<ApplicationSummaryDTO> findSummaries(ApplicationType type, ApplicationStatus status,
+                                              LocalDateTime from, LocalDateTime to,
+                                              LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+}
@@ -0,0 +1,65 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.ApplicationStatus;
+import com.huahuacuna.model.ApplicationType;
+import com.huahuacuna.model.dto.ApplicationSummaryDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link ApplicationRequestRepositoryCustom}.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public class ApplicationRequestRepositoryCustomImpl implements ApplicationRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ApplicationSummaryDTO> findSummaries(ApplicationType type, ApplicationStatus status,
+                                                     LocalDateTime from, LocalDateTime to,
+                                                     LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.huahuacuna.model.dto.ApplicationSummaryDTO(" +
+                "a.id, a.type, a.status, a.fullName, a.email, a.phone, a.country, a.createdAt, a.reviewedAt) " +
+                "FROM ApplicationRequest a WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (status != null) {
+            jpql.append(" AND a.status = :status");
+            parameters.put("status", status);
+        }
+        if (type != null) {
+            jpql.append(" AND a.type = :type");
+            parameters.put("type", type);
+        }
+        if (from != null) {
+            jpql.append(" AND a.createdAt >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND a.createdAt < :to");
+            parameters.put("to", to);
+        }
+        if (cursorCreatedAt != null && cursorId != null) {
+            // Rango sobre created_at más desempate por ID, sin OFFSET
+            jpql.append(" AND a.createdAt <= :cursorCreatedAt" +
+                    " AND (a.createdAt < :cursorCreatedAt OR a.id < :cursorId)");
+            parameters.put("cursorCreatedAt", cursorCreatedAt);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY a.createdAt DESC, a.id DESC");
+
+        TypedQuery<ApplicationSummaryDTO> query = entityManager.createQuery(jpql.toString(), ApplicationSummaryDTO.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
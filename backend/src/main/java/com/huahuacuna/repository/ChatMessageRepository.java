@@ -1,6 +1,7 @@
 package com.huahuacuna.repository;
 
 import com.huahuacuna.model.ChatMessage;
+import com.huahuacuna.model.SponsorshipStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,7 +9,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -49,20 +52,28 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     long countBySponsorshipIdAndIsReadFalse(Long sponsorshipId);
 
     /**
-     * Cuenta mensajes no leídos enviados por padrinos (para el admin).
+     * Cuenta mensajes no leídos enviados por padrinos (para el admin):
+     * los posteriores a la marca de lectura del admin en cada apadrinamiento.
      */
-    @Query("SELECT COUNT(m) FROM ChatMessage m " +
-            "WHERE m.sentBy = 'GODPARENT' AND m.isRead = false")
+    @Query("SELECT COUNT(m) FROM ChatMessage m JOIN m.sponsorship s " +
+            "WHERE m.sentBy = 'GODPARENT' AND m.id > COALESCE(s.adminLastReadMessageId, 0)")
     long countUnreadFromGodparents();
 
     /**
-     * Cuenta mensajes no leídos para un padrino específico.
+     * Cuenta mensajes no leídos para un padrino específico:
+     * los del admin posteriores a la marca de lectura del padrino.
      */
-    @Query("SELECT COUNT(m) FROM ChatMessage m " +
-            "WHERE m.sponsorship.godparent.id = :godparentId " +
-            "AND m.sentBy = 'ADMIN' AND m.isRead = false")
+    @Query("SELECT COUNT(m) FROM ChatMessage m JOIN m.sponsorship s " +
+            "WHERE s.godparent.id = :godparentId " +
+            "AND m.sentBy = 'ADMIN' AND m.id > COALESCE(s.godparentLastReadMessageId, 0)")
     long countUnreadForGodparent(@Param("godparentId") Long godparentId);
 
+    /**
+     * ID del último mensaje de un apadrinamiento.
+     */
+    @Query("SELECT MAX(m.id) FROM ChatMessage m WHERE m.sponsorship.id = :sponsorshipId")
+    Long findLastMessageId(@Param("sponsorshipId") Long sponsorshipId);
+
     /**
      * Marca todos los mensajes de un apadrinamiento como leídos.
      */
@@ -72,15 +83,16 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     int markAllAsRead(@Param("sponsorshipId") Long sponsorshipId);
 
     /**
-     * Marca como leídos los mensajes enviados por un tipo de usuario.
+     * Cuenta los mensajes de un tipo de remitente en el tramo {@code (fromId, toId]}:
+     * los que pasan a leídos cuando la marca de lectura avanza de una a otra.
      */
-    @Modifying
-    @Query("UPDATE ChatMessage m SET m.isRead = true, m.readAt = CURRENT_TIMESTAMP " +
-            "WHERE m.sponsorship.id = :sponsorshipId " +
-            "AND m.sentBy = :sentBy AND m.isRead = false")
-    int markAsReadBySentBy(
+    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.sponsorship.id = :sponsorshipId " +
+            "AND m.sentBy = :sentBy AND m.id > :fromId AND m.id <= :toId")
+    long countBySentByInRange(
             @Param("sponsorshipId") Long sponsorshipId,
-            @Param("sentBy") ChatMessage.SentBy sentBy
+            @Param("sentBy") ChatMessage.SentBy sentBy,
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId
     );
 
     /**
@@ -96,7 +108,45 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     /**
      * Encuentra apadrinamientos con mensajes no leídos.
      */
-    @Query("SELECT DISTINCT m.sponsorship.id FROM ChatMessage m " +
-            "WHERE m.isRead = false AND m.sentBy = 'GODPARENT'")
+    @Query("SELECT DISTINCT s.id FROM ChatMessage m JOIN m.sponsorship s " +
+            "WHERE m.sentBy = 'GODPARENT' AND m.id > COALESCE(s.adminLastReadMessageId, 0)")
     List<Long> findSponsorshipsWithUnreadMessages();
-}
\ No newline at end of file
+
+    /**
+     * Obtiene, en orden de ID, los IDs de mensajes anteriores a una fecha en
+     * apadrinamientos con el estado dado (historial archivado).
+     *
+     * @param status     estado del apadrinamiento
+     * @param cutoffDate fecha límite de envío
+     * @param afterId    último ID procesado (0 para empezar)
+     * @param pageable   tamaño del lote
+     * @return IDs del siguiente lote
+     */
+    @Query("SELECT m.id FROM ChatMessage m " +
+            "WHERE m.sponsorship.status = :status AND m.createdAt < :cutoffDate AND m.id > :afterId " +
+            "ORDER BY m.id ASC")
+    List<Long> findArchivedIdsBefore(@Param("status") SponsorshipStatus status,
+                                     @Param("cutoffDate") LocalDateTime cutoffDate,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * Elimina dentro de un rango de IDs los mensajes anteriores a una fecha en
+     * apadrinamientos con el estado dado.
+     *
+     * @param fromId     primer ID del rango (incluido)
+     * @param toId       último ID del rango (incluido)
+     * @param status     estado del apadrinamiento
+     * @param cutoffDate fecha límite de envío
+     * @return número de mensajes eliminados
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChatMessage m " +
+            "WHERE m.id BETWEEN :fromId AND :toId AND m.createdAt < :cutoffDate " +
+            "AND m.sponsorship.id IN (SELECT s.id FROM Sponsorship s WHERE s.status = :status)")
+    int deleteArchivedInIdRange(@Param("fromId") Long fromId,
+                                @Param("toId") Long toId,
+                                @Param("status") SponsorshipStatus status,
+                                @Param("cutoffDate") LocalDateTime cutoffDate);
+}
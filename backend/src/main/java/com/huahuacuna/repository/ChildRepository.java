@@ -2,13 +2,56 @@ package com.huahuacuna.repository;
 
 import com.huahuacuna.model.Child;
 import com.huahuacuna.model.ChildStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ChildRepository extends JpaRepository<Child, Long> {
     // Método extra para encontrar solo los disponibles
     List<Child> findByStatus(ChildStatus status);
+
+    // Búsquedas por prefijo sobre las columnas normalizadas (sin tildes, en minúsculas)
+    List<Child> findTop50ByFirstNameNormalizedStartingWithOrLastNameNormalizedStartingWithOrderByFirstNameNormalizedAsc(
+            String firstNamePrefix, String lastNamePrefix);
+
+    List<Child> findTop50ByFirstNameNormalizedStartingWithAndLastNameNormalizedStartingWithOrderByFirstNameNormalizedAsc(
+            String firstNamePrefix, String lastNamePrefix);
+
+    // Niños con imagen embebida (data URL) o pública pendientes de migrar al ámbito de niños
+    List<Child> findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(String prefix, Long id, Pageable pageable);
+
+    // Filas [id, firstName, lastName] de niños sin columnas normalizadas, a partir de un ID
+    @Query("SELECT c.id, c.firstName, c.lastName FROM Child c " +
+            "WHERE c.firstNameNormalized IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Object[]> findPendingNormalization(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Escribe solo las columnas normalizadas, sin callbacks de la entidad
+    @Modifying
+    @Query("UPDATE Child c SET c.firstNameNormalized = :firstNameNormalized, " +
+            "c.lastNameNormalized = :lastNameNormalized WHERE c.id = :id")
+    int updateNormalizedNames(@Param("id") Long id,
+                              @Param("firstNameNormalized") String firstNameNormalized,
+                              @Param("lastNameNormalized") String lastNameNormalized);
+
+    /**
+     * Cambia el estado del niño solo si conserva el estado esperado (compare-and-set).
+     * Devuelve 1 si el cambio se aplicó y 0 si otro proceso lo modificó antes,
+     * por lo que dos selecciones concurrentes del mismo niño nunca ganan ambas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Child c SET c.status = :newStatus, c.updatedAt = :now " +
+            "WHERE c.id = :id AND c.status = :expectedStatus")
+    int compareAndSetStatus(
+            @Param("id") Long id,
+            @Param("expectedStatus") ChildStatus expectedStatus,
+            @Param("newStatus") ChildStatus newStatus,
+            @Param("now") LocalDateTime now
+    );
 }
\ No newline at end of file
@@ -1,9 +1,46 @@
 package com.huahuacuna.repository;
 
 import com.huahuacuna.model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
+    // Solo los publicados (sitio público), ordenados por fecha
+    List<Event> findByPublishedTrueOrderByDateAsc();
+
+    // Eventos publicados en [from, to), primera página (índice published, date, id)
+    @Query("SELECT e FROM Event e WHERE e.published = true AND e.date >= :from AND e.date < :to " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<Event> findPublishedInRange(@Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     Pageable pageable);
+
+    // Eventos publicados en [from, to) posteriores a la posición (afterDate, afterId)
+    @Query("SELECT e FROM Event e WHERE e.published = true AND e.date < :to " +
+            "AND (e.date > :afterDate OR (e.date = :afterDate AND e.id > :afterId)) " +
+            "AND e.date >= :from " +
+            "ORDER BY e.date ASC, e.id ASC")
+    List<Event> findPublishedInRangeAfter(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("afterDate") LocalDateTime afterDate,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Número de eventos publicados por día del mes en [from, to)
+    @Query("SELECT EXTRACT(DAY FROM e.date), COUNT(e) FROM Event e " +
+            "WHERE e.published = true AND e.date >= :from AND e.date < :to " +
+            "GROUP BY EXTRACT(DAY FROM e.date)")
+    List<Object[]> countPublishedByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Registros con imagen embebida (data URL) pendientes de migrar al almacén de imágenes
+    List<Event> findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(String prefix, Long id, Pageable pageable);
+
+    boolean existsByImageUrl(String imageUrl);
 }
\ No newline at end of file
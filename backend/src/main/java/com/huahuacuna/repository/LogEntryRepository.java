@@ -1,6 +1,7 @@
 package com.huahuacuna.repository;
 
 import com.huahuacuna.model.LogEntry;
+import com.huahuacuna.model.dto.LogEntrySummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +10,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para gestionar entradas de bitácora.
@@ -65,28 +68,59 @@ public interface LogEntryRepository extends JpaRepository<LogEntry, Long> {
     long countBySponsorshipId(Long sponsorshipId);
 
     /**
-     * Encuentra las últimas N entradas de un apadrinamiento.
+     * Encuentra las últimas entradas de un apadrinamiento.
+     * El número de entradas lo fija el {@link Pageable} (p. ej. {@code PageRequest.of(0, 5)}).
      */
     @Query("SELECT l FROM LogEntry l " +
             "WHERE l.sponsorship.id = :sponsorshipId " +
-            "ORDER BY l.createdAt DESC " +
-            "LIMIT :limit")
+            "ORDER BY l.createdAt DESC, l.id DESC")
     List<LogEntry> findLatestBySponsorshipId(
             @Param("sponsorshipId") Long sponsorshipId,
-            @Param("limit") int limit
+            Pageable pageable
     );
 
     /**
-     * Busca entradas por texto en título o contenido.
+     * Primera página de la línea de tiempo de un apadrinamiento, como proyección
+     * ligera con un extracto del contenido. Usa el índice (sponsorship_id, created_at, id).
      */
-    @Query("SELECT l FROM LogEntry l " +
+    @Query("SELECT new com.huahuacuna.model.dto.LogEntrySummaryDTO(" +
+            "l.id, l.title, SUBSTRING(l.content, 1, " + LogEntrySummaryDTO.EXCERPT_LENGTH + "), LENGTH(l.content), " +
+            "l.entryType, l.registeredBy, l.createdAt) " +
+            "FROM LogEntry l " +
             "WHERE l.sponsorship.id = :sponsorshipId " +
-            "AND (LOWER(l.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "     OR LOWER(l.content) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) " +
-            "ORDER BY l.createdAt DESC")
-    List<LogEntry> searchByTitleOrContent(
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LogEntrySummaryDTO> findTimeline(
+            @Param("sponsorshipId") Long sponsorshipId,
+            Pageable pageable
+    );
+
+    /**
+     * Página siguiente de la línea de tiempo: entradas anteriores a la posición
+     * (beforeDate, beforeId) de la última entrada vista.
+     */
+    @Query("SELECT new com.huahuacuna.model.dto.LogEntrySummaryDTO(" +
+            "l.id, l.title, SUBSTRING(l.content, 1, " + LogEntrySummaryDTO.EXCERPT_LENGTH + "), LENGTH(l.content), " +
+            "l.entryType, l.registeredBy, l.createdAt) " +
+            "FROM LogEntry l " +
+            "WHERE l.sponsorship.id = :sponsorshipId " +
+            "AND (l.createdAt < :beforeDate OR (l.createdAt = :beforeDate AND l.id < :beforeId)) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LogEntrySummaryDTO> findTimelineBefore(
             @Param("sponsorshipId") Long sponsorshipId,
-            @Param("searchTerm") String searchTerm
+            @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
     );
 
+    /**
+     * Obtiene una entrada verificando que pertenece al apadrinamiento.
+     */
+    Optional<LogEntry> findByIdAndSponsorshipId(Long id, Long sponsorshipId);
+
+    /**
+     * Obtiene las entradas de un apadrinamiento con los IDs dados.
+     * Se usa para materializar los resultados del índice de búsqueda.
+     */
+    List<LogEntry> findByIdInAndSponsorshipIdOrderByCreatedAtDesc(Collection<Long> ids, Long sponsorshipId);
+
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.huahuacuna.repository;
 
 import com.huahuacuna.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio JPA para la gestión de notificaciones del sistema.
@@ -59,19 +62,91 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * Marca todas las notificaciones de un usuario como leídas
      *
      * @param userId ID del usuario
+     * @return número de notificaciones que pasaron a leídas
      */
     @Modifying
     @Transactional
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.userId = :userId AND n.isRead = false")
-    void markAllAsReadByUserId(@Param("userId") Long userId);
+    int markAllAsReadByUserId(@Param("userId") Long userId);
 
     /**
-     * Elimina notificaciones antiguas leídas (más de 30 días)
+     * Marca una notificación como leída solo si aún no lo estaba, de modo que
+     * dos lecturas concurrentes no la cuenten dos veces. Limpia el contexto de
+     * persistencia para que la siguiente lectura vea el nuevo estado.
      *
-     * @param cutoffDate Fecha límite (notificaciones anteriores a esta fecha serán eliminadas)
+     * @param id ID de la notificación
+     * @return 1 si pasó a leída; 0 si ya estaba leída o no existe
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id = :id AND n.isRead = false")
+    int markAsReadById(@Param("id") Long id);
+
+    /**
+     * Marca como leída una notificación del usuario solo si aún no lo estaba.
+     * Limpia el contexto de persistencia para que la siguiente lectura vea el nuevo estado.
+     *
+     * @param id     ID de la notificación
+     * @param userId ID del usuario propietario
+     * @return 1 si pasó a leída; 0 si ya estaba leída, es de otro usuario o no existe
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP " +
+            "WHERE n.id = :id AND n.userId = :userId AND n.isRead = false")
+    int markAsReadByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Obtiene una notificación si pertenece al usuario.
+     *
+     * @param id     ID de la notificación
+     * @param userId ID del usuario propietario
+     * @return la notificación, o vacío si no existe o es de otro usuario
+     */
+    Optional<Notification> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Marca como leídas las notificaciones indicadas que pertenecen al usuario.
+     * Las que no existen, son de otro usuario o ya estaban leídas se ignoran.
+     *
+     * @param ids    IDs de las notificaciones
+     * @param userId ID del usuario propietario
+     * @return número de notificaciones que pasaron a leídas
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP " +
+            "WHERE n.id IN :ids AND n.userId = :userId AND n.isRead = false")
+    int markAsReadByIdsAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Obtiene, en orden de ID, los IDs de notificaciones leídas antes de una fecha.
+     * Se usa para recorrer la tabla en lotes acotados durante la limpieza.
+     *
+     * @param cutoffDate fecha límite de lectura
+     * @param afterId    último ID procesado (0 para empezar)
+     * @param pageable   tamaño del lote
+     * @return IDs del siguiente lote
+     */
+    @Query("SELECT n.id FROM Notification n " +
+            "WHERE n.isRead = true AND n.readAt < :cutoffDate AND n.id > :afterId ORDER BY n.id ASC")
+    List<Long> findReadIdsBefore(@Param("cutoffDate") LocalDateTime cutoffDate,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    /**
+     * Elimina las notificaciones leídas antes de una fecha dentro de un rango de IDs.
+     *
+     * @param fromId     primer ID del rango (incluido)
+     * @param toId       último ID del rango (incluido)
+     * @param cutoffDate fecha límite de lectura
+     * @return número de notificaciones eliminadas
      */
     @Modifying
     @Transactional
-    @Query("DELETE FROM Notification n WHERE n.isRead = true AND n.readAt < :cutoffDate")
-    void deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query("DELETE FROM Notification n " +
+            "WHERE n.id BETWEEN :fromId AND :toId AND n.isRead = true AND n.readAt < :cutoffDate")
+    int deleteReadInIdRange(@Param("fromId") Long fromId,
+                            @Param("toId") Long toId,
+                            @Param("cutoffDate") LocalDateTime cutoffDate);
 }
\ No newline at end of file
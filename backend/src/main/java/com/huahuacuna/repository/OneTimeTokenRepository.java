@@ -0,0 +1,70 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.OneTimeToken;
+import com.huahuacuna.model.TokenPurpose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repositorio de los tokens de un solo uso.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Repository
+public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, Long> {
+
+    /**
+     * Busca un token por su hash y propósito.
+     *
+     * @param tokenHash hash SHA-256 del token
+     * @param purpose   propósito del token
+     * @return Optional con el token si existe
+     */
+    Optional<OneTimeToken> findByTokenHashAndPurpose(String tokenHash, TokenPurpose purpose);
+
+    /**
+     * Marca un token como usado solo si sigue vigente. La condición garantiza
+     * que dos peticiones concurrentes no puedan usar el mismo token.
+     *
+     * @param id  ID del token
+     * @param now instante de uso
+     * @return 1 si se consumió, 0 si ya estaba usado o expirado
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OneTimeToken t SET t.usedAt = :now " +
+            "WHERE t.id = :id AND t.usedAt IS NULL AND t.expiresAt > :now")
+    int consume(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Elimina los tokens de un usuario para un propósito (al emitir uno nuevo).
+     *
+     * @param userId  ID del usuario
+     * @param purpose propósito de los tokens
+     * @return número de tokens eliminados
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OneTimeToken t WHERE t.userId = :userId AND t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") TokenPurpose purpose);
+
+    /**
+     * Elimina los tokens expirados (usados o no). Resuelto por el índice sobre
+     * {@code expires_at}.
+     *
+     * @param now instante de referencia
+     * @return número de tokens eliminados
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OneTimeToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,60 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.ProjectContribution;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del libro de aportes a proyectos.
+ */
+@Repository
+public interface ProjectContributionRepository extends JpaRepository<ProjectContribution, Long> {
+
+    /**
+     * Monto actual del proyecto: total compactado más los aportes pendientes,
+     * en una sola consulta.
+     *
+     * @param projectId ID del proyecto
+     * @return monto actual, o null si el proyecto no existe
+     */
+    @Query("SELECT COALESCE(p.currentAmount, 0) + " +
+            "COALESCE((SELECT SUM(c.amount) FROM ProjectContribution c " +
+            "WHERE c.projectId = p.id AND c.compacted = false), 0) " +
+            "FROM Project p WHERE p.id = :projectId")
+    BigDecimal findLiveAmount(@Param("projectId") Long projectId);
+
+    /**
+     * IDs de los proyectos con aportes pendientes de compactar.
+     */
+    @Query("SELECT DISTINCT c.projectId FROM ProjectContribution c WHERE c.compacted = false")
+    List<Long> findProjectIdsWithPendingContributions();
+
+    /**
+     * Lote de aportes pendientes de un proyecto.
+     */
+    List<ProjectContribution> findByProjectIdAndCompactedFalseOrderByIdAsc(Long projectId, Pageable pageable);
+
+    /**
+     * Marca como compactados los aportes indicados que aún no lo estaban.
+     *
+     * @return número de aportes marcados
+     */
+    @Modifying
+    @Query("UPDATE ProjectContribution c SET c.compacted = true WHERE c.id IN :ids AND c.compacted = false")
+    int markCompacted(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Elimina los aportes de un proyecto (al borrar el proyecto).
+     */
+    @Modifying
+    @Query("DELETE FROM ProjectContribution c WHERE c.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -1,9 +1,28 @@
 package com.huahuacuna.repository;
 
 import com.huahuacuna.model.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    // Solo los publicados (sitio público), del más reciente al más antiguo
+    List<Project> findByPublishedTrueOrderByIdDesc();
+
+    // Suma un monto al total recaudado con una actualización atómica (compactación de aportes)
+    @Modifying
+    @Query("UPDATE Project p SET p.currentAmount = COALESCE(p.currentAmount, 0) + :delta WHERE p.id = :id")
+    int addToCurrentAmount(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    // Registros con imagen embebida (data URL) pendientes de migrar al almacén de imágenes
+    List<Project> findByImageUrlStartingWithAndIdGreaterThanOrderByIdAsc(String prefix, Long id, Pageable pageable);
+
+    boolean existsByImageUrl(String imageUrl);
 }
\ No newline at end of file
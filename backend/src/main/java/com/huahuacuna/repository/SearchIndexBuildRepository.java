@@ -0,0 +1,16 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.SearchIndexBuild;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de las marcas de reconstrucción del índice de búsqueda.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Repository
+public interface SearchIndexBuildRepository extends JpaRepository<SearchIndexBuild, SearchEntityType> {
+}
@@ -0,0 +1,29 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.SearchTerm;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio del índice invertido de búsqueda de texto completo.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Repository
+public interface SearchTermRepository extends JpaRepository<SearchTerm, Long>, SearchTermRepositoryCustom {
+
+    /**
+     * Elimina todos los términos indexados de una entidad.
+     */
+    @Modifying
+    @Query("DELETE FROM SearchTerm t WHERE t.entityType = :entityType AND t.entityId = :entityId")
+    int deleteByEntity(
+            @Param("entityType") SearchEntityType entityType,
+            @Param("entityId") Long entityId
+    );
+}
@@ -0,0 +1,27 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.SearchEntityType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas del índice de búsqueda cuyo número de condiciones depende de la consulta.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public interface SearchTermRepositoryCustom {
+
+    /**
+     * Obtiene los IDs de las entidades que tienen, para cada prefijo, al menos
+     * un término que empieza por él. La intersección se resuelve en la base de
+     * datos, sin límite de candidatos por término.
+     *
+     * @param entityType tipo de entidad
+     * @param scopeId    ámbito opcional (null para todo el índice)
+     * @param prefixes   prefijos normalizados (solo letras y dígitos)
+     * @return IDs coincidentes en orden ascendente
+     */
+    List<Long> findEntityIdsMatchingAll(SearchEntityType entityType, Long scopeId, Collection<String> prefixes);
+}
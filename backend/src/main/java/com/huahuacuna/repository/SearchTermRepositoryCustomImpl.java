@@ -0,0 +1,63 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.SearchEntityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementación de {@link SearchTermRepositoryCustom}.
+ * <p>
+ * El término más largo (normalmente el más selectivo) recorre el índice
+ * {@code (entity_type, [scope_id,] term)}; cada término restante se comprueba
+ * con un {@code EXISTS} sobre el índice {@code (entity_type, entity_id)} de la
+ * entidad candidata.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public class SearchTermRepositoryCustomImpl implements SearchTermRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findEntityIdsMatchingAll(SearchEntityType entityType, Long scopeId, Collection<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> ordered = prefixes.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .toList();
+
+        StringBuilder jpql = new StringBuilder("SELECT t0.entityId FROM SearchTerm t0 ")
+                .append("WHERE t0.entityType = :entityType ");
+        if (scopeId != null) {
+            jpql.append("AND t0.scopeId = :scopeId ");
+        }
+        jpql.append("AND t0.term LIKE :p0 ");
+        for (int i = 1; i < ordered.size(); i++) {
+            jpql.append("AND EXISTS (SELECT 1 FROM SearchTerm t").append(i)
+                    .append(" WHERE t").append(i).append(".entityType = :entityType")
+                    .append(" AND t").append(i).append(".entityId = t0.entityId")
+                    .append(" AND t").append(i).append(".term LIKE :p").append(i).append(") ");
+        }
+        jpql.append("GROUP BY t0.entityId ORDER BY t0.entityId");
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setParameter("entityType", entityType);
+        if (scopeId != null) {
+            query.setParameter("scopeId", scopeId);
+        }
+        for (int i = 0; i < ordered.size(); i++) {
+            query.setParameter("p" + i, ordered.get(i) + "%");
+        }
+        return query.getResultList();
+    }
+}
@@ -4,10 +4,13 @@ import com.huahuacuna.model.Child;
 import com.huahuacuna.model.Sponsorship;
 import com.huahuacuna.model.SponsorshipStatus;
 import com.huahuacuna.model.User;
+import com.huahuacuna.model.dto.SponsorshipSummaryDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -61,6 +64,12 @@ public interface SponsorshipRepository extends JpaRepository<Sponsorship, Long>
      */
     Optional<Sponsorship> findByChildIdAndStatus(Long childId, SponsorshipStatus status);
 
+    /**
+     * Verifica que un apadrinamiento pertenece a un padrino con una sola consulta,
+     * sin cargar el apadrinamiento ni el padrino.
+     */
+    boolean existsByIdAndGodparentId(Long id, Long godparentId);
+
     /**
      * Verifica si un padrino ya tiene un apadrinamiento activo.
      */
@@ -102,4 +111,90 @@ public interface SponsorshipRepository extends JpaRepository<Sponsorship, Long>
             @Param("status") SponsorshipStatus status
     );
 
+    /**
+     * Obtiene el resumen de los apadrinamientos con un estado dado en una sola consulta:
+     * datos del padrino y del niño por JOIN y conteo de entradas de bitácora por subconsulta
+     * (resuelta con el índice idx_log_sponsorship).
+     */
+    @Query("SELECT new com.huahuacuna.model.dto.SponsorshipSummaryDTO(" +
+            "s.id, g.fullName, g.email, c.firstName, c.lastName, c.id, c.imageUrl, s.status, s.createdAt, " +
+            "(SELECT COUNT(l) FROM LogEntry l WHERE l.sponsorship.id = s.id)) " +
+            "FROM Sponsorship s " +
+            "JOIN s.godparent g " +
+            "JOIN s.child c " +
+            "WHERE s.status = :status " +
+            "ORDER BY s.createdAt DESC")
+    List<SponsorshipSummaryDTO> findSummariesByStatus(@Param("status") SponsorshipStatus status);
+
+    /**
+     * Marca de lectura actual del padrino (0 si aún no tiene).
+     *
+     * @return la marca, o vacío si el apadrinamiento no existe o no pertenece al padrino
+     */
+    @Query("SELECT COALESCE(s.godparentLastReadMessageId, 0) FROM Sponsorship s " +
+            "WHERE s.id = :sponsorshipId AND s.godparent.id = :godparentId")
+    Optional<Long> findGodparentReadWatermark(@Param("sponsorshipId") Long sponsorshipId,
+                                              @Param("godparentId") Long godparentId);
+
+    /**
+     * Marca de lectura actual del administrador (0 si aún no tiene).
+     *
+     * @return la marca, o vacío si el apadrinamiento no existe
+     */
+    @Query("SELECT COALESCE(s.adminLastReadMessageId, 0) FROM Sponsorship s WHERE s.id = :sponsorshipId")
+    Optional<Long> findAdminReadWatermark(@Param("sponsorshipId") Long sponsorshipId);
+
+    /**
+     * Avanza la marca de lectura del padrino de {@code expected} a {@code messageId}
+     * (comparar y asignar). Es la única escritura al marcar como leído: el estado
+     * de lectura de cada mensaje se deriva de la marca.
+     *
+     * @return 1 si la marca avanzó, 0 si otra petición la movió antes o no avanza
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Sponsorship s SET s.godparentLastReadMessageId = :messageId, " +
+            "s.godparentLastReadAt = CURRENT_TIMESTAMP " +
+            "WHERE s.id = :sponsorshipId AND s.godparent.id = :godparentId " +
+            "AND COALESCE(s.godparentLastReadMessageId, 0) = :expected AND :expected < :messageId")
+    int advanceGodparentReadWatermark(@Param("sponsorshipId") Long sponsorshipId,
+                                      @Param("godparentId") Long godparentId,
+                                      @Param("expected") Long expected,
+                                      @Param("messageId") Long messageId);
+
+    /**
+     * Avanza la marca de lectura del administrador de {@code expected} a {@code messageId}.
+     *
+     * @return 1 si la marca avanzó, 0 si otra petición la movió antes o no avanza
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Sponsorship s SET s.adminLastReadMessageId = :messageId, " +
+            "s.adminLastReadAt = CURRENT_TIMESTAMP " +
+            "WHERE s.id = :sponsorshipId " +
+            "AND COALESCE(s.adminLastReadMessageId, 0) = :expected AND :expected < :messageId")
+    int advanceAdminReadWatermark(@Param("sponsorshipId") Long sponsorshipId,
+                                  @Param("expected") Long expected,
+                                  @Param("messageId") Long messageId);
+
+    /**
+     * Inicializa las marcas de lectura de los apadrinamientos que aún no las tienen,
+     * a partir del indicador is_read de los mensajes existentes: la marca queda justo
+     * antes del primer mensaje no leído, o en el último mensaje si todos están leídos.
+     *
+     * @return número de apadrinamientos actualizados
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Sponsorship s SET " +
+            "s.godparentLastReadMessageId = COALESCE(" +
+            "  (SELECT MIN(m.id) - 1 FROM ChatMessage m WHERE m.sponsorship.id = s.id " +
+            "   AND m.sentBy = 'ADMIN' AND m.isRead = false), " +
+            "  (SELECT MAX(m.id) FROM ChatMessage m WHERE m.sponsorship.id = s.id), 0), " +
+            "s.adminLastReadMessageId = COALESCE(" +
+            "  (SELECT MIN(m.id) - 1 FROM ChatMessage m WHERE m.sponsorship.id = s.id " +
+            "   AND m.sentBy = 'GODPARENT' AND m.isRead = false), " +
+            "  (SELECT MAX(m.id) FROM ChatMessage m WHERE m.sponsorship.id = s.id), 0) " +
+            "WHERE s.godparentLastReadMessageId IS NULL OR s.adminLastReadMessageId IS NULL")
+    int initializeReadWatermarks();
 }
\ No newline at end of file
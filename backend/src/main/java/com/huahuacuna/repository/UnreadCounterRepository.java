@@ -0,0 +1,15 @@
+package com.huahuacuna.repository;
+
+import com.huahuacuna.model.UnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de los contadores materializados de no leídos.
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Repository
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, String> {
+}
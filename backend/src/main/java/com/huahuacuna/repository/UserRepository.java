@@ -2,9 +2,17 @@ package com.huahuacuna.repository;
 
 import com.huahuacuna.model.Role;
 import com.huahuacuna.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,14 +38,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
-    /**
-     * Busca un usuario por su token de recuperación de contraseña.
-     *
-     * @param token el token de recuperación
-     * @return Optional con el usuario si el token existe
-     */
-    Optional<User> findByResetPasswordToken(String token);
-
     /**
      * Busca todos los usuarios con un rol específico.
      *
@@ -54,4 +54,120 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return lista de usuarios activos con ese rol
      */
     List<User> findByRoleAndIsActive(Role role, Boolean isActive);
-}
\ No newline at end of file
+
+    /**
+     * Cuenta los usuarios con un rol y estado de activación específicos.
+     * Resuelto por el índice compuesto (role, is_active) sin cargar entidades.
+     *
+     * @param role     el rol a contar
+     * @param isActive estado de activación
+     * @return número de usuarios que cumplen ambas condiciones
+     */
+    long countByRoleAndIsActive(Role role, Boolean isActive);
+
+    /**
+     * Cuenta los usuarios con un rol específico.
+     *
+     * @param role el rol a contar
+     * @return número de usuarios con ese rol
+     */
+    long countByRole(Role role);
+
+    /**
+     * Obtiene únicamente los IDs de los usuarios con un rol dado.
+     * Útil para generar notificaciones sin materializar las entidades completas.
+     *
+     * @param role el rol a buscar
+     * @return lista de IDs de usuarios con ese rol
+     */
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") Role role);
+
+    /**
+     * Busca usuarios cuyo email o nombre normalizado contengan el término
+     * (sin distinguir mayúsculas ni tildes).
+     * <p>
+     * Al buscar por subcadena no puede usar índices y recorre la tabla; solo se
+     * usa para consultas sin términos indexables (p. ej. "@" o "_"), el resto
+     * se resuelve con el índice de búsqueda de texto completo.
+     * </p>
+     *
+     * @param emailPattern patrón LIKE para el email, en minúsculas y escapado
+     * @param namePattern  patrón LIKE para el nombre normalizado, escapado
+     * @return lista de usuarios ordenados por nombre
+     */
+    @Query("SELECT u FROM User u " +
+            "WHERE LOWER(u.email) LIKE :emailPattern ESCAPE '\\' " +
+            "OR u.fullNameNormalized LIKE :namePattern ESCAPE '\\' " +
+            "ORDER BY u.fullName ASC")
+    List<User> searchByEmailOrName(@Param("emailPattern") String emailPattern,
+                                   @Param("namePattern") String namePattern);
+
+    /**
+     * Obtiene los usuarios con los IDs dados, ordenados por nombre.
+     * Se usa para materializar los resultados del índice de búsqueda.
+     *
+     * @param ids IDs de los usuarios
+     * @return lista de usuarios ordenados por nombre
+     */
+    List<User> findByIdInOrderByFullNameAsc(Collection<Long> ids);
+
+    /**
+     * Busca usuarios cuyo nombre normalizado comience con el prefijo dado.
+     *
+     * @param prefix prefijo ya normalizado (minúsculas, sin tildes)
+     * @return hasta 50 usuarios ordenados por nombre
+     */
+    List<User> findTop50ByFullNameNormalizedStartingWithOrderByFullNameNormalizedAsc(String prefix);
+
+    /**
+     * Obtiene el ID y el nombre de los usuarios que aún no tienen calculado el
+     * nombre normalizado, a partir de un ID dado.
+     *
+     * @param afterId  último ID procesado
+     * @param pageable tamaño del lote
+     * @return filas [id, fullName] ordenadas por ID
+     */
+    @Query("SELECT u.id, u.fullName FROM User u " +
+            "WHERE u.fullNameNormalized IS NULL AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findPendingNormalization(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Escribe solo la columna normalizada, sin cargar la entidad ni disparar
+     * sus callbacks (no modifica {@code updatedAt} ni reindexa).
+     *
+     * @param id                 ID del usuario
+     * @param fullNameNormalized nombre normalizado
+     * @return número de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.fullNameNormalized = :fullNameNormalized WHERE u.id = :id")
+    int updateFullNameNormalized(@Param("id") Long id, @Param("fullNameNormalized") String fullNameNormalized);
+
+    /**
+     * Obtiene un usuario bloqueando su fila hasta el fin de la transacción.
+     * Serializa solo las operaciones concurrentes sobre el mismo usuario.
+     *
+     * @param id ID del usuario
+     * @return Optional con el usuario bloqueado si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Sustituye la contraseña cifrada solo si no ha cambiado desde que se leyó,
+     * para no pisar un cambio de contraseña concurrente.
+     *
+     * @param id          ID del usuario
+     * @param oldPassword hash leído
+     * @param newPassword hash nuevo
+     * @return 1 si se actualizó, 0 si la contraseña ya había cambiado
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+}
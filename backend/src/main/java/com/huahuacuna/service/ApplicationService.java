@@ -3,7 +3,9 @@ package com.huahuacuna.service;
 import com.huahuacuna.model.ApplicationRequest;
 import com.huahuacuna.model.ApplicationStatus;
 import com.huahuacuna.model.ApplicationType;
+import com.huahuacuna.model.dto.ApplicationPageDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +52,22 @@ public interface ApplicationService {
      */
     List<ApplicationRequest> getAllApplications();
 
+    /**
+     * Obtiene una página del listado de solicitudes con filtros combinables
+     * y paginación por cursor
+     *
+     * @param type   Tipo de solicitud (null para todos)
+     * @param status Estado (null para todos)
+     * @param from   Fecha mínima de creación, inclusive (null sin límite)
+     * @param to     Fecha máxima de creación, inclusive (null sin límite)
+     * @param cursor Cursor devuelto por la página anterior (null para la primera)
+     * @param limit  Tamaño de la página
+     * @return Página de resúmenes de solicitudes
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    ApplicationPageDTO listApplications(ApplicationType type, ApplicationStatus status,
+                                        LocalDate from, LocalDate to, String cursor, int limit);
+
     /**
      * Obtiene solicitudes filtradas por tipo
      *
@@ -112,13 +130,23 @@ public interface ApplicationService {
     void deleteApplication(Long id);
 
     /**
-     * Busca solicitudes por nombre del solicitante
+     * Busca solicitudes por nombre o email del solicitante usando el índice
+     * de texto completo (insensible a mayúsculas y tildes)
      *
      * @param name Nombre o parte del nombre
      * @return Lista de solicitudes que coinciden
      */
     List<ApplicationRequest> searchApplicationsByName(String name);
 
+    /**
+     * Busca solicitudes cuyo nombre comience con el prefijo dado
+     * (insensible a mayúsculas y tildes)
+     *
+     * @param prefix Prefijo del nombre
+     * @return Lista de solicitudes que coinciden (máximo 50)
+     */
+    List<ApplicationRequest> searchApplicationsByNamePrefix(String prefix);
+
     /**
      * Obtiene estadísticas generales de solicitudes
      *
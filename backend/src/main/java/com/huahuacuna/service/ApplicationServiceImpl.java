@@ -3,18 +3,32 @@ package com.huahuacuna.service;
 import com.huahuacuna.model.ApplicationRequest;
 import com.huahuacuna.model.ApplicationStatus;
 import com.huahuacuna.model.ApplicationType;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.dto.ApplicationPageDTO;
+import com.huahuacuna.model.dto.ApplicationSummaryDTO;
 import com.huahuacuna.repository.ApplicationRequestRepository;
 import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.util.KeysetCursor;
+import com.huahuacuna.util.TextNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementación del servicio de gestión de solicitudes de participación.
@@ -29,21 +43,49 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ApplicationServiceImpl.class);
 
+    /**
+     * Tamaño máximo de página del listado paginado
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ApplicationRequestRepository applicationRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final UserRepository userRepository;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Tiempo durante el cual se reutilizan las estadísticas calculadas
+     */
+    private final Duration statisticsTtl;
+
+    /**
+     * Última instantánea de estadísticas, válida solo para la versión con la que se calculó
+     */
+    private volatile CachedStatistics cachedStatistics;
+
+    /**
+     * Versión de los datos de solicitudes; aumenta tras el commit de cada cambio
+     */
+    private final AtomicLong statisticsVersion = new AtomicLong();
 
     @Autowired
     public ApplicationServiceImpl(
             ApplicationRequestRepository applicationRepository,
             NotificationService notificationService,
             EmailService emailService,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            SearchIndexService searchIndexService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.applications.statistics-ttl-seconds:30}") long statisticsTtlSeconds) {
         this.applicationRepository = applicationRepository;
         this.notificationService = notificationService;
         this.emailService = emailService;
         this.userRepository = userRepository;
+        this.searchIndexService = searchIndexService;
+        this.eventPublisher = eventPublisher;
+        this.statisticsTtl = Duration.ofSeconds(statisticsTtlSeconds);
     }
 
     /**
@@ -65,6 +107,7 @@ public class ApplicationServiceImpl implements ApplicationService {
 
         // Guardar la solicitud
         ApplicationRequest savedApplication = applicationRepository.save(applicationRequest);
+        invalidateStatistics(savedApplication.getId());
         logger.info("Solicitud de voluntariado creada con ID: {}", savedApplication.getId());
 
         // Crear notificación para administradores
@@ -98,6 +141,7 @@ public class ApplicationServiceImpl implements ApplicationService {
 
         // Guardar la solicitud
         ApplicationRequest savedApplication = applicationRepository.save(applicationRequest);
+        invalidateStatistics(savedApplication.getId());
         logger.info("Solicitud de apadrinamiento creada con ID: {}", savedApplication.getId());
 
         // Crear notificación para administradores
@@ -136,6 +180,35 @@ public class ApplicationServiceImpl implements ApplicationService {
         return applicationRepository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ApplicationPageDTO listApplications(ApplicationType type, ApplicationStatus status,
+                                               LocalDate from, LocalDate to, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.info("Listando solicitudes - tipo: {}, estado: {}, desde: {}, hasta: {}, límite: {}",
+                type, status, from, to, pageSize);
+
+        LocalDateTime fromDateTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toDateTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+
+        // Se pide una fila extra para saber si existe una página siguiente
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<ApplicationSummaryDTO> rows = applicationRepository.findSummaries(
+                type, status, fromDateTime, toDateTime,
+                position != null ? position.timestamp() : null,
+                position != null ? position.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ApplicationSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? nextCursor(items.get(items.size() - 1)) : null;
+
+        return new ApplicationPageDTO(new ArrayList<>(items), nextCursor, hasMore);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -185,6 +258,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         }
 
         ApplicationRequest updatedApplication = applicationRepository.save(application);
+        invalidateStatistics(updatedApplication.getId());
         logger.info("Solicitud {} actualizada exitosamente", id);
 
         // Enviar correo al solicitante informando del cambio de estado
@@ -231,6 +305,7 @@ public class ApplicationServiceImpl implements ApplicationService {
         }
 
         applicationRepository.delete(application);
+        invalidateStatistics(id);
         logger.info("Solicitud {} eliminada exitosamente", id);
     }
 
@@ -241,7 +316,28 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Transactional(readOnly = true)
     public List<ApplicationRequest> searchApplicationsByName(String name) {
         logger.info("Buscando solicitudes por nombre: {}", name);
-        return applicationRepository.searchByName(name);
+
+        // Resolver la búsqueda con el índice de texto completo (nombre y email)
+        List<Long> ids = searchIndexService.search(SearchEntityType.APPLICATION, null, name);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return applicationRepository.findByIdInOrderByCreatedAtDesc(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ApplicationRequest> searchApplicationsByNamePrefix(String prefix) {
+        logger.info("Buscando solicitudes por prefijo de nombre: {}", prefix);
+
+        String normalizedPrefix = TextNormalizer.normalize(prefix);
+        if (normalizedPrefix == null || normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        return applicationRepository.findTop50ByFullNameNormalizedStartingWithOrderByFullNameNormalizedAsc(normalizedPrefix);
     }
 
     /**
@@ -250,25 +346,53 @@ public class ApplicationServiceImpl implements ApplicationService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getApplicationStatistics() {
+        long version = statisticsVersion.get();
+        CachedStatistics cached = cachedStatistics;
+        if (cached != null && cached.version() == version && System.nanoTime() < cached.expiresAtNanos()) {
+            return new HashMap<>(cached.values());
+        }
+
         logger.info("Calculando estadísticas de solicitudes");
 
+        long total = 0;
+        long recent = 0;
+        Map<ApplicationStatus, Long> byStatus = new EnumMap<>(ApplicationStatus.class);
+        Map<ApplicationType, Long> byType = new EnumMap<>(ApplicationType.class);
+
+        // Una sola consulta agrupada por estado y tipo (más el conteo de los últimos 7 días)
+        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
+        for (Object[] row : applicationRepository.countGroupedByStatusAndType(lastWeek)) {
+            ApplicationStatus status = (ApplicationStatus) row[0];
+            ApplicationType type = (ApplicationType) row[1];
+            long count = ((Number) row[2]).longValue();
+            long recentCount = row[3] != null ? ((Number) row[3]).longValue() : 0;
+
+            total += count;
+            recent += recentCount;
+            byStatus.merge(status, count, Long::sum);
+            byType.merge(type, count, Long::sum);
+        }
+
         Map<String, Object> stats = new HashMap<>();
 
         // Totales generales
-        stats.put("total", applicationRepository.count());
-        stats.put("pendientes", applicationRepository.countByStatus(ApplicationStatus.PENDIENTE));
-        stats.put("enRevision", applicationRepository.countByStatus(ApplicationStatus.EN_REVISION));
-        stats.put("aprobadas", applicationRepository.countByStatus(ApplicationStatus.APROBADO));
-        stats.put("rechazadas", applicationRepository.countByStatus(ApplicationStatus.RECHAZADO));
+        stats.put("total", total);
+        stats.put("pendientes", byStatus.getOrDefault(ApplicationStatus.PENDIENTE, 0L));
+        stats.put("enRevision", byStatus.getOrDefault(ApplicationStatus.EN_REVISION, 0L));
+        stats.put("aprobadas", byStatus.getOrDefault(ApplicationStatus.APROBADO, 0L));
+        stats.put("rechazadas", byStatus.getOrDefault(ApplicationStatus.RECHAZADO, 0L));
 
         // Por tipo
-        stats.put("totalVoluntarios", applicationRepository.countByType(ApplicationType.VOLUNTARIO));
-        stats.put("totalPadrinos", applicationRepository.countByType(ApplicationType.PADRINO));
+        stats.put("totalVoluntarios", byType.getOrDefault(ApplicationType.VOLUNTARIO, 0L));
+        stats.put("totalPadrinos", byType.getOrDefault(ApplicationType.PADRINO, 0L));
 
         // Recientes (últimos 7 días)
-        LocalDateTime lastWeek = LocalDateTime.now().minusDays(7);
-        List<ApplicationRequest> recentApplications = applicationRepository.findByCreatedAtAfter(lastWeek);
-        stats.put("recientes", recentApplications.size());
+        stats.put("recientes", recent);
+
+        // Si una modificación se confirmó durante el cálculo, la versión ya no
+        // coincide y la instantánea no se usará
+        cachedStatistics = new CachedStatistics(Map.copyOf(stats), version,
+                System.nanoTime() + statisticsTtl.toNanos());
 
         logger.info("Estadísticas calculadas: {}", stats);
         return stats;
@@ -287,16 +411,45 @@ public class ApplicationServiceImpl implements ApplicationService {
 
     // ========== MÉTODOS PRIVADOS AUXILIARES ==========
 
+    /**
+     * Estadísticas calculadas junto con la versión de los datos y su instante de expiración
+     */
+    private record CachedStatistics(Map<String, Object> values, long version, long expiresAtNanos) {
+    }
+
+    /**
+     * Descarta la instantánea de estadísticas tras el commit de un cambio en las solicitudes.
+     * Invalidar antes del commit permitiría que un cálculo concurrente guardara datos previos.
+     *
+     * @param event evento de cambio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApplicationsChanged(ApplicationsChangedEvent event) {
+        statisticsVersion.incrementAndGet();
+        cachedStatistics = null;
+    }
+
+    /**
+     * Marca las estadísticas como obsoletas en cuanto se confirme la transacción actual
+     */
+    private void invalidateStatistics(Long applicationId) {
+        eventPublisher.publishEvent(new ApplicationsChangedEvent(applicationId));
+    }
+
+    /**
+     * Cursor que apunta a la última fila de una página
+     */
+    private String nextCursor(ApplicationSummaryDTO last) {
+        return KeysetCursor.encode(last.getCreatedAt(), last.getId());
+    }
+
     /**
      * Notifica a todos los administradores sobre una nueva solicitud
      */
     private void notifyAdminsAboutNewApplication(ApplicationRequest application) {
         try {
-            // Obtener todos los usuarios con rol ADMIN
-            List<Long> adminIds = userRepository.findAll().stream()
-                    .filter(user -> user.getRole().toString().equals("ADMIN"))
-                    .map(user -> user.getId())
-                    .toList();
+            // Obtener los IDs de los usuarios con rol ADMIN
+            List<Long> adminIds = userRepository.findIdsByRole(Role.ADMIN);
 
             String title = "Nueva solicitud de " +
                     (application.isVolunteer() ? "voluntariado" : "apadrinamiento");
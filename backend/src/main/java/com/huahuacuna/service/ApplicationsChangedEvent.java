@@ -0,0 +1,13 @@
+package com.huahuacuna.service;
+
+/**
+ * Evento publicado cuando se crea, modifica o elimina una solicitud, de modo
+ * que las estadísticas en caché dejan de ser válidas.
+ *
+ * @param applicationId ID de la solicitud modificada
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record ApplicationsChangedEvent(Long applicationId) {
+}
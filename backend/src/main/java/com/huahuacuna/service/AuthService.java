@@ -4,6 +4,8 @@ import com.huahuacuna.model.LoginRequest;
 import com.huahuacuna.model.LoginResponse;
 import com.huahuacuna.model.User;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interfaz del servicio de autenticación.
  * Define los contratos para operaciones de autenticación.
@@ -19,6 +21,15 @@ public interface AuthService {
      */
     LoginResponse login(LoginRequest loginRequest);
 
+    /**
+     * Autentica un usuario sin bloquear el hilo de la petición: la verificación
+     * de la contraseña se ejecuta en el pool de cifrado acotado.
+     *
+     * @param loginRequest credenciales del usuario (email y password)
+     * @return futuro con la respuesta con token y datos del usuario
+     */
+    CompletableFuture<LoginResponse> loginAsync(LoginRequest loginRequest);
+
     /**
      * Obtiene un usuario por su email.
      *
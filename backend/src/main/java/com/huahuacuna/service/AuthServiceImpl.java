@@ -6,9 +6,11 @@ import com.huahuacuna.model.User;
 import com.huahuacuna.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Implementación del servicio de autenticación.
  */
@@ -18,7 +20,7 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService; // ✅ Inyección del JwtService
 
     /**
@@ -30,34 +32,85 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
-        // Buscar usuario por email
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("Credenciales inválidas"));
-
-        // Verificar contraseña
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Credenciales inválidas");
+        try {
+            return loginAsync(loginRequest).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        // Verificar que la cuenta esté activa
-        if (!user.getIsActive()) {
-            throw new RuntimeException("Cuenta desactivada. Contacta al administrador.");
+    /**
+     * Autentica un usuario verificando la contraseña en el pool de cifrado,
+     * sin ocupar el hilo de la petición mientras se ejecuta BCrypt.
+     *
+     * @param loginRequest credenciales del usuario
+     * @return futuro con la respuesta; falla con RuntimeException si las
+     *         credenciales son inválidas o con ServiceBusyException si el pool está saturado
+     */
+    @Override
+    public CompletableFuture<LoginResponse> loginAsync(LoginRequest loginRequest) {
+        // Buscar usuario por email
+        User user = userRepository.findByEmail(loginRequest.getEmail()).orElse(null);
+        if (user == null) {
+            return CompletableFuture.failedFuture(new RuntimeException("Credenciales inválidas"));
         }
 
-        // ✅ Generar token JWT real usando JwtService
-        String token = jwtService.generateToken(user);
+        // Verificar contraseña en el pool de cifrado
+        return passwordHashingService.matchesAsync(loginRequest.getPassword(), user.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new RuntimeException("Credenciales inválidas");
+                    }
+
+                    // Verificar que la cuenta esté activa
+                    if (!user.getIsActive()) {
+                        throw new RuntimeException("Cuenta desactivada. Contacta al administrador.");
+                    }
+
+                    upgradePasswordHash(user, loginRequest.getPassword());
 
-        log.info("Usuario autenticado exitosamente: {}", user.getEmail());
+                    // ✅ Generar token JWT real usando JwtService
+                    String token = jwtService.generateToken(user);
 
-        // Construir respuesta
-        return LoginResponse.builder()
-                .token(token)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .role(user.getRole())
-                .tokenType("Bearer") // Explícito para claridad
-                .build();
+                    log.info("Usuario autenticado exitosamente: {}", user.getEmail());
+
+                    // Construir respuesta
+                    return LoginResponse.builder()
+                            .token(token)
+                            .userId(user.getId())
+                            .email(user.getEmail())
+                            .fullName(user.getFullName())
+                            .role(user.getRole())
+                            .tokenType("Bearer") // Explícito para claridad
+                            .build();
+                });
+    }
+
+    /**
+     * Si el hash guardado usa otro algoritmo o un coste menor, lo regenera en segundo
+     * plano con la contraseña recién verificada. No retrasa la respuesta y, si
+     * falla (pool saturado, contraseña cambiada entretanto), se reintentará en
+     * el siguiente login.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHashingService.needsRehash(oldHash)) {
+            return;
+        }
+        passwordHashingService.encodeAsync(rawPassword)
+                .thenAccept(newHash -> {
+                    if (userRepository.updatePasswordIfUnchanged(user.getId(), oldHash, newHash) > 0) {
+                        log.info("Hash de contraseña actualizado para el usuario {}", user.getId());
+                    }
+                })
+                .exceptionally(e -> {
+                    log.debug("No se pudo actualizar el hash de contraseña del usuario {}: {}",
+                            user.getId(), e.getMessage());
+                    return null;
+                });
     }
 
     /**
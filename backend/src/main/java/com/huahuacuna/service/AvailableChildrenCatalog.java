@@ -0,0 +1,119 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ChildStatus;
+import com.huahuacuna.model.dto.ChildResponseDTO;
+import com.huahuacuna.repository.ChildRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo en memoria de los niños disponibles para apadrinar.
+ * <p>
+ * Mantiene una instantánea inmutable de la lista de DTOs que se reemplaza de
+ * forma atómica. Cada cambio confirmado sobre un niño incrementa la versión del
+ * catálogo; la siguiente lectura reconstruye la instantánea (read-through) y las
+ * lecturas posteriores la reutilizan sin consultar la base de datos. La versión
+ * también produce el ETag, de modo que un cliente con la lista vigente recibe
+ * 304 sin que se consulte ni serialice nada. Las fotos se serializan con URLs
+ * firmadas, así que el ETag incluye además la ventana de firma vigente y
+ * cambia cuando esas URLs cambian.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class AvailableChildrenCatalog {
+
+    /**
+     * Identifica esta ejecución para que los ETags no se repitan tras un reinicio.
+     */
+    private final long bootId = System.currentTimeMillis();
+
+    private final AtomicLong version = new AtomicLong(1);
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private final ChildRepository childRepository;
+    private final ImageUrlSigner imageUrlSigner;
+
+    public AvailableChildrenCatalog(ChildRepository childRepository, ImageUrlSigner imageUrlSigner) {
+        this.childRepository = childRepository;
+        this.imageUrlSigner = imageUrlSigner;
+    }
+
+    /**
+     * Instantánea inmutable del catálogo.
+     *
+     * @param version  versión del catálogo con la que se construyó
+     * @param builtOn  fecha de construcción (la edad de cada niño depende de ella)
+     * @param children lista inmutable de niños disponibles
+     * @param window   ventana de firma de URLs con la que se calculó el ETag
+     * @param etag     ETag fuerte de esta versión
+     */
+    public record Snapshot(long version, LocalDate builtOn, List<ChildResponseDTO> children, long window,
+                           String etag) {
+    }
+
+    /**
+     * Devuelve la instantánea vigente, reconstruyéndola si hubo cambios.
+     *
+     * @return instantánea del catálogo
+     */
+    public Snapshot getSnapshot() {
+        long currentVersion = version.get();
+        LocalDate today = LocalDate.now();
+        long window = imageUrlSigner.currentWindow();
+
+        Snapshot current = snapshot.get();
+        if (current != null && current.version() == currentVersion && current.builtOn().equals(today)
+                && current.window() == window) {
+            return current;
+        }
+
+        List<ChildResponseDTO> children = childRepository.findByStatus(ChildStatus.AVAILABLE)
+                .stream()
+                .map(ChildResponseDTO::fromEntity)
+                .toList();
+        Snapshot rebuilt = new Snapshot(currentVersion, today, children, window,
+                etagFor(currentVersion, today, window));
+
+        // No reemplazar una instantánea construida con una versión más reciente
+        snapshot.accumulateAndGet(rebuilt, (previous, candidate) ->
+                previous == null || previous.version() <= candidate.version() ? candidate : previous);
+
+        log.debug("Catálogo de niños disponibles reconstruido (versión {}): {} niños",
+                currentVersion, children.size());
+        return rebuilt;
+    }
+
+    /**
+     * ETag de la versión vigente, calculado sin tocar la base de datos.
+     *
+     * @return ETag fuerte entre comillas
+     */
+    public String currentEtag() {
+        return etagFor(version.get(), LocalDate.now(), imageUrlSigner.currentWindow());
+    }
+
+    /**
+     * Invalida el catálogo tras el commit de un cambio sobre un niño.
+     *
+     * @param event evento de cambio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChildCatalogChanged(ChildCatalogChangedEvent event) {
+        long newVersion = version.incrementAndGet();
+        log.debug("Catálogo de niños invalidado por el niño {} (versión {})", event.childId(), newVersion);
+    }
+
+    private String etagFor(long catalogVersion, LocalDate date, long window) {
+        return "\"children-" + bootId + "-" + catalogVersion + "-" + date + "-" + window + "\"";
+    }
+}
@@ -0,0 +1,14 @@
+package com.huahuacuna.service;
+
+/**
+ * Evento publicado cuando cambia un niño de forma que puede alterar el
+ * catálogo de niños disponibles (alta, edición, inhabilitación, borrado
+ * o selección por un padrino).
+ *
+ * @param childId ID del niño modificado
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record ChildCatalogChangedEvent(Long childId) {
+}
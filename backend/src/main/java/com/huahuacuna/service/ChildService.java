@@ -3,8 +3,12 @@ package com.huahuacuna.service;
 import com.huahuacuna.model.Child;
 import com.huahuacuna.model.ChildStatus;
 import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.util.TextNormalizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,26 +20,61 @@ public class ChildService {
     @Autowired
     private ChildRepository childRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
     public List<Child> getAllChildren() {
         return childRepository.findAll();
     }
 
-    public List<Child> getAvailableChildren() {
-        return childRepository.findByStatus(ChildStatus.AVAILABLE);
+    /**
+     * Busca niños por prefijo de nombre y/o apellido (insensible a mayúsculas y tildes).
+     * Con una sola palabra compara contra nombre o apellido; con varias, la primera
+     * se compara contra el nombre y el resto contra el apellido.
+     *
+     * @param query Texto introducido por el usuario
+     * @return Hasta 50 niños que coinciden
+     */
+    public List<Child> searchChildrenByNamePrefix(String query) {
+        String normalized = TextNormalizer.normalize(query);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+
+        int space = normalized.indexOf(' ');
+        if (space < 0) {
+            return childRepository
+                    .findTop50ByFirstNameNormalizedStartingWithOrLastNameNormalizedStartingWithOrderByFirstNameNormalizedAsc(
+                            normalized, normalized);
+        }
+        return childRepository
+                .findTop50ByFirstNameNormalizedStartingWithAndLastNameNormalizedStartingWithOrderByFirstNameNormalizedAsc(
+                        normalized.substring(0, space), normalized.substring(space + 1));
     }
 
     public Optional<Child> getChildById(Long id) {
         return childRepository.findById(id);
     }
 
+    @Transactional
     public Child createChild(Child child) {
         // Asegurar que tenga un estado inicial
         if (child.getStatus() == null) {
             child.setStatus(ChildStatus.AVAILABLE);
         }
-        return childRepository.save(child);
+        child.setImageUrl(storeImage(child.getImageUrl()));
+        Child saved = childRepository.save(child);
+        eventPublisher.publishEvent(new ChildCatalogChangedEvent(saved.getId()));
+        return saved;
     }
 
+    @Transactional
     public Child updateChild(Long id, Child childDetails) {
         return childRepository.findById(id).map(child -> {
             child.setFirstName(childDetails.getFirstName());
@@ -43,11 +82,13 @@ public class ChildService {
             child.setBirthDate(childDetails.getBirthDate());
             child.setGender(childDetails.getGender());
             child.setStory(childDetails.getStory());
-            child.setImageUrl(childDetails.getImageUrl());
+            child.setImageUrl(storeImage(childDetails.getImageUrl()));
             child.setNeeds(childDetails.getNeeds());
             child.setStatus(childDetails.getStatus());
 
-            return childRepository.save(child);
+            Child saved = childRepository.save(child);
+            eventPublisher.publishEvent(new ChildCatalogChangedEvent(id));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Niño no encontrado con id " + id));
     }
 
@@ -67,11 +108,25 @@ public class ChildService {
             // Si tienes un sistema de autenticación, puedes agregar:
             // child.setInactivatedBy(SecurityContextHolder.getContext().getAuthentication().getName());
 
-            return childRepository.save(child);
+            Child saved = childRepository.save(child);
+            eventPublisher.publishEvent(new ChildCatalogChangedEvent(id));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Niño no encontrado con id " + id));
     }
 
     public void deleteChild(Long id) {
         childRepository.deleteById(id);
+        eventPublisher.publishEvent(new ChildCatalogChangedEvent(id));
+    }
+
+    /**
+     * Guarda la foto del niño en el ámbito privado del almacén de imágenes, tanto si
+     * llega embebida en base64 como si se subió antes como imagen pública.
+     */
+    private String storeImage(String imageUrl) {
+        // El cliente puede reenviar la URL firmada que recibió; se guarda la estable
+        return imageStorageService.copyToScope(
+                imageStorageService.externalizeIfInline(imageUrlSigner.strip(imageUrl), ImageScope.CHILDREN),
+                ImageScope.CHILDREN);
     }
 }
\ No newline at end of file
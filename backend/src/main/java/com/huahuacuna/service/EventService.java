@@ -2,47 +2,159 @@ package com.huahuacuna.service;
 
 import com.huahuacuna.model.Event;
 import com.huahuacuna.repository.EventRepository;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class EventService {
+    // Tamaño máximo de página del rango de eventos
+    public static final int MAX_RANGE_LIMIT = 200;
+
+    /**
+     * Página de eventos de un rango de fechas.
+     *
+     * @param events     eventos de la página, ordenados por fecha
+     * @param nextCursor cursor para la página siguiente (null si no hay más)
+     * @param hasMore    true si quedan eventos en el rango
+     */
+    public record EventRangePage(List<Event> events, String nextCursor, boolean hasMore) {
+    }
+
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PublicContentCatalog publicContentCatalog;
+
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
 
+    // Eventos publicados para el sitio público (servidos desde la caché en memoria)
+    public PublicContentCatalog.Snapshot<Event> getPublishedEvents() {
+        return publicContentCatalog.getPublishedEvents();
+    }
+
+    // ETag vigente de los eventos publicados
+    public String currentPublishedEventsEtag() {
+        return publicContentCatalog.currentEventsEtag();
+    }
+
+    /**
+     * Eventos publicados en el rango [from, to), paginados por cursor (fecha, id).
+     * Si no se indica {@code from} se usa el momento actual (próximos eventos) y
+     * si no se indica {@code to}, un año después de {@code from}.
+     *
+     * @throws IllegalArgumentException si el rango, el límite o el cursor no son válidos
+     */
+    public EventRangePage getPublishedEventsInRange(LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_RANGE_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_RANGE_LIMIT);
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusYears(1);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la inicial");
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Event> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findPublishedInRange(start, end, page);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = eventRepository.findPublishedInRangeAfter(start, end, position.timestamp(), position.id(), page);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<Event> events = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? nextCursor(events.get(events.size() - 1)) : null;
+        return new EventRangePage(new ArrayList<>(events), nextCursor, hasMore);
+    }
+
+    /**
+     * Número de eventos publicados por día de un mes, solo para los días con eventos.
+     *
+     * @param month mes del calendario
+     * @return mapa ordenado día del mes → número de eventos
+     */
+    public Map<Integer, Long> getPublishedEventCountsByDay(YearMonth month) {
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        Map<Integer, Long> counts = new TreeMap<>();
+        for (Object[] row : eventRepository.countPublishedByDay(start, end)) {
+            counts.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     public Optional<Event> getEventById(Long id) {
         return eventRepository.findById(id);
     }
 
+    @Transactional
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        event.setImageUrl(imageStorageService.externalizeIfInline(event.getImageUrl(), ImageScope.PUBLIC));
+        Event saved = eventRepository.save(event);
+        publishChange(saved.getId());
+        return saved;
     }
 
+    @Transactional
     public Event updateEvent(Long id, Event details) {
         return eventRepository.findById(id).map(event -> {
             event.setTitle(details.getTitle());
             event.setDescription(details.getDescription());
             event.setDate(details.getDate());
             event.setLocation(details.getLocation());
-            event.setImageUrl(details.getImageUrl());
-            return eventRepository.save(event);
+            event.setImageUrl(imageStorageService.externalizeIfInline(details.getImageUrl(), ImageScope.PUBLIC));
+            Event saved = eventRepository.save(event);
+            publishChange(id);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Evento no encontrado"));
     }
 
     public void deleteEvent(Long id) {
         eventRepository.deleteById(id);
+        publishChange(id);
     }
     public Event publishEvent(Long id) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evento no encontrado"));
         event.setPublished(true);
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        publishChange(id);
+        return saved;
+    }
+
+    // Cursor que apunta al último evento de una página
+    private String nextCursor(Event last) {
+        return KeysetCursor.encode(last.getDate(), last.getId());
+    }
+
+    // Invalida la caché del contenido público
+    private void publishChange(Long id) {
+        eventPublisher.publishEvent(new PublicContentChangedEvent(PublicContentChangedEvent.Section.EVENTS, id));
     }
 
 }
\ No newline at end of file
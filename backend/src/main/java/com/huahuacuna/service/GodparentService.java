@@ -70,6 +70,38 @@ public interface GodparentService {
      */
     List<LogEntryDTO> getLogEntries(Long sponsorshipId, Long godparentId);
 
+    /**
+     * Busca entradas de bitácora por título o contenido.
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param godparentId ID del padrino (para validación de pertenencia)
+     * @param query Texto a buscar (insensible a mayúsculas y tildes)
+     * @return Lista de entradas coincidentes, de la más reciente a la más antigua
+     */
+    List<LogEntryDTO> searchLogEntries(Long sponsorshipId, Long godparentId, String query);
+
+    /**
+     * Obtiene una página de la línea de tiempo de la bitácora (título, tipo, fecha
+     * y un extracto del contenido), de la más reciente a la más antigua.
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param godparentId ID del padrino (para validación de pertenencia)
+     * @param cursor Cursor devuelto en la página anterior (null para la primera)
+     * @param limit Tamaño de la página (máximo 100)
+     * @return Página de entradas con nextCursor y hasMore
+     */
+    LogEntryPageDTO getLogTimeline(Long sponsorshipId, Long godparentId, String cursor, int limit);
+
+    /**
+     * Obtiene una entrada de bitácora con su contenido completo.
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param entryId ID de la entrada
+     * @param godparentId ID del padrino (para validación de pertenencia)
+     * @return Entrada completa
+     */
+    LogEntryDTO getLogEntry(Long sponsorshipId, Long entryId, Long godparentId);
+
     /**
      * ❌ REMOVIDO: addLogEntry para padrinos
      * El padrino NO debe poder agregar entradas a la bitácora.
@@ -100,6 +132,34 @@ public interface GodparentService {
      */
     List<LogEntryDTO> getLogEntriesAdmin(Long sponsorshipId);
 
+    /**
+     * Busca entradas de bitácora para admin (sin validación de usuario).
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param query Texto a buscar (insensible a mayúsculas y tildes)
+     * @return Lista de entradas coincidentes
+     */
+    List<LogEntryDTO> searchLogEntriesAdmin(Long sponsorshipId, String query);
+
+    /**
+     * Obtiene una página de la línea de tiempo de la bitácora para admin.
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param cursor Cursor devuelto en la página anterior (null para la primera)
+     * @param limit Tamaño de la página (máximo 100)
+     * @return Página de entradas con nextCursor y hasMore
+     */
+    LogEntryPageDTO getLogTimelineAdmin(Long sponsorshipId, String cursor, int limit);
+
+    /**
+     * Obtiene una entrada de bitácora completa para admin.
+     *
+     * @param sponsorshipId ID del apadrinamiento
+     * @param entryId ID de la entrada
+     * @return Entrada completa
+     */
+    LogEntryDTO getLogEntryAdmin(Long sponsorshipId, Long entryId);
+
     // ========== CHAT ==========
 
     /**
@@ -120,11 +180,14 @@ public interface GodparentService {
     ChatMessageDTO sendMessage(Long sponsorshipId, Long godparentId, String content);
 
     /**
-     * Marca los mensajes del admin como leídos.
+     * Marca los mensajes del admin como leídos hasta el último mensaje visto,
+     * avanzando la marca de lectura del padrino. Si la marca no se mueve
+     * no se escribe nada.
      * @param sponsorshipId ID del apadrinamiento
      * @param godparentId ID del padrino
+     * @param lastSeenMessageId ID del último mensaje que el padrino recibió
      */
-    void markMessagesAsRead(Long sponsorshipId, Long godparentId);
+    void markMessagesAsRead(Long sponsorshipId, Long godparentId, Long lastSeenMessageId);
 
     /**
      * Cuenta mensajes no leídos para el padrino.
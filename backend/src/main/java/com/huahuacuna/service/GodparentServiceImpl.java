@@ -3,11 +3,18 @@ package com.huahuacuna.service;
 import com.huahuacuna.model.*;
 import com.huahuacuna.model.dto.*;
 import com.huahuacuna.repository.*;
+import com.huahuacuna.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,12 +35,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class GodparentServiceImpl implements GodparentService {
 
+    /**
+     * Tamaño máximo de página de la línea de tiempo de la bitácora.
+     */
+    private static final int MAX_TIMELINE_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final ChildRepository childRepository;
     private final SponsorshipRepository sponsorshipRepository;
     private final LogEntryRepository logEntryRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final NotificationService notificationService;
+    private final SearchIndexService searchIndexService;
+    private final AvailableChildrenCatalog availableChildrenCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounterService unreadCounterService;
 
     // ========== PERFIL DEL PADRINO ==========
 
@@ -73,10 +89,7 @@ public class GodparentServiceImpl implements GodparentService {
     public List<ChildResponseDTO> getAvailableChildren() {
         log.info("Obteniendo lista de niños disponibles");
 
-        return childRepository.findByStatus(ChildStatus.AVAILABLE)
-                .stream()
-                .map(ChildResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return availableChildrenCatalog.getSnapshot().children();
     }
 
     // ========== APADRINAMIENTO ==========
@@ -85,8 +98,10 @@ public class GodparentServiceImpl implements GodparentService {
     public SponsorshipResponseDTO selectChild(Long godparentId, Long childId) {
         log.info("Padrino {} seleccionando niño {}", godparentId, childId);
 
-        // Validar que el padrino existe y es válido
-        User godparent = userRepository.findById(godparentId)
+        // Validar que el padrino existe y es válido. Su fila queda bloqueada hasta el commit,
+        // de modo que dos selecciones simultáneas del mismo padrino se ejecutan en serie
+        // sin afectar a las de otros padrinos.
+        User godparent = userRepository.findByIdForUpdate(godparentId)
                 .orElseThrow(() -> new RuntimeException("Padrino no encontrado"));
 
         if (godparent.getRole() != Role.PADRINO) {
@@ -98,19 +113,25 @@ public class GodparentServiceImpl implements GodparentService {
             throw new RuntimeException("Ya tienes un apadrinamiento activo");
         }
 
-        // Validar que el niño existe y está disponible
-        Child child = childRepository.findById(childId)
-                .orElseThrow(() -> new RuntimeException("Niño no encontrado"));
+        // Reservar el niño de forma atómica: AVAILABLE -> SPONSORED solo si nadie lo tomó antes
+        int reserved = childRepository.compareAndSetStatus(
+                childId, ChildStatus.AVAILABLE, ChildStatus.SPONSORED, LocalDateTime.now());
 
-        if (child.getStatus() != ChildStatus.AVAILABLE) {
+        if (reserved == 0) {
+            if (!childRepository.existsById(childId)) {
+                throw new RuntimeException("Niño no encontrado");
+            }
             throw new RuntimeException("El niño no está disponible para apadrinamiento");
         }
 
-        // Validar que el niño no esté ya apadrinado
+        // Validar que el niño no esté ya apadrinado (revierte la reserva si lo está)
         if (sponsorshipRepository.existsByChildIdAndStatus(childId, SponsorshipStatus.ACTIVE)) {
             throw new RuntimeException("El niño ya tiene un padrino activo");
         }
 
+        Child child = childRepository.findById(childId)
+                .orElseThrow(() -> new RuntimeException("Niño no encontrado"));
+
         // Crear el apadrinamiento
         Sponsorship sponsorship = Sponsorship.builder()
                 .godparent(godparent)
@@ -120,9 +141,8 @@ public class GodparentServiceImpl implements GodparentService {
 
         sponsorship = sponsorshipRepository.save(sponsorship);
 
-        // Actualizar estado del niño
-        child.setStatus(ChildStatus.SPONSORED);
-        childRepository.save(child);
+        // El niño deja de estar disponible: invalidar el catálogo tras el commit
+        eventPublisher.publishEvent(new ChildCatalogChangedEvent(childId));
 
         // Crear notificación para todos los administradores
         try {
@@ -177,6 +197,39 @@ public class GodparentServiceImpl implements GodparentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LogEntryDTO> searchLogEntries(Long sponsorshipId, Long godparentId, String query) {
+        log.info("Buscando en bitácora del apadrinamiento: {} para padrino: {}", sponsorshipId, godparentId);
+
+        // Validar que el apadrinamiento pertenece al padrino
+        validateSponsorshipOwnership(sponsorshipId, godparentId);
+
+        return findLogEntriesByText(sponsorshipId, query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogEntryPageDTO getLogTimeline(Long sponsorshipId, Long godparentId, String cursor, int limit) {
+        log.info("Obteniendo línea de tiempo de la bitácora: {} para padrino: {}", sponsorshipId, godparentId);
+
+        // Validar que el apadrinamiento pertenece al padrino
+        validateSponsorshipOwnership(sponsorshipId, godparentId);
+
+        return findLogTimeline(sponsorshipId, cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogEntryDTO getLogEntry(Long sponsorshipId, Long entryId, Long godparentId) {
+        log.info("Obteniendo entrada {} de la bitácora: {} para padrino: {}", entryId, sponsorshipId, godparentId);
+
+        // Validar que el apadrinamiento pertenece al padrino
+        validateSponsorshipOwnership(sponsorshipId, godparentId);
+
+        return findLogEntry(sponsorshipId, entryId);
+    }
+
     /**
      * ❌ REMOVIDO: addLogEntry para padrinos
      *
@@ -235,6 +288,37 @@ public class GodparentServiceImpl implements GodparentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LogEntryDTO> searchLogEntriesAdmin(Long sponsorshipId, String query) {
+        log.info("ADMIN buscando en bitácora del apadrinamiento: {}", sponsorshipId);
+
+        if (!sponsorshipRepository.existsById(sponsorshipId)) {
+            throw new RuntimeException("Apadrinamiento no encontrado");
+        }
+
+        return findLogEntriesByText(sponsorshipId, query);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogEntryPageDTO getLogTimelineAdmin(Long sponsorshipId, String cursor, int limit) {
+        log.info("ADMIN obteniendo línea de tiempo de la bitácora: {}", sponsorshipId);
+
+        if (!sponsorshipRepository.existsById(sponsorshipId)) {
+            throw new RuntimeException("Apadrinamiento no encontrado");
+        }
+
+        return findLogTimeline(sponsorshipId, cursor, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LogEntryDTO getLogEntryAdmin(Long sponsorshipId, Long entryId) {
+        log.info("ADMIN obteniendo entrada {} de la bitácora: {}", entryId, sponsorshipId);
+        return findLogEntry(sponsorshipId, entryId);
+    }
+
     // ========== CHAT ==========
 
     @Override
@@ -256,10 +340,10 @@ public class GodparentServiceImpl implements GodparentService {
         log.info("Enviando mensaje en apadrinamiento: {}", sponsorshipId);
 
         // Validar que el apadrinamiento pertenece al padrino
-        Sponsorship sponsorship = validateSponsorshipOwnership(sponsorshipId, godparentId);
+        validateSponsorshipOwnership(sponsorshipId, godparentId);
 
         ChatMessage message = ChatMessage.builder()
-                .sponsorship(sponsorship)
+                .sponsorship(sponsorshipRepository.getReferenceById(sponsorshipId))
                 .content(content)
                 .sentBy(ChatMessage.SentBy.GODPARENT)
                 .senderUserId(godparentId)
@@ -267,14 +351,17 @@ public class GodparentServiceImpl implements GodparentService {
                 .build();
 
         message = chatMessageRepository.save(message);
+        unreadCounterService.add(UnreadCounterService.adminChatKey(), 1);
         log.info("Mensaje enviado: {}", message.getId());
 
         // Notificar a todos los administradores
         try {
+            String godparentName = userRepository.findById(godparentId)
+                    .map(User::getFullName)
+                    .orElse("un padrino");
             notificationService.createNotificationForAllAdmins(
                     "Nuevo mensaje de padrino",
-                    String.format("Tienes un nuevo mensaje de %s",
-                            sponsorship.getGodparent().getFullName()),
+                    String.format("Tienes un nuevo mensaje de %s", godparentName),
                     "INFO",
                     sponsorshipId
             );
@@ -286,54 +373,111 @@ public class GodparentServiceImpl implements GodparentService {
     }
 
     @Override
-    public void markMessagesAsRead(Long sponsorshipId, Long godparentId) {
-        log.info("Marcando mensajes como leídos en apadrinamiento: {}", sponsorshipId);
-
-        // Validar que el apadrinamiento pertenece al padrino
-        validateSponsorshipOwnership(sponsorshipId, godparentId);
+    public void markMessagesAsRead(Long sponsorshipId, Long godparentId, Long lastSeenMessageId) {
+        if (lastSeenMessageId == null) {
+            return;
+        }
 
-        // Marcar como leídos los mensajes del admin
-        chatMessageRepository.markAsReadBySentBy(sponsorshipId, ChatMessage.SentBy.ADMIN);
+        // Solo se escribe la marca (si avanza); los mensajes no se tocan. La consulta
+        // valida además la pertenencia: si no es suyo no hay marca que mover
+        Long current;
+        while ((current = sponsorshipRepository.findGodparentReadWatermark(sponsorshipId, godparentId).orElse(null)) != null
+                && current < lastSeenMessageId) {
+            if (sponsorshipRepository.advanceGodparentReadWatermark(
+                    sponsorshipId, godparentId, current, lastSeenMessageId) > 0) {
+                log.info("Marcando mensajes como leídos en apadrinamiento: {} hasta {}", sponsorshipId, lastSeenMessageId);
+                long read = chatMessageRepository.countBySentByInRange(
+                        sponsorshipId, ChatMessage.SentBy.ADMIN, current, lastSeenMessageId);
+                unreadCounterService.add(UnreadCounterService.godparentChatKey(godparentId), -read);
+                return;
+            }
+            // Otra petición movió la marca entre la lectura y la actualización: se reintenta
+        }
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long countUnreadMessages(Long godparentId) {
-        return chatMessageRepository.countUnreadForGodparent(godparentId);
+        return unreadCounterService.get(UnreadCounterService.godparentChatKey(godparentId));
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
     /**
      * Valida que el apadrinamiento pertenece al padrino especificado.
+     * El caso habitual se resuelve con una única consulta de existencia; solo si
+     * falla se consulta de nuevo para distinguir "no existe" de "no es suyo".
      * @param sponsorshipId ID del apadrinamiento
      * @param godparentId ID del padrino
-     * @return El apadrinamiento si es válido
      * @throws RuntimeException si no es válido
      */
-    private Sponsorship validateSponsorshipOwnership(Long sponsorshipId, Long godparentId) {
-        Sponsorship sponsorship = sponsorshipRepository.findById(sponsorshipId)
-                .orElseThrow(() -> new RuntimeException("Apadrinamiento no encontrado"));
+    private void validateSponsorshipOwnership(Long sponsorshipId, Long godparentId) {
+        if (sponsorshipRepository.existsByIdAndGodparentId(sponsorshipId, godparentId)) {
+            return;
+        }
+        if (!sponsorshipRepository.existsById(sponsorshipId)) {
+            throw new RuntimeException("Apadrinamiento no encontrado");
+        }
+        throw new RuntimeException("No tienes permiso para acceder a este apadrinamiento");
+    }
+
+    /**
+     * Obtiene una página de la línea de tiempo con paginación por cursor (keyset).
+     * Se pide una fila extra para saber si existe una página siguiente.
+     */
+    private LogEntryPageDTO findLogTimeline(Long sponsorshipId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_TIMELINE_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<LogEntrySummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = logEntryRepository.findTimeline(sponsorshipId, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = logEntryRepository.findTimelineBefore(sponsorshipId, position.timestamp(), position.id(), pageable);
+        }
 
-        if (!sponsorship.getGodparent().getId().equals(godparentId)) {
-            throw new RuntimeException("No tienes permiso para acceder a este apadrinamiento");
+        boolean hasMore = rows.size() > pageSize;
+        List<LogEntrySummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            LogEntrySummaryDTO last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
         }
 
-        return sponsorship;
+        return new LogEntryPageDTO(new ArrayList<>(items), nextCursor, hasMore);
     }
+
+    /**
+     * Obtiene una entrada completa verificando que pertenece al apadrinamiento.
+     */
+    private LogEntryDTO findLogEntry(Long sponsorshipId, Long entryId) {
+        return logEntryRepository.findByIdAndSponsorshipId(entryId, sponsorshipId)
+                .map(LogEntryDTO::fromEntity)
+                .orElseThrow(() -> new RuntimeException("Entrada de bitácora no encontrada"));
+    }
+
+    /**
+     * Resuelve una búsqueda de texto en la bitácora usando el índice de texto completo.
+     */
+    private List<LogEntryDTO> findLogEntriesByText(Long sponsorshipId, String query) {
+        List<Long> ids = searchIndexService.search(SearchEntityType.LOG_ENTRY, sponsorshipId, query);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return logEntryRepository.findByIdInAndSponsorshipIdOrderByCreatedAtDesc(ids, sponsorshipId)
+                .stream()
+                .map(LogEntryDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<SponsorshipSummaryDTO> getAllActiveSponsorshipsForAdmin() {
         log.info("ADMIN obteniendo todos los apadrinamientos activos");
 
-        List<Sponsorship> sponsorships = sponsorshipRepository.findByStatus(SponsorshipStatus.ACTIVE);
-
-        return sponsorships.stream()
-                .map(sponsorship -> {
-                    // Contar entradas de bitácora para cada apadrinamiento
-                    Long entriesCount = logEntryRepository.countBySponsorshipId(sponsorship.getId());
-                    return SponsorshipSummaryDTO.fromEntity(sponsorship, entriesCount);
-                })
-                .collect(Collectors.toList());
+        // Padrino, niño y conteo de entradas se obtienen en una sola consulta
+        return sponsorshipRepository.findSummariesByStatus(SponsorshipStatus.ACTIVE);
     }
 }
\ No newline at end of file
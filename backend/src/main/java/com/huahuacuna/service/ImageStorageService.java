@@ -0,0 +1,434 @@
+package com.huahuacuna.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Almacén local de imágenes direccionado por contenido.
+ * <p>
+ * Cada imagen se guarda en disco con su hash SHA-256 como nombre
+ * ({@code <dir>/ab/abcdef...<ext>}), de modo que la misma imagen subida varias
+ * veces ocupa un solo archivo y su URL nunca cambia de contenido. Esto permite
+ * servirla con caché de larga duración y guardar en la base de datos solo la URL
+ * en lugar de la imagen en base64.
+ * </p>
+ * <p>
+ * Las fotos de los niños se guardan en un ámbito separado
+ * ({@link ImageScope#CHILDREN}) que solo pueden leer ADMIN y PADRINO; el resto
+ * de imágenes (eventos y proyectos) son públicas. Si la imagen se guarda dentro
+ * de una transacción y esta se revierte, el archivo recién escrito se borra.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ImageStorageService {
+
+    /**
+     * Prefijo de las URLs de imágenes públicas.
+     */
+    public static final String URL_PREFIX = "/api/images/";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern DATA_URL_PATTERN = Pattern.compile("^data:image/[a-zA-Z0-9.+-]+;base64,");
+
+    private final Path storageDir;
+    private final long maxBytes;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Archivos escritos por transacciones que aún no terminaron. Si otra petición
+     * guarda la misma imagen mientras tanto, el archivo se conserva aunque la
+     * transacción que lo escribió se revierta.
+     */
+    private final ConcurrentHashMap<Path, Boolean> pendingFiles = new ConcurrentHashMap<>();
+
+    public ImageStorageService(
+            @Value("${app.images.storage-dir:./data/images}") String storageDir,
+            @Value("${app.images.max-bytes:10485760}") long maxBytes,
+            ApplicationEventPublisher eventPublisher) {
+        this.storageDir = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Ámbito de visibilidad de una imagen.
+     */
+    public enum ImageScope {
+        /**
+         * Imágenes de eventos y proyectos: lectura pública y caché compartida.
+         */
+        PUBLIC("", URL_PREFIX),
+        /**
+         * Fotos de los niños: solo ADMIN y PADRINO, sin caché compartida.
+         */
+        CHILDREN("children", URL_PREFIX + "children/");
+
+        private final String directory;
+        private final String urlPrefix;
+
+        ImageScope(String directory, String urlPrefix) {
+            this.directory = directory;
+            this.urlPrefix = urlPrefix;
+        }
+
+        public String getUrlPrefix() {
+            return urlPrefix;
+        }
+
+        /**
+         * Convierte el parámetro {@code scope} en un ámbito.
+         *
+         * @throws IllegalArgumentException si el ámbito no existe
+         */
+        public static ImageScope fromKey(String key) {
+            try {
+                return valueOf(key.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Ámbito de imagen no válido: " + key
+                        + " (se admite public o children)");
+            }
+        }
+    }
+
+    /**
+     * Formatos de imagen aceptados, identificados por su firma binaria.
+     */
+    public enum ImageFormat {
+        JPEG("image/jpeg", ".jpg"),
+        PNG("image/png", ".png"),
+        GIF("image/gif", ".gif"),
+        WEBP("image/webp", ".webp");
+
+        private final String contentType;
+        private final String extension;
+
+        ImageFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Imagen almacenada.
+     *
+     * @param scope  ámbito de la imagen
+     * @param hash   hash SHA-256 en hexadecimal
+     * @param format formato detectado
+     * @param url    URL de la imagen
+     */
+    public record StoredImage(ImageScope scope, String hash, ImageFormat format, String url) {
+    }
+
+    /**
+     * Imagen localizada en disco.
+     *
+     * @param path   ruta del archivo
+     * @param format formato de la imagen
+     */
+    public record ImageFile(Path path, ImageFormat format) {
+    }
+
+    /**
+     * Evento publicado cuando se guarda en disco una imagen nueva.
+     *
+     * @param scope  ámbito de la imagen
+     * @param hash   hash SHA-256 en hexadecimal
+     * @param format formato de la imagen
+     */
+    public record ImageStoredEvent(ImageScope scope, String hash, ImageFormat format) {
+    }
+
+    /**
+     * Guarda una imagen pública en el almacén.
+     *
+     * @param bytes contenido de la imagen
+     * @return la imagen almacenada
+     * @throws IllegalArgumentException si el contenido no es una imagen admitida o excede el tamaño máximo
+     */
+    public StoredImage store(byte[] bytes) {
+        return store(bytes, ImageScope.PUBLIC);
+    }
+
+    /**
+     * Guarda una imagen en el ámbito dado. Si ya existía una imagen idéntica
+     * se reutiliza el archivo existente. Dentro de una transacción, el archivo
+     * recién escrito se borra si la transacción se revierte.
+     *
+     * @param bytes contenido de la imagen
+     * @param scope ámbito de la imagen
+     * @return la imagen almacenada
+     * @throws IllegalArgumentException si el contenido no es una imagen admitida o excede el tamaño máximo
+     */
+    public StoredImage store(byte[] bytes, ImageScope scope) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("La imagen está vacía");
+        }
+        if (bytes.length > maxBytes) {
+            throw new IllegalArgumentException("La imagen excede el tamaño máximo permitido");
+        }
+
+        ImageFormat format = detectFormat(bytes);
+        if (format == null) {
+            throw new IllegalArgumentException("Formato de imagen no soportado (se admite JPEG, PNG, GIF o WebP)");
+        }
+
+        String hash = sha256(bytes);
+        Path target = pathFor(scope, hash, format);
+
+        try {
+            if (!Files.exists(target)) {
+                writeAtomically(target, bytes);
+                log.info("Imagen almacenada: {} ({} bytes)", hash, bytes.length);
+                deleteOnRollback(scope, hash, target);
+                eventPublisher.publishEvent(new ImageStoredEvent(scope, hash, format));
+            } else {
+                // Otra petición reutiliza el archivo: ya no debe borrarse si su transacción se revierte
+                pendingFiles.computeIfPresent(target, (path, keep) -> Boolean.TRUE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo guardar la imagen", e);
+        }
+
+        return new StoredImage(scope, hash, format, scope.getUrlPrefix() + hash);
+    }
+
+    /**
+     * Localiza en disco la imagen con el hash dado.
+     *
+     * @param scope ámbito de la imagen
+     * @param hash  hash SHA-256 en hexadecimal
+     * @return la imagen si existe
+     */
+    public Optional<ImageFile> find(ImageScope scope, String hash) {
+        if (!isValidHash(hash)) {
+            return Optional.empty();
+        }
+        for (ImageFormat format : ImageFormat.values()) {
+            Path path = pathFor(scope, hash, format);
+            if (Files.isRegularFile(path)) {
+                return Optional.of(new ImageFile(path, format));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indica si el valor es una imagen embebida como data URL en base64.
+     *
+     * @param imageUrl valor del campo imageUrl
+     * @return true si es un data URL de imagen
+     */
+    public boolean isInlineImage(String imageUrl) {
+        return imageUrl != null && DATA_URL_PATTERN.matcher(imageUrl).find();
+    }
+
+    /**
+     * Si el valor es un data URL en base64, guarda la imagen en el ámbito dado y
+     * devuelve su URL; en otro caso devuelve el valor sin cambios.
+     *
+     * @param imageUrl valor recibido en el campo imageUrl
+     * @param scope    ámbito de la imagen
+     * @return URL de la imagen
+     * @throws IllegalArgumentException si el data URL no contiene una imagen válida
+     */
+    public String externalizeIfInline(String imageUrl, ImageScope scope) {
+        if (!isInlineImage(imageUrl)) {
+            return imageUrl;
+        }
+        String base64 = imageUrl.substring(imageUrl.indexOf(',') + 1).trim();
+        try {
+            return store(Base64.getMimeDecoder().decode(base64), scope).url();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("La imagen embebida no es válida: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Si el valor es la URL de una imagen pública del almacén, copia la imagen al
+     * ámbito dado y devuelve la nueva URL; en otro caso devuelve el valor sin cambios.
+     * La copia pública se conserva porque puede estar en uso por otro contenido.
+     *
+     * @param imageUrl URL de la imagen
+     * @param scope    ámbito de destino
+     * @return URL de la imagen en el ámbito de destino
+     */
+    public String copyToScope(String imageUrl, ImageScope scope) {
+        if (scope == ImageScope.PUBLIC || imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+            return imageUrl;
+        }
+        String hash = imageUrl.substring(URL_PREFIX.length());
+        Optional<ImageFile> publicImage = find(ImageScope.PUBLIC, hash);
+        if (publicImage.isEmpty()) {
+            return imageUrl;
+        }
+        try {
+            return store(Files.readAllBytes(publicImage.get().path()), scope).url();
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudo copiar la imagen " + hash, e);
+        }
+    }
+
+    /**
+     * Ruta del archivo para un hash y formato dados.
+     * Se reparte en subdirectorios por los dos primeros caracteres del hash.
+     */
+    Path pathFor(ImageScope scope, String hash, ImageFormat format) {
+        return directoryFor(scope, hash).resolve(hash + format.getExtension());
+    }
+
+    /**
+     * Ruta de una variante redimensionada (miniatura) de la imagen.
+     * Se guarda junto al original como {@code <hash>_<variante>.jpg}.
+     */
+    Path variantPathFor(ImageScope scope, String hash, String variant) {
+        return directoryFor(scope, hash).resolve(hash + "_" + variant + ImageFormat.JPEG.getExtension());
+    }
+
+    /**
+     * Borra una imagen y sus variantes.
+     *
+     * @param scope ámbito de la imagen
+     * @param hash  hash SHA-256 en hexadecimal
+     */
+    public void delete(ImageScope scope, String hash) {
+        if (!isValidHash(hash)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directoryFor(scope, hash), hash + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("No se pudo borrar la imagen {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private Path directoryFor(ImageScope scope, String hash) {
+        Path root = scope.directory.isEmpty() ? storageDir : storageDir.resolve(scope.directory);
+        return root.resolve(hash.substring(0, 2));
+    }
+
+    /**
+     * Si hay una transacción activa, borra el archivo recién escrito (y sus
+     * miniaturas) cuando se revierte, salvo que otra petición lo haya reutilizado.
+     */
+    private void deleteOnRollback(ImageScope scope, String hash, Path target) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        pendingFiles.put(target, Boolean.FALSE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Boolean reused = pendingFiles.remove(target);
+                if (status == STATUS_ROLLED_BACK && !Boolean.TRUE.equals(reused)) {
+                    delete(scope, hash);
+                    log.info("Imagen {} borrada al revertirse la transacción que la guardó", hash);
+                }
+            }
+        });
+    }
+
+    /**
+     * Escribe un archivo en un temporal del mismo directorio y lo mueve a su
+     * destino, de modo que nunca se sirve un archivo a medio escribir.
+     */
+    void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Indica si el hash tiene el formato esperado (SHA-256 en hexadecimal).
+     */
+    boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    /**
+     * Detecta el formato de una imagen por su firma binaria.
+     *
+     * @param bytes contenido
+     * @return el formato, o null si no se reconoce
+     */
+    public static ImageFormat detectFormat(byte[] bytes) {
+        if (bytes.length >= 3
+                && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+            return ImageFormat.JPEG;
+        }
+        if (bytes.length >= 8
+                && (bytes[0] & 0xFF) == 0x89 && bytes[1] == 'P' && bytes[2] == 'N' && bytes[3] == 'G') {
+            return ImageFormat.PNG;
+        }
+        if (bytes.length >= 6 && bytes[0] == 'G' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == '8') {
+            return ImageFormat.GIF;
+        }
+        if (bytes.length >= 12
+                && bytes[0] == 'R' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == 'F'
+                && bytes[8] == 'W' && bytes[9] == 'E' && bytes[10] == 'B' && bytes[11] == 'P') {
+            return ImageFormat.WEBP;
+        }
+        return null;
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // Otra petición guardó la misma imagen al mismo tiempo
+            }
+        } catch (FileAlreadyExistsException ignored) {
+            // Otra petición guardó la misma imagen al mismo tiempo
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
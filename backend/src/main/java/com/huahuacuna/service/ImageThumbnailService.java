@@ -0,0 +1,473 @@
+package com.huahuacuna.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera miniaturas JPEG de las imágenes del almacén.
+ * <p>
+ * Al guardarse una imagen nueva se encolan sus variantes en un pool de hilos
+ * acotado. Si la cola está llena la tarea se descarta (nunca se decodifica en el
+ * hilo de la petición) y se sirve el original hasta que una petición posterior
+ * la encole de nuevo. Las variantes se guardan junto al original y, si se piden
+ * antes de estar listas, se generan bajo demanda. Las imágenes que no se pueden
+ * decodificar se recuerdan para no reintentarlas, y la orientación EXIF de los
+ * JPEG se aplica antes de redimensionar. Las dimensiones se leen de la cabecera
+ * antes de decodificar: una imagen que supera {@code app.images.max-pixels}
+ * (unos pocos KB pueden declarar cientos de megapíxeles) se trata como no
+ * decodificable y se sirve en original.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ImageThumbnailService {
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final long ON_DEMAND_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Tamaños de miniatura disponibles (ancho máximo en píxeles).
+     */
+    public enum ThumbnailSize {
+        SMALL(160),
+        MEDIUM(480),
+        LARGE(960);
+
+        private final int maxWidth;
+
+        ThumbnailSize(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int getMaxWidth() {
+            return maxWidth;
+        }
+
+        /**
+         * Nombre usado en la URL ({@code ?size=}) y en el archivo.
+         */
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Convierte el parámetro {@code size} en un tamaño.
+         *
+         * @throws IllegalArgumentException si el tamaño no existe
+         */
+        public static ThumbnailSize fromKey(String key) {
+            try {
+                return valueOf(key.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tamaño de imagen no válido: " + key
+                        + " (se admite small, medium o large)");
+            }
+        }
+    }
+
+    /**
+     * Variante resuelta de una imagen.
+     *
+     * @param file      archivo a servir
+     * @param permanent true si el archivo es definitivo para ese tamaño y puede cachearse
+     *                  indefinidamente; false si es el original servido provisionalmente
+     */
+    public record ImageVariant(ImageStorageService.ImageFile file, boolean permanent) {
+    }
+
+    private final ImageStorageService imageStorageService;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Imágenes ({@code <ámbito>/<hash>}) que ImageIO no pudo decodificar: se
+     * sirven siempre en original y no se vuelven a intentar.
+     */
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    public ImageThumbnailService(
+            ImageStorageService imageStorageService,
+            @Value("${app.images.thumbnail-threads:2}") int threads,
+            @Value("${app.images.thumbnail-queue-capacity:100}") int queueCapacity,
+            @Value("${app.images.max-pixels:40000000}") long maxPixels) {
+        this.imageStorageService = imageStorageService;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Con la cola llena se rechaza la tarea: el hilo de la petición nunca
+                // decodifica ni redimensiona, y se sirve el original mientras tanto
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Encola la generación de miniaturas cuando se guarda una imagen nueva
+     * (tras el commit, para no generarlas de imágenes que se revierten).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageStored(ImageStorageService.ImageStoredEvent event) {
+        if (isResizable(event.format())) {
+            generate(event.scope(), event.hash(), event.format());
+        }
+    }
+
+    /**
+     * Resuelve la variante de una imagen para un tamaño dado.
+     * <p>
+     * Si la miniatura aún no existe se genera en el pool y se espera un tiempo
+     * acotado; si no termina a tiempo o el pool está saturado se sirve el original
+     * de forma provisional. Los formatos que ImageIO no puede leer (WebP) y las
+     * imágenes que no se pudieron decodificar se sirven siempre en original.
+     * </p>
+     *
+     * @param scope ámbito de la imagen
+     * @param hash  hash SHA-256 de la imagen
+     * @param size  tamaño solicitado
+     * @return la variante, o vacío si la imagen no existe
+     */
+    public Optional<ImageVariant> findVariant(ImageStorageService.ImageScope scope, String hash, ThumbnailSize size) {
+        Optional<ImageStorageService.ImageFile> original = imageStorageService.find(scope, hash);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ImageStorageService.ImageFile originalFile = original.get();
+        if (!isResizable(originalFile.format()) || undecodable.contains(keyOf(scope, hash))) {
+            return Optional.of(new ImageVariant(originalFile, true));
+        }
+
+        Path variantPath = imageStorageService.variantPathFor(scope, hash, size.key());
+        if (!Files.isRegularFile(variantPath)) {
+            try {
+                generate(scope, hash, originalFile.format()).get(ON_DEMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Miniatura {} de {} no disponible: {}", size.key(), hash, e.getMessage());
+            }
+        }
+
+        if (Files.isRegularFile(variantPath)) {
+            return Optional.of(new ImageVariant(
+                    new ImageStorageService.ImageFile(variantPath, ImageStorageService.ImageFormat.JPEG), true));
+        }
+        // Si la imagen resultó no decodificable, el original es definitivo para este tamaño
+        return Optional.of(new ImageVariant(originalFile, undecodable.contains(keyOf(scope, hash))));
+    }
+
+    /**
+     * Genera todas las variantes de una imagen con una sola decodificación.
+     * Las peticiones concurrentes sobre la misma imagen comparten la tarea. Si
+     * el pool está saturado la tarea termina con error de inmediato.
+     */
+    private CompletableFuture<Void> generate(ImageStorageService.ImageScope scope, String hash,
+                                             ImageStorageService.ImageFormat format) {
+        String key = keyOf(scope, hash);
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    writeThumbnails(scope, hash, format);
+                    task.complete(null);
+                } catch (RuntimeException e) {
+                    task.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, task);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Cola llena o aplicación apagándose: se reintentará en una petición posterior
+            inFlight.remove(key, task);
+            task.completeExceptionally(e);
+        }
+        return task;
+    }
+
+    private static String keyOf(ImageStorageService.ImageScope scope, String hash) {
+        return scope + "/" + hash;
+    }
+
+    private void writeThumbnails(ImageStorageService.ImageScope scope, String hash,
+                                 ImageStorageService.ImageFormat format) {
+        Path originalPath = imageStorageService.pathFor(scope, hash, format);
+        BufferedImage source;
+        try {
+            source = decodeWithinBudget(originalPath, hash);
+        } catch (IOException e) {
+            source = null;
+        }
+        if (source == null) {
+            // Decodificar de nuevo fallaría igual: se recuerda y se sirve el original
+            undecodable.add(keyOf(scope, hash));
+            log.warn("No se pudo decodificar la imagen {} para generar miniaturas", hash);
+            return;
+        }
+
+        try {
+            if (format == ImageStorageService.ImageFormat.JPEG) {
+                source = applyOrientation(source, readExifOrientation(originalPath));
+            }
+
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                Path target = imageStorageService.variantPathFor(scope, hash, size.key());
+                if (!Files.exists(target)) {
+                    imageStorageService.writeAtomically(target, encodeJpeg(resize(source, size.getMaxWidth())));
+                }
+            }
+            log.debug("Miniaturas generadas para {}", hash);
+        } catch (IOException e) {
+            throw new RuntimeException("No se pudieron generar las miniaturas de " + hash, e);
+        }
+    }
+
+    /**
+     * Decodifica la imagen solo si sus dimensiones, leídas de la cabecera, no
+     * superan el presupuesto de píxeles.
+     *
+     * @return la imagen, o null si no hay lector para ella o es demasiado grande
+     */
+    private BufferedImage decodeWithinBudget(Path path, String hash) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Imagen {} rechazada para miniaturas: {}x{} supera {} píxeles",
+                            hash, reader.getWidth(0), reader.getHeight(0), maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Lee la etiqueta de orientación EXIF (0x0112) del segmento APP1 de un JPEG.
+     *
+     * @return la orientación (1 a 8), o 1 si no hay datos EXIF válidos
+     */
+    static int readExifOrientation(Path jpeg) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(jpeg)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Los segmentos terminan en el inicio de los datos de imagen (SOS)
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                if (marker == 0xFFE1) {
+                    int orientation = orientationFromExif(segment);
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Busca la orientación en el IFD0 de un segmento APP1 ({@code Exif\0\0} + cabecera TIFF).
+     *
+     * @return la orientación, o 0 si el segmento no la contiene
+     */
+    private static int orientationFromExif(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        int tiff = 6;
+        boolean littleEndian = segment[tiff] == 'I' && segment[tiff + 1] == 'I';
+        if (!littleEndian && !(segment[tiff] == 'M' && segment[tiff + 1] == 'M')) {
+            return 0;
+        }
+        int ifd = tiff + readInt(segment, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > segment.length) {
+            return 0;
+        }
+        int entries = readShort(segment, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > segment.length) {
+                return 0;
+            }
+            if (readShort(segment, entry, littleEndian) == 0x0112) {
+                int orientation = readShort(segment, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] bytes, int offset, boolean littleEndian) {
+        int first = bytes[offset] & 0xFF;
+        int second = bytes[offset + 1] & 0xFF;
+        return littleEndian ? (second << 8) | first : (first << 8) | second;
+    }
+
+    private static int readInt(byte[] bytes, int offset, boolean littleEndian) {
+        int high = readShort(bytes, offset + (littleEndian ? 2 : 0), littleEndian);
+        int low = readShort(bytes, offset + (littleEndian ? 0 : 2), littleEndian);
+        return (high << 16) | low;
+    }
+
+    /**
+     * Gira o refleja la imagen según su orientación EXIF para que las
+     * miniaturas (que no conservan los metadatos) se vean derechas.
+     */
+    static BufferedImage applyOrientation(BufferedImage source, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return source;
+        }
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // espejo horizontal
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180°
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // espejo vertical
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpuesta
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 90° horario
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversa
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);  // 90° antihorario
+        };
+        boolean swapsAxes = orientation >= 5;
+        BufferedImage target = new BufferedImage(swapsAxes ? h : w, swapsAxes ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Reduce la imagen al ancho máximo manteniendo la proporción. Las reducciones
+     * grandes se hacen en pasos de la mitad para conservar la calidad. Las imágenes
+     * más pequeñas que el tamaño solo se convierten a RGB (sin ampliar).
+     */
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (targetWidth / (double) source.getWidth())));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            int height = width == targetWidth
+                    ? targetHeight
+                    : Math.max(1, (int) Math.round(source.getHeight() * (width / (double) source.getWidth())));
+            current = draw(current, width, height);
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Fondo blanco para las imágenes con transparencia (JPEG no tiene canal alfa)
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            params.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static boolean isResizable(ImageStorageService.ImageFormat format) {
+        return format != ImageStorageService.ImageFormat.WEBP;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
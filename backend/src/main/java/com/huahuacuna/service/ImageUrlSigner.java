@@ -0,0 +1,113 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Firma las URLs de las fotos de niños para que puedan usarse en {@code <img src>}.
+ * <p>
+ * El navegador no envía la cabecera {@code Authorization} al cargar una
+ * imagen, así que las URLs del ámbito de niños que se entregan a ADMIN y
+ * PADRINO llevan {@code expires} (segundos epoch) y {@code sig} (HMAC-SHA256
+ * del hash y la expiración). {@code ImageController} sirve la foto si la
+ * firma es válida y no ha expirado. La expiración se redondea a ventanas de
+ * {@code app.images.signed-url-ttl-seconds}: dentro de una ventana la URL no
+ * cambia (la caché del navegador y los ETags siguen sirviendo) y siempre
+ * queda al menos una ventana completa de validez.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+public class ImageUrlSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public ImageUrlSigner(@Value("${app.images.url-signing-secret:${jwt.secret}}") String secret,
+                          @Value("${app.images.signed-url-ttl-seconds:3600}") long ttlSeconds) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = Math.max(60, ttlSeconds);
+    }
+
+    /**
+     * Firma una URL del ámbito de niños; el resto de URLs se devuelven igual.
+     *
+     * @param url URL guardada (sin parámetros de firma)
+     * @return URL con {@code expires} y {@code sig}
+     */
+    public String sign(String url) {
+        String prefix = ImageScope.CHILDREN.getUrlPrefix();
+        if (url == null || !url.startsWith(prefix)) {
+            return url;
+        }
+        String path = strip(url);
+        long expires = (currentWindow() + 2) * ttlSeconds;
+        return path + "?expires=" + expires + "&sig=" + signature(path.substring(prefix.length()), expires);
+    }
+
+    /**
+     * Comprueba la firma de una foto de niño.
+     *
+     * @param hash    hash de la imagen
+     * @param expires expiración firmada (segundos epoch)
+     * @param sig     firma recibida
+     * @return true si la firma corresponde y no ha expirado
+     */
+    public boolean verify(String hash, Long expires, String sig) {
+        if (hash == null || expires == null || sig == null || expires < nowSeconds()) {
+            return false;
+        }
+        return MessageDigest.isEqual(signature(hash, expires).getBytes(StandardCharsets.US_ASCII),
+                sig.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Quita los parámetros de firma (o cualquier query) de una URL de foto de niño,
+     * para guardar siempre la URL estable.
+     *
+     * @param url URL recibida
+     * @return URL sin query
+     */
+    public String strip(String url) {
+        if (url == null || !url.startsWith(ImageScope.CHILDREN.getUrlPrefix())) {
+            return url;
+        }
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    /**
+     * Ventana de firma vigente; cambia cada {@code ttlSeconds}. Las respuestas
+     * con URLs firmadas la incluyen en su ETag.
+     */
+    public long currentWindow() {
+        return nowSeconds() / ttlSeconds;
+    }
+
+    private String signature(String hash, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] digest = mac.doFinal((hash + ":" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 no disponible", e);
+        }
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -2,6 +2,7 @@ package com.huahuacuna.service;
 
 import com.huahuacuna.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Servicio para generación y validación de tokens JWT.
@@ -28,6 +30,12 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    /**
+     * Clave y parser se construyen una sola vez; ambos son inmutables y seguros entre hilos.
+     */
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     /**
      * Genera un token JWT para un usuario autenticado.
      *
@@ -86,6 +94,22 @@ public class JwtService {
         return getClaims(token).get("role", String.class);
     }
 
+    /**
+     * Valida el token y devuelve sus claims con un único parseo.
+     * Es el método que usa el filtro JWT en cada petición.
+     *
+     * @param token el token JWT
+     * @return los claims si el token es válido y no ha expirado, o vacío en otro caso
+     */
+    public Optional<Claims> parseToken(String token) {
+        try {
+            return Optional.of(getClaims(token));
+        } catch (Exception e) {
+            log.error("Error validando token JWT: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /**
      * Valida si un token JWT es válido.
      *
@@ -109,11 +133,12 @@ public class JwtService {
      * @return los claims del token
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parser().verifyWith(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -122,6 +147,11 @@ public class JwtService {
      * @return la SecretKey para firmar tokens
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.huahuacuna.service;
 
 import com.huahuacuna.model.Notification;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -77,6 +78,28 @@ public interface NotificationService {
      */
     Notification markAsRead(Long id);
 
+    /**
+     * Marca como leída una notificación del usuario con una sola actualización
+     * condicional. Solo afecta a las notificaciones propias del usuario.
+     *
+     * @param userId ID del usuario propietario
+     * @param id     ID de la notificación
+     * @return Notificación actualizada
+     * @throws RuntimeException si la notificación no existe o es de otro usuario
+     */
+    Notification markAsReadForUser(Long userId, Long id);
+
+    /**
+     * Marca como leídas varias notificaciones de un usuario con una sola
+     * actualización. Solo afecta a las notificaciones propias del usuario.
+     *
+     * @param userId ID del usuario propietario
+     * @param ids    IDs de las notificaciones
+     * @return número de notificaciones que pasaron a leídas
+     * @throws IllegalArgumentException si la lista está vacía o supera el máximo permitido
+     */
+    int markAsRead(Long userId, Collection<Long> ids);
+
     /**
      * Marca todas las notificaciones de un usuario como leídas
      *
@@ -92,8 +115,8 @@ public interface NotificationService {
     void deleteNotification(Long id);
 
     /**
-     * Elimina notificaciones antiguas leídas (más de 30 días)
-     * Este método puede ejecutarse periódicamente con un scheduler
+     * Elimina notificaciones antiguas leídas (por defecto, más de 30 días)
+     * Se ejecuta periódicamente dentro de la limpieza de {@link RetentionService}
      */
     void cleanOldNotifications();
 
@@ -2,18 +2,21 @@ package com.huahuacuna.service;
 
 import com.huahuacuna.model.Notification;
 import com.huahuacuna.model.Role;  // ✅ IMPORTAR
-import com.huahuacuna.model.User;
 import com.huahuacuna.repository.NotificationRepository;
 import com.huahuacuna.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementación del servicio de gestión de notificaciones.
@@ -28,14 +31,25 @@ public class NotificationServiceImpl implements NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
 
+    /**
+     * Máximo de notificaciones que se marcan como leídas en una sola actualización.
+     */
+    public static final int MAX_BULK_READ_IDS = 500;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadCounterService unreadCounterService;
+    private final RetentionService retentionService;
 
     @Autowired
     public NotificationServiceImpl(NotificationRepository notificationRepository,
-                                   UserRepository userRepository) {
+                                   UserRepository userRepository,
+                                   UnreadCounterService unreadCounterService,
+                                   RetentionService retentionService) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.unreadCounterService = unreadCounterService;
+        this.retentionService = retentionService;
     }
 
     /**
@@ -47,6 +61,7 @@ public class NotificationServiceImpl implements NotificationService {
 
         Notification notification = new Notification(title, message, type, userId, applicationId);
         Notification savedNotification = notificationRepository.save(notification);
+        unreadCounterService.add(UnreadCounterService.notificationKey(userId), 1);
 
         logger.info("Notificación creada con ID: {}", savedNotification.getId());
         return savedNotification;
@@ -63,22 +78,22 @@ public class NotificationServiceImpl implements NotificationService {
 
         try {
             // ✅ Obtener todos los usuarios con rol ADMIN (usando el enum)
-            List<User> admins = userRepository.findByRole(Role.ADMIN);
+            List<Long> adminIds = userRepository.findIdsByRole(Role.ADMIN);
 
-            if (admins.isEmpty()) {
+            if (adminIds.isEmpty()) {
                 logger.warn("No se encontraron administradores para enviar la notificación");
                 return createdNotifications;
             }
 
-            logger.info("Se encontraron {} administradores", admins.size());
+            logger.info("Se encontraron {} administradores", adminIds.size());
 
             // Crear una notificación para cada administrador
-            for (User admin : admins) {
-                Notification notification = new Notification(title, message, type, admin.getId(), relatedEntityId);
+            for (Long adminId : adminIds) {
+                Notification notification = new Notification(title, message, type, adminId, relatedEntityId);
                 Notification savedNotification = notificationRepository.save(notification);
                 createdNotifications.add(savedNotification);
-                logger.debug("Notificación creada para admin {} ({}): ID {}",
-                        admin.getFullName(), admin.getEmail(), savedNotification.getId());
+                unreadCounterService.add(UnreadCounterService.notificationKey(adminId), 1);
+                logger.debug("Notificación creada para admin {}: ID {}", adminId, savedNotification.getId());
             }
 
             logger.info("✅ Se crearon {} notificaciones para administradores", createdNotifications.size());
@@ -128,10 +143,10 @@ public class NotificationServiceImpl implements NotificationService {
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long countUnreadNotifications(Long userId) {
-        logger.info("Contando notificaciones no leídas del usuario: {}", userId);
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        logger.debug("Contando notificaciones no leídas del usuario: {}", userId);
+        return unreadCounterService.get(UnreadCounterService.notificationKey(userId));
     }
 
     /**
@@ -141,22 +156,63 @@ public class NotificationServiceImpl implements NotificationService {
     public Notification markAsRead(Long id) {
         logger.info("Marcando notificación {} como leída", id);
 
-        Notification notification = getNotificationById(id);
-        notification.markAsRead();
-
-        Notification updatedNotification = notificationRepository.save(notification);
+        // Actualización condicional: solo la petición que la cambia de no leída a leída descuenta
+        int marked = notificationRepository.markAsReadById(id);
+        Notification updatedNotification = getNotificationById(id);
+        unreadCounterService.add(UnreadCounterService.notificationKey(updatedNotification.getUserId()), -marked);
         logger.info("Notificación {} marcada como leída", id);
 
         return updatedNotification;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Notification markAsReadForUser(Long userId, Long id) {
+        logger.info("Marcando notificación {} del usuario {} como leída", id, userId);
+
+        int marked = notificationRepository.markAsReadByIdAndUserId(id, userId);
+        Notification updatedNotification = notificationRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new RuntimeException("Notificación no encontrada con ID: " + id));
+        unreadCounterService.add(UnreadCounterService.notificationKey(userId), -marked);
+
+        return updatedNotification;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int markAsRead(Long userId, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una notificación");
+        }
+        Set<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una notificación");
+        }
+        if (distinctIds.size() > MAX_BULK_READ_IDS) {
+            throw new IllegalArgumentException("Se pueden marcar como máximo " + MAX_BULK_READ_IDS
+                    + " notificaciones por petición");
+        }
+
+        int marked = notificationRepository.markAsReadByIdsAndUserId(distinctIds, userId);
+        unreadCounterService.add(UnreadCounterService.notificationKey(userId), -marked);
+        logger.debug("{} notificaciones del usuario {} marcadas como leídas", marked, userId);
+        return marked;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void markAllAsRead(Long userId) {
         logger.info("Marcando todas las notificaciones como leídas para el usuario: {}", userId);
-        notificationRepository.markAllAsReadByUserId(userId);
+        int marked = notificationRepository.markAllAsReadByUserId(userId);
+        unreadCounterService.add(UnreadCounterService.notificationKey(userId), -marked);
         logger.info("Todas las notificaciones del usuario {} marcadas como leídas", userId);
     }
 
@@ -169,6 +225,9 @@ public class NotificationServiceImpl implements NotificationService {
 
         Notification notification = getNotificationById(id);
         notificationRepository.delete(notification);
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounterService.add(UnreadCounterService.notificationKey(notification.getUserId()), -1);
+        }
 
         logger.info("Notificación {} eliminada", id);
     }
@@ -177,17 +236,12 @@ public class NotificationServiceImpl implements NotificationService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanOldNotifications() {
         logger.info("Limpiando notificaciones antiguas leídas");
-        try {
-            // Calcular fecha límite (30 días atrás)
-            LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-
-            notificationRepository.deleteOldReadNotifications(cutoffDate);
-            logger.info("Notificaciones antiguas eliminadas exitosamente");
-        } catch (Exception e) {
-            logger.error("Error al limpiar notificaciones antiguas", e);
-        }
+        // Se eliminan por lotes, cada uno en su propia transacción
+        int deleted = retentionService.purgeReadNotifications();
+        logger.info("{} notificaciones antiguas eliminadas", deleted);
     }
 
     /**
@@ -0,0 +1,140 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.OneTimeToken;
+import com.huahuacuna.model.TokenPurpose;
+import com.huahuacuna.repository.OneTimeTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Emisión y validación de tokens de un solo uso (recuperación de contraseña,
+ * verificación de email...).
+ * <p>
+ * Los tokens son 32 bytes aleatorios codificados en Base64 URL; en la base de
+ * datos solo se guarda su hash SHA-256, así que una filtración de la tabla no
+ * permite usarlos. Cada comprobación es una búsqueda por el índice único del
+ * hash; los intentos de fuerza bruta los frena el límite de peticiones por IP
+ * de los endpoints de tokens ({@code RateLimitFilter}).
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class OneTimeTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final OneTimeTokenRepository tokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public OneTimeTokenService(OneTimeTokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    /**
+     * Emite un token nuevo para un usuario, invalidando los anteriores del
+     * mismo propósito.
+     *
+     * @param userId  ID del usuario
+     * @param purpose propósito del token
+     * @param ttl     tiempo de validez
+     * @return el token en claro (solo se entrega al usuario, nunca se guarda)
+     */
+    @Transactional
+    public String issue(Long userId, TokenPurpose purpose, Duration ttl) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        tokenRepository.deleteByUserIdAndPurpose(userId, purpose);
+        tokenRepository.save(OneTimeToken.builder()
+                .tokenHash(hash(token))
+                .userId(userId)
+                .purpose(purpose)
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+
+        log.debug("Token {} emitido para el usuario {}", purpose, userId);
+        return token;
+    }
+
+    /**
+     * Comprueba un token sin consumirlo.
+     *
+     * @param token   token en claro
+     * @param purpose propósito esperado
+     * @return ID del usuario si el token es válido, vacío en otro caso
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> peek(String token, TokenPurpose purpose) {
+        return findUsable(token, purpose).map(OneTimeToken::getUserId);
+    }
+
+    /**
+     * Consume un token: solo la primera llamada con un token válido lo obtiene.
+     *
+     * @param token   token en claro
+     * @param purpose propósito esperado
+     * @return ID del usuario si el token era válido y se consumió, vacío en otro caso
+     */
+    @Transactional
+    public Optional<Long> consume(String token, TokenPurpose purpose) {
+        Optional<OneTimeToken> usable = findUsable(token, purpose);
+        if (usable.isEmpty()) {
+            return Optional.empty();
+        }
+
+        OneTimeToken oneTimeToken = usable.get();
+        if (tokenRepository.consume(oneTimeToken.getId(), LocalDateTime.now()) == 0) {
+            // Otra petición lo usó entre la lectura y la actualización
+            return Optional.empty();
+        }
+        return Optional.of(oneTimeToken.getUserId());
+    }
+
+    /**
+     * Elimina los tokens expirados.
+     *
+     * @return número de tokens eliminados
+     */
+    public int purgeExpired() {
+        int deleted = tokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Tokens de un solo uso expirados eliminados: {}", deleted);
+        }
+        return deleted;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Optional<OneTimeToken> findUsable(String token, TokenPurpose purpose) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        return tokenRepository.findByTokenHashAndPurpose(hash(token.trim()), purpose)
+                .filter(t -> t.isUsableAt(LocalDateTime.now()));
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
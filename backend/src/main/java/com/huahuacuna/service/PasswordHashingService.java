@@ -0,0 +1,154 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Cifrado y verificación de contraseñas en un pool de hilos dedicado y acotado.
+ * <p>
+ * BCrypt tarda del orden de 100 ms por operación. Ejecutarlo en los hilos de
+ * Tomcat hace que una ráfaga de logins ocupe todos los hilos y deje sin
+ * servicio al resto de endpoints. Aquí se ejecuta en un pool con tantos hilos
+ * como núcleos y una cola limitada; si la cola está llena la operación se
+ * rechaza al instante con {@link ServiceBusyException} (503) en lugar de
+ * esperar. La profundidad de la cola, los rechazos y la latencia se publican
+ * como métricas ({@code password.hashing.*}).
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer matchesTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:50}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.matchesTimer = meterRegistry.timer("password.hashing.duration", "operation", "matches");
+        this.encodeTimer = meterRegistry.timer("password.hashing.duration", "operation", "encode");
+        this.rejectedCounter = meterRegistry.counter("password.hashing.rejected");
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica una contraseña sin ocupar el hilo que la solicita.
+     *
+     * @param rawPassword     contraseña en claro
+     * @param encodedPassword contraseña cifrada guardada
+     * @return futuro con el resultado; falla con {@link ServiceBusyException} si el pool está saturado
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Cifra una contraseña sin ocupar el hilo que la solicita.
+     *
+     * @param rawPassword contraseña en claro
+     * @return futuro con la contraseña cifrada; falla con {@link ServiceBusyException} si el pool está saturado
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Cifra una contraseña esperando el resultado. Se usa en operaciones poco
+     * frecuentes (alta de usuarios, cambio de contraseña) que siguen respetando
+     * el límite de concurrencia del pool.
+     *
+     * @param rawPassword contraseña en claro
+     * @return contraseña cifrada
+     * @throws ServiceBusyException si el pool está saturado
+     */
+    public String encode(String rawPassword) {
+        try {
+            return encodeAsync(rawPassword).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Indica si un hash guardado debe regenerarse: no lleva prefijo de
+     * algoritmo, usa otro algoritmo o su coste es menor que el configurado.
+     * Un coste mayor se conserva: lo calculó otro equipo más rápido y
+     * rebajarlo debilitaría el hash.
+     *
+     * @param encodedPassword contraseña cifrada guardada
+     * @return true si conviene volver a cifrarla
+     */
+    public boolean needsRehash(String encodedPassword) {
+        try {
+            return passwordEncoder.upgradeEncoding(encodedPassword);
+        } catch (IllegalArgumentException e) {
+            // Hash con prefijo {bcrypt} pero mal formado
+            return true;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(operation), executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.debug("Pool de cifrado de contraseñas saturado ({} en cola), petición rechazada",
+                    executor.getQueue().size());
+            return CompletableFuture.failedFuture(new ServiceBusyException(
+                    "El servidor está ocupado. Intenta de nuevo en unos segundos.", RETRY_AFTER_SECONDS));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
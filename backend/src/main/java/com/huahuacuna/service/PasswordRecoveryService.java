@@ -1,34 +1,48 @@
 package com.huahuacuna.service;
 
+import com.huahuacuna.model.TokenPurpose;
 import com.huahuacuna.model.User;
 import com.huahuacuna.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.Duration;
 
 /**
  * Servicio para gestionar la recuperación de contraseña.
  * Genera tokens, valida y permite resetear contraseñas.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PasswordRecoveryService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final EmailService emailService;
+    private final OneTimeTokenService oneTimeTokenService;
+    private final TransactionTemplate transactionTemplate;
 
     // Token válido por 1 hora
-    private static final int TOKEN_EXPIRATION_HOURS = 1;
+    private static final Duration TOKEN_TTL = Duration.ofHours(1);
+
+    public PasswordRecoveryService(UserRepository userRepository,
+                                   PasswordHashingService passwordHashingService,
+                                   EmailService emailService,
+                                   OneTimeTokenService oneTimeTokenService,
+                                   PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.emailService = emailService;
+        this.oneTimeTokenService = oneTimeTokenService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Solicita un reset de contraseña generando un token y enviando email.
+     * Emitir un token nuevo invalida los anteriores del usuario.
      *
      * @param email Email del usuario
      * @return Token generado (para desarrollo, en producción solo se envía por email)
@@ -44,16 +58,9 @@ public class PasswordRecoveryService {
             throw new RuntimeException("La cuenta está desactivada");
         }
 
-        // Generar token único
-        String token = UUID.randomUUID().toString();
-        LocalDateTime expirationTime = LocalDateTime.now().plusHours(TOKEN_EXPIRATION_HOURS);
-
-        // Guardar token en la base de datos
-        user.setResetPasswordToken(token);
-        user.setResetPasswordExpires(expirationTime);
-        userRepository.save(user);
-
-        log.info("Token de reset generado para: {} (expira: {})", email, expirationTime);
+        // Generar token único (en la base de datos solo se guarda su hash)
+        String token = oneTimeTokenService.issue(user.getId(), TokenPurpose.PASSWORD_RESET, TOKEN_TTL);
+        log.info("Token de reset generado para: {} (válido {} min)", email, TOKEN_TTL.toMinutes());
 
         // Enviar email con el token
         try {
@@ -77,16 +84,7 @@ public class PasswordRecoveryService {
      * @return true si es válido, false si no
      */
     public boolean isTokenValid(String token) {
-        return userRepository.findByResetPasswordToken(token)
-                .map(user -> {
-                    if (user.getResetPasswordExpires() == null) {
-                        return false;
-                    }
-                    boolean isValid = LocalDateTime.now().isBefore(user.getResetPasswordExpires());
-                    log.debug("Token {} es válido: {}", token, isValid);
-                    return isValid;
-                })
-                .orElse(false);
+        return oneTimeTokenService.peek(token, TokenPurpose.PASSWORD_RESET).isPresent();
     }
 
     /**
@@ -96,53 +94,41 @@ public class PasswordRecoveryService {
      * @return Email del usuario
      */
     public String getEmailByToken(String token) {
-        return userRepository.findByResetPasswordToken(token)
+        return oneTimeTokenService.peek(token, TokenPurpose.PASSWORD_RESET)
+                .flatMap(userRepository::findById)
                 .map(User::getEmail)
                 .orElseThrow(() -> new RuntimeException("Token no encontrado"));
     }
 
     /**
-     * Resetea la contraseña usando un token válido.
+     * Resetea la contraseña usando un token válido. El token se consume en la
+     * misma transacción que guarda la contraseña, por lo que no puede usarse
+     * dos veces. La contraseña se cifra antes de abrir esa transacción (tras
+     * comprobar el token, para no cifrar con tokens inválidos), así no se
+     * retiene una conexión mientras se espera al pool de cifrado.
      *
      * @param token Token de reset
      * @param newPassword Nueva contraseña
      */
-    @Transactional
     public void resetPassword(String token, String newPassword) {
-        log.info("Intentando resetear contraseña con token: {}", token);
+        log.info("Intentando resetear contraseña con token");
 
-        User user = userRepository.findByResetPasswordToken(token)
-                .orElseThrow(() -> new RuntimeException("Token inválido o expirado"));
-
-        // Verificar que el token no haya expirado
-        if (user.getResetPasswordExpires() == null ||
-                LocalDateTime.now().isAfter(user.getResetPasswordExpires())) {
-            throw new RuntimeException("El token ha expirado");
+        if (oneTimeTokenService.peek(token, TokenPurpose.PASSWORD_RESET).isEmpty()) {
+            throw new RuntimeException("Token inválido o expirado");
         }
+        String encodedPassword = passwordHashingService.encode(newPassword);
 
-        // Actualizar contraseña y limpiar token
-        user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetPasswordToken(null);
-        user.setResetPasswordExpires(null);
-        userRepository.save(user);
+        User user = transactionTemplate.execute(status -> {
+            Long userId = oneTimeTokenService.consume(token, TokenPurpose.PASSWORD_RESET)
+                    .orElseThrow(() -> new RuntimeException("Token inválido o expirado"));
+            User found = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("Token inválido o expirado"));
 
-        log.info("Contraseña reseteada exitosamente para: {}", user.getEmail());
-    }
-
-    /**
-     * Limpia tokens expirados (puede ejecutarse como tarea programada)
-     */
-    @Transactional
-    public void cleanExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        userRepository.findAll().forEach(user -> {
-            if (user.getResetPasswordExpires() != null &&
-                    now.isAfter(user.getResetPasswordExpires())) {
-                user.setResetPasswordToken(null);
-                user.setResetPasswordExpires(null);
-                userRepository.save(user);
-                log.debug("Token expirado eliminado para usuario: {}", user.getEmail());
-            }
+            // Actualizar contraseña
+            found.setPassword(encodedPassword);
+            return userRepository.save(found);
         });
+
+        log.info("Contraseña reseteada exitosamente para: {}", user.getEmail());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ProjectContribution;
+import com.huahuacuna.repository.ProjectContributionRepository;
+import com.huahuacuna.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Servicio de recaudación de los proyectos.
+ * <p>
+ * Cada aporte se inserta como una fila nueva en el libro de aportes, por lo
+ * que los aportes concurrentes no se bloquean entre sí ni pierden
+ * actualizaciones. El monto vigente se calcula en una sola consulta como el
+ * total compactado del proyecto más los aportes pendientes, y una tarea
+ * periódica traslada los aportes pendientes al total con una actualización
+ * atómica en la base de datos.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ProjectContributionService {
+
+    private static final int COMPACTION_BATCH_SIZE = 1000;
+
+    private final ProjectContributionRepository contributionRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectContributionService(ProjectContributionRepository contributionRepository,
+                                      ProjectRepository projectRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        this.contributionRepository = contributionRepository;
+        this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Registra un aporte para un proyecto.
+     *
+     * @param projectId ID del proyecto
+     * @param amount    monto (distinto de cero, máximo dos decimales; negativo para correcciones)
+     * @param note      nota opcional
+     * @return el aporte registrado
+     * @throws IllegalArgumentException si el monto no es válido
+     * @throws RuntimeException         si el proyecto no existe
+     */
+    @Transactional
+    public ProjectContribution addContribution(Long projectId, BigDecimal amount, String note) {
+        if (amount == null || amount.signum() == 0) {
+            throw new IllegalArgumentException("El monto del aporte debe ser distinto de cero");
+        }
+        BigDecimal normalizedAmount;
+        try {
+            normalizedAmount = amount.setScale(2, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El monto del aporte admite como máximo dos decimales");
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new RuntimeException("Proyecto no encontrado");
+        }
+
+        ProjectContribution contribution = ProjectContribution.builder()
+                .projectId(projectId)
+                .amount(normalizedAmount)
+                .note(note)
+                .build();
+        ProjectContribution saved = contributionRepository.save(contribution);
+        log.info("Aporte {} registrado para el proyecto {}: {}", saved.getId(), projectId, normalizedAmount);
+        return saved;
+    }
+
+    /**
+     * Monto recaudado vigente de un proyecto, incluidos los aportes aún no compactados.
+     *
+     * @param projectId ID del proyecto
+     * @return monto vigente
+     * @throws RuntimeException si el proyecto no existe
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getLiveAmount(Long projectId) {
+        BigDecimal amount = contributionRepository.findLiveAmount(projectId);
+        if (amount == null) {
+            throw new RuntimeException("Proyecto no encontrado");
+        }
+        return amount;
+    }
+
+    /**
+     * Elimina los aportes de un proyecto borrado.
+     *
+     * @param projectId ID del proyecto
+     */
+    @Transactional
+    public void deleteContributions(Long projectId) {
+        contributionRepository.deleteByProjectId(projectId);
+    }
+
+    /**
+     * Suma periódicamente los aportes pendientes al total de cada proyecto.
+     * Cada lote se compacta en su propia transacción.
+     */
+    @Scheduled(fixedDelayString = "${app.projects.contribution-compaction-ms:30000}")
+    public void compactContributions() {
+        for (Long projectId : contributionRepository.findProjectIdsWithPendingContributions()) {
+            try {
+                int compacted = 0;
+                int batch;
+                do {
+                    batch = transactionTemplate.execute(status -> compactBatch(projectId));
+                    compacted += batch;
+                } while (batch == COMPACTION_BATCH_SIZE);
+
+                if (compacted > 0) {
+                    log.debug("{} aportes compactados en el proyecto {}", compacted, projectId);
+                    eventPublisher.publishEvent(
+                            new PublicContentChangedEvent(PublicContentChangedEvent.Section.PROJECTS, projectId));
+                }
+            } catch (Exception e) {
+                log.error("Error al compactar los aportes del proyecto {}: {}", projectId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Compacta un lote de aportes pendientes: los marca como compactados y suma
+     * su monto al proyecto en la misma transacción.
+     *
+     * @return número de aportes compactados
+     */
+    private int compactBatch(Long projectId) {
+        List<ProjectContribution> pending = contributionRepository
+                .findByProjectIdAndCompactedFalseOrderByIdAsc(projectId, PageRequest.of(0, COMPACTION_BATCH_SIZE));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        BigDecimal total = pending.stream()
+                .map(ProjectContribution::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        int marked = contributionRepository.markCompacted(
+                pending.stream().map(ProjectContribution::getId).toList());
+        if (marked != pending.size()) {
+            // Otro proceso compactó parte del lote: se revierte para no sumar dos veces
+            throw new IllegalStateException("Lote de aportes compactado concurrentemente");
+        }
+
+        projectRepository.addToCurrentAmount(projectId, total);
+        return pending.size();
+    }
+}
@@ -2,8 +2,11 @@ package com.huahuacuna.service;
 
 import com.huahuacuna.model.Project;
 import com.huahuacuna.repository.ProjectRepository;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,38 +15,75 @@ public class ProjectService {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PublicContentCatalog publicContentCatalog;
+
+    @Autowired
+    private ProjectContributionService projectContributionService;
+
     public List<Project> getAllProjects() {
         return projectRepository.findAll();
     }
 
+    // Proyectos publicados para el sitio público (servidos desde la caché en memoria)
+    public PublicContentCatalog.Snapshot<Project> getPublishedProjects() {
+        return publicContentCatalog.getPublishedProjects();
+    }
+
+    // ETag vigente de los proyectos publicados
+    public String currentPublishedProjectsEtag() {
+        return publicContentCatalog.currentProjectsEtag();
+    }
+
     public Optional<Project> getProjectById(Long id) {
         return projectRepository.findById(id);
     }
 
+    @Transactional
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        project.setImageUrl(imageStorageService.externalizeIfInline(project.getImageUrl(), ImageScope.PUBLIC));
+        Project saved = projectRepository.save(project);
+        publishChange(saved.getId());
+        return saved;
     }
 
+    @Transactional
     public Project updateProject(Long id, Project details) {
         return projectRepository.findById(id).map(project -> {
             project.setTitle(details.getTitle());
             project.setDescription(details.getDescription());
             project.setGoalAmount(details.getGoalAmount());
-            project.setCurrentAmount(details.getCurrentAmount());
-            project.setImageUrl(details.getImageUrl());
-            return projectRepository.save(project);
+            project.setImageUrl(imageStorageService.externalizeIfInline(details.getImageUrl(), ImageScope.PUBLIC));
+            Project saved = projectRepository.save(project);
+            publishChange(id);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Proyecto no encontrado"));
     }
 
     public void deleteProject(Long id) {
         projectRepository.deleteById(id);
+        projectContributionService.deleteContributions(id);
+        publishChange(id);
     }
 
     public Project publishProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Proyecto no encontrado"));
         project.setPublished(true);
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        publishChange(id);
+        return saved;
+    }
+
+    // Invalida la caché del contenido público
+    private void publishChange(Long id) {
+        eventPublisher.publishEvent(new PublicContentChangedEvent(PublicContentChangedEvent.Section.PROJECTS, id));
     }
 
 }
\ No newline at end of file
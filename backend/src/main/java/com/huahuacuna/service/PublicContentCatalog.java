@@ -0,0 +1,143 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.Event;
+import com.huahuacuna.model.Project;
+import com.huahuacuna.repository.EventRepository;
+import com.huahuacuna.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria de los eventos y proyectos publicados que se muestran en
+ * el sitio público.
+ * <p>
+ * Sigue el mismo esquema que {@link AvailableChildrenCatalog}: cada sección
+ * guarda una instantánea inmutable y una versión que se incrementa con cada
+ * cambio. La siguiente lectura reconstruye la instantánea y la versión produce
+ * el ETag, de modo que las revalidaciones se responden con 304 sin consultar
+ * la base de datos.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class PublicContentCatalog {
+
+    /**
+     * Identifica esta ejecución para que los ETags no se repitan tras un reinicio.
+     */
+    private final long bootId = System.currentTimeMillis();
+
+    private final Section<Event> events;
+    private final Section<Project> projects;
+
+    public PublicContentCatalog(EventRepository eventRepository, ProjectRepository projectRepository) {
+        this.events = new Section<>("events", eventRepository::findByPublishedTrueOrderByDateAsc);
+        this.projects = new Section<>("projects", projectRepository::findByPublishedTrueOrderByIdDesc);
+    }
+
+    /**
+     * Instantánea inmutable de una sección.
+     *
+     * @param version versión con la que se construyó
+     * @param items   lista inmutable de elementos publicados
+     * @param etag    ETag fuerte de esta versión
+     */
+    public record Snapshot<T>(long version, List<T> items, String etag) {
+    }
+
+    /**
+     * Eventos publicados, ordenados por fecha.
+     */
+    public Snapshot<Event> getPublishedEvents() {
+        return events.get();
+    }
+
+    /**
+     * Proyectos publicados, del más reciente al más antiguo.
+     */
+    public Snapshot<Project> getPublishedProjects() {
+        return projects.get();
+    }
+
+    /**
+     * ETag vigente de los eventos publicados, sin tocar la base de datos.
+     */
+    public String currentEventsEtag() {
+        return events.currentEtag();
+    }
+
+    /**
+     * ETag vigente de los proyectos publicados, sin tocar la base de datos.
+     */
+    public String currentProjectsEtag() {
+        return projects.currentEtag();
+    }
+
+    /**
+     * Invalida la sección afectada tras el commit de un cambio.
+     *
+     * @param event evento de cambio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPublicContentChanged(PublicContentChangedEvent event) {
+        Section<?> section = event.section() == PublicContentChangedEvent.Section.EVENTS ? events : projects;
+        long newVersion = section.invalidate();
+        log.debug("Contenido público '{}' invalidado por el elemento {} (versión {})",
+                section.name, event.id(), newVersion);
+    }
+
+    /**
+     * Instantánea versionada de una sección, reconstruida al leer si quedó obsoleta.
+     */
+    private final class Section<T> {
+
+        private final String name;
+        private final Supplier<List<T>> loader;
+        private final AtomicLong version = new AtomicLong(1);
+        private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+
+        private Section(String name, Supplier<List<T>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        private Snapshot<T> get() {
+            long currentVersion = version.get();
+            Snapshot<T> current = snapshot.get();
+            if (current != null && current.version() == currentVersion) {
+                return current;
+            }
+
+            Snapshot<T> rebuilt = new Snapshot<>(currentVersion, List.copyOf(loader.get()), etagFor(currentVersion));
+
+            // No reemplazar una instantánea construida con una versión más reciente
+            snapshot.accumulateAndGet(rebuilt, (previous, candidate) ->
+                    previous == null || previous.version() <= candidate.version() ? candidate : previous);
+
+            log.debug("Contenido público '{}' reconstruido (versión {}): {} elementos",
+                    name, currentVersion, rebuilt.items().size());
+            return rebuilt;
+        }
+
+        private String currentEtag() {
+            return etagFor(version.get());
+        }
+
+        private long invalidate() {
+            return version.incrementAndGet();
+        }
+
+        private String etagFor(long sectionVersion) {
+            return "\"" + name + "-" + bootId + "-" + sectionVersion + "\"";
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.huahuacuna.service;
+
+/**
+ * Evento publicado cuando cambia un evento o un proyecto (alta, edición,
+ * publicación o borrado) y debe invalidarse el contenido público cacheado.
+ *
+ * @param section sección del contenido público afectada
+ * @param id      ID del evento o proyecto modificado
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record PublicContentChangedEvent(Section section, Long id) {
+
+    /**
+     * Secciones del contenido público.
+     */
+    public enum Section {
+        EVENTS,
+        PROJECTS
+    }
+}
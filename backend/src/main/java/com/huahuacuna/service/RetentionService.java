@@ -0,0 +1,232 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.SponsorshipStatus;
+import com.huahuacuna.repository.ChatMessageRepository;
+import com.huahuacuna.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Limpieza periódica de datos que ya no se necesitan.
+ * <p>
+ * Cubre las notificaciones leídas antiguas, los tokens de un solo uso
+ * expirados y, si se habilita {@code app.retention.chat.enabled}, el historial
+ * de chat de los apadrinamientos finalizados. Las notificaciones y el chat se
+ * recorren por rangos de ID en lotes acotados, cada uno en su propia
+ * transacción corta y con una pausa entre lotes, de modo que la limpieza nunca
+ * bloquea la tabla durante mucho tiempo; los tokens se eliminan con un único
+ * borrado indexado por fecha de expiración.
+ * </p>
+ * <p>
+ * Las filas eliminadas y la duración de cada pasada se publican en actuator
+ * como {@code retention.rows.purged} y {@code retention.run}, con la etiqueta
+ * {@code target} ({@code notifications}, {@code one-time-tokens} o
+ * {@code chat-messages}).
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class RetentionService {
+
+    private static final String TARGET_NOTIFICATIONS = "notifications";
+    private static final String TARGET_TOKENS = "one-time-tokens";
+    private static final String TARGET_CHAT = "chat-messages";
+
+    private final NotificationRepository notificationRepository;
+    private final OneTimeTokenService oneTimeTokenService;
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final long pauseMs;
+    private final int notificationDays;
+    private final boolean chatEnabled;
+    private final int chatDays;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RetentionService(NotificationRepository notificationRepository,
+                            OneTimeTokenService oneTimeTokenService,
+                            ChatMessageRepository chatMessageRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.retention.batch-size:500}") int batchSize,
+                            @Value("${app.retention.pause-ms:200}") long pauseMs,
+                            @Value("${app.retention.notification-days:30}") int notificationDays,
+                            @Value("${app.retention.chat.enabled:false}") boolean chatEnabled,
+                            @Value("${app.retention.chat-days:365}") int chatDays) {
+        this.notificationRepository = notificationRepository;
+        this.oneTimeTokenService = oneTimeTokenService;
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = Math.max(0, pauseMs);
+        this.notificationDays = notificationDays;
+        this.chatEnabled = chatEnabled;
+        this.chatDays = chatDays;
+    }
+
+    /**
+     * Ejecuta una pasada completa de limpieza. Si la pasada anterior sigue en
+     * curso (por ejemplo, invocada a mano), no se inicia otra.
+     */
+    @Scheduled(initialDelayString = "${app.retention.initial-delay-ms:300000}",
+            fixedDelayString = "${app.retention.interval-ms:3600000}")
+    public void runRetention() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Limpieza de retención ya en curso, se omite esta pasada");
+            return;
+        }
+        try {
+            purgeReadNotifications();
+            purgeExpiredTokens();
+            if (chatEnabled) {
+                purgeArchivedChatMessages();
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Elimina las notificaciones leídas hace más de los días configurados.
+     *
+     * @return número de notificaciones eliminadas
+     */
+    public int purgeReadNotifications() {
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(notificationDays);
+        return purgeInChunks(TARGET_NOTIFICATIONS,
+                (afterId, page) -> notificationRepository.findReadIdsBefore(cutoffDate, afterId, page),
+                range -> notificationRepository.deleteReadInIdRange(range.fromId(), range.toId(), cutoffDate));
+    }
+
+    /**
+     * Elimina los tokens de un solo uso expirados, usados o no. Al ser pocas
+     * filas y estar indexadas por fecha de expiración, basta un solo borrado.
+     * <p>
+     * Es la limpieza programada de los tokens de recuperación de contraseña:
+     * sustituye a la que limpiaba las columnas de token de {@code users}, que
+     * desaparecieron al pasar los tokens a {@code one_time_tokens}.
+     * </p>
+     *
+     * @return número de tokens eliminados
+     */
+    public int purgeExpiredTokens() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int cleared = 0;
+        try {
+            cleared = oneTimeTokenService.purgeExpired();
+            meterRegistry.counter("retention.rows.purged", "target", TARGET_TOKENS).increment(cleared);
+        } catch (RuntimeException e) {
+            log.error("Error en la limpieza de {}", TARGET_TOKENS, e);
+        } finally {
+            sample.stop(meterRegistry.timer("retention.run", "target", TARGET_TOKENS));
+        }
+        return cleared;
+    }
+
+    /**
+     * Elimina el historial de chat antiguo de los apadrinamientos finalizados.
+     *
+     * @return número de mensajes eliminados
+     */
+    public int purgeArchivedChatMessages() {
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(chatDays);
+        return purgeInChunks(TARGET_CHAT,
+                (afterId, page) -> chatMessageRepository.findArchivedIdsBefore(
+                        SponsorshipStatus.ENDED, cutoffDate, afterId, page),
+                range -> chatMessageRepository.deleteArchivedInIdRange(
+                        range.fromId(), range.toId(), SponsorshipStatus.ENDED, cutoffDate));
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Rango de IDs de un lote.
+     */
+    private record IdRange(Long fromId, Long toId) {
+    }
+
+    /**
+     * Recorre la tabla por lotes de IDs crecientes. Cada lote se procesa en su
+     * propia transacción, acotada al rango entre el primer y el último ID del lote.
+     */
+    private int purgeInChunks(String target,
+                              BiFunction<Long, Pageable, List<Long>> nextIds,
+                              Function<IdRange, Integer> purgeRange) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Counter purgedCounter = meterRegistry.counter("retention.rows.purged", "target", target);
+        Pageable page = PageRequest.of(0, batchSize);
+
+        int total = 0;
+        int batches = 0;
+        long afterId = 0L;
+        try {
+            while (true) {
+                List<Long> ids = nextIds.apply(afterId, page);
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                IdRange range = new IdRange(ids.get(0), ids.get(ids.size() - 1));
+                Integer purged = transactionTemplate.execute(status -> purgeRange.apply(range));
+                int count = purged != null ? purged : 0;
+                total += count;
+                purgedCounter.increment(count);
+                batches++;
+                afterId = range.toId();
+
+                if (ids.size() < batchSize || !pause()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Error en la limpieza de {} tras {} filas", target, total, e);
+        } finally {
+            long nanos = sample.stop(meterRegistry.timer("retention.run", "target", target));
+            if (total > 0) {
+                log.info("Limpieza de {}: {} filas en {} lotes ({} ms)",
+                        target, total, batches, nanos / 1_000_000);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Pausa entre lotes para dejar paso al resto de transacciones.
+     *
+     * @return false si el hilo fue interrumpido (apagado de la aplicación)
+     */
+    private boolean pause() {
+        if (pauseMs == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ApplicationRequest;
+import com.huahuacuna.model.LogEntry;
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.User;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambia una entidad cubierta por el índice de búsqueda.
+ *
+ * @param entityType tipo de la entidad
+ * @param entityId   ID de la entidad
+ * @param scopeId    ámbito opcional (apadrinamiento en el caso de la bitácora)
+ * @param text       texto a indexar
+ * @param removed    true si la entidad fue eliminada
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record SearchIndexEvent(
+        SearchEntityType entityType,
+        Long entityId,
+        Long scopeId,
+        String text,
+        boolean removed
+) {
+
+    /**
+     * Propiedades de cada entidad que forman el texto indexado.
+     */
+    private static final Map<Class<?>, Set<String>> INDEXED_PROPERTIES = Map.of(
+            User.class, Set.of("fullName", "email"),
+            ApplicationRequest.class, Set.of("fullName", "email"),
+            LogEntry.class, Set.of("title", "content", "sponsorship")
+    );
+
+    /**
+     * Propiedades indexadas de una entidad.
+     *
+     * @param entity entidad persistida
+     * @return nombres de las propiedades indexadas, vacío si la entidad no se indexa
+     */
+    public static Set<String> indexedProperties(Object entity) {
+        return INDEXED_PROPERTIES.getOrDefault(entity.getClass(), Set.of());
+    }
+
+    /**
+     * Construye el evento correspondiente a una entidad.
+     *
+     * @param entity  entidad persistida
+     * @param removed true si la entidad fue eliminada
+     * @return el evento, o null si la entidad no se indexa
+     */
+    public static SearchIndexEvent of(Object entity, boolean removed) {
+        if (entity instanceof User user) {
+            return new SearchIndexEvent(SearchEntityType.USER, user.getId(), null,
+                    join(user.getFullName(), user.getEmail()), removed);
+        }
+        if (entity instanceof ApplicationRequest application) {
+            return new SearchIndexEvent(SearchEntityType.APPLICATION, application.getId(), null,
+                    join(application.getFullName(), application.getEmail()), removed);
+        }
+        if (entity instanceof LogEntry entry) {
+            Long sponsorshipId = entry.getSponsorship() != null ? entry.getSponsorship().getId() : null;
+            return new SearchIndexEvent(SearchEntityType.LOG_ENTRY, entry.getId(), sponsorshipId,
+                    join(entry.getTitle(), entry.getContent()), removed);
+        }
+        return null;
+    }
+
+    private static String join(String first, String second) {
+        return (first != null ? first : "") + " " + (second != null ? second : "");
+    }
+}
@@ -0,0 +1,100 @@
+package com.huahuacuna.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Listener de Hibernate que mantiene sincronizado el índice de búsqueda de texto completo.
+ * <p>
+ * Publica un {@link SearchIndexEvent} en cada inserción y borrado, y en las
+ * actualizaciones solo si cambió alguna propiedad indexada (las escrituras de
+ * otros campos no reindexan la entidad). El índice se actualiza tras el
+ * commit de la transacción que originó el cambio.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Component
+public class SearchIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SearchIndexListener(ApplicationEventPublisher eventPublisher, EntityManagerFactory entityManagerFactory) {
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(SearchIndexEvent.of(event.getEntity(), false));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Set<String> indexed = SearchIndexEvent.indexedProperties(event.getEntity());
+        if (indexed.isEmpty() || !changedAny(event, indexed)) {
+            return;
+        }
+        publish(SearchIndexEvent.of(event.getEntity(), false));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(SearchIndexEvent.of(event.getEntity(), true));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Indica si la actualización modificó alguna de las propiedades dadas. Si
+     * Hibernate no calculó las propiedades modificadas se asume que sí.
+     */
+    private static boolean changedAny(PostUpdateEvent event, Set<String> properties) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int index : dirty) {
+            if (properties.contains(names[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publish(SearchIndexEvent event) {
+        if (event != null && event.entityId() != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
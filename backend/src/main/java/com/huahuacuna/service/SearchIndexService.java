@@ -0,0 +1,186 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.SearchIndexBuild;
+import com.huahuacuna.model.SearchTerm;
+import com.huahuacuna.repository.ApplicationRequestRepository;
+import com.huahuacuna.repository.LogEntryRepository;
+import com.huahuacuna.repository.SearchIndexBuildRepository;
+import com.huahuacuna.repository.SearchTermRepository;
+import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio del índice de búsqueda de texto completo.
+ * <p>
+ * Mantiene un índice invertido en la tabla {@code search_terms} para usuarios,
+ * solicitudes y entradas de bitácora. El análisis es insensible a mayúsculas y
+ * tildes, descarta palabras vacías del español y permite buscar por prefijo de
+ * cada término. El índice se actualiza tras el commit de cada cambio a partir
+ * de los eventos publicados por {@link SearchIndexListener}.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    /**
+     * Tamaño de página usado al reconstruir el índice.
+     */
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final SearchTermRepository searchTermRepository;
+    private final SearchIndexBuildRepository searchIndexBuildRepository;
+    private final UserRepository userRepository;
+    private final ApplicationRequestRepository applicationRepository;
+    private final LogEntryRepository logEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SearchIndexService(
+            SearchTermRepository searchTermRepository,
+            SearchIndexBuildRepository searchIndexBuildRepository,
+            UserRepository userRepository,
+            ApplicationRequestRepository applicationRepository,
+            LogEntryRepository logEntryRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.searchTermRepository = searchTermRepository;
+        this.searchIndexBuildRepository = searchIndexBuildRepository;
+        this.userRepository = userRepository;
+        this.applicationRepository = applicationRepository;
+        this.logEntryRepository = logEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reindexa una entidad después del commit de la transacción que la modificó.
+     *
+     * @param event evento publicado por {@link SearchIndexListener}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSearchIndexEvent(SearchIndexEvent event) {
+        index(event);
+    }
+
+    /**
+     * Busca entidades cuyo texto contenga todos los términos de la consulta
+     * (cada término se compara por prefijo).
+     *
+     * @param entityType tipo de entidad a buscar
+     * @param scopeId    ámbito opcional (null para buscar en todo el índice)
+     * @param query      texto libre introducido por el usuario
+     * @return IDs de las entidades coincidentes
+     */
+    @Transactional(readOnly = true)
+    public List<Long> search(SearchEntityType entityType, Long scopeId, String query) {
+        Set<String> terms = TextNormalizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> matches = searchTermRepository.findEntityIdsMatchingAll(entityType, scopeId, terms);
+
+        log.debug("Búsqueda de texto completo en {}: '{}' -> {} resultados", entityType, query, matches.size());
+        return matches;
+    }
+
+    /**
+     * Indica si la consulta contiene al menos un término indexable.
+     *
+     * @param query texto libre introducido por el usuario
+     * @return true si la consulta puede resolverse con el índice
+     */
+    public boolean isSearchable(String query) {
+        return !TextNormalizer.tokenize(query).isEmpty();
+    }
+
+    /**
+     * Reconstruye al arrancar el índice de los tipos de entidad sin marca de
+     * reconstrucción completa (datos anteriores a esta versión o una
+     * reconstrucción interrumpida). Reindexar es idempotente, así que repetir
+     * una reconstrucción parcial no duplica términos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMissingIndexes() {
+        rebuildIfIncomplete(SearchEntityType.USER, userRepository);
+        rebuildIfIncomplete(SearchEntityType.APPLICATION, applicationRepository);
+        rebuildIfIncomplete(SearchEntityType.LOG_ENTRY, logEntryRepository);
+    }
+
+    private void rebuildIfIncomplete(SearchEntityType entityType, JpaRepository<?, Long> repository) {
+        if (searchIndexBuildRepository.existsById(entityType)) {
+            return;
+        }
+
+        log.info("Reconstruyendo índice de búsqueda para {}", entityType);
+        long indexed = 0;
+
+        for (int pageNumber = 0; ; pageNumber++) {
+            Pageable pageable = PageRequest.of(pageNumber, REBUILD_PAGE_SIZE, Sort.by("id"));
+            Page<?> page = transactionTemplate.execute(status -> {
+                Page<?> result = repository.findAll(pageable);
+                result.getContent().forEach(entity -> index(SearchIndexEvent.of(entity, false)));
+                return result;
+            });
+
+            if (page == null) {
+                break;
+            }
+            indexed += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                break;
+            }
+        }
+
+        searchIndexBuildRepository.save(SearchIndexBuild.builder()
+                .entityType(entityType)
+                .completedAt(LocalDateTime.now())
+                .build());
+        log.info("Índice de búsqueda para {} reconstruido: {} registros", entityType, indexed);
+    }
+
+    private void index(SearchIndexEvent event) {
+        if (event == null || event.entityId() == null) {
+            return;
+        }
+
+        searchTermRepository.deleteByEntity(event.entityType(), event.entityId());
+        if (event.removed()) {
+            return;
+        }
+
+        List<SearchTerm> terms = new ArrayList<>();
+        for (String term : TextNormalizer.tokenize(event.text())) {
+            terms.add(SearchTerm.builder()
+                    .entityType(event.entityType())
+                    .entityId(event.entityId())
+                    .scopeId(event.scopeId())
+                    .term(term)
+                    .build());
+        }
+        searchTermRepository.saveAll(terms);
+    }
+}
@@ -0,0 +1,14 @@
+package com.huahuacuna.service;
+
+/**
+ * Evento publicado cuando cambia un contador de no leídos. Se aplica al
+ * contador en memoria solo después de confirmarse la transacción.
+ *
+ * @param key   clave del contador
+ * @param delta variación a aplicar (positiva en altas, negativa en lecturas o borrados)
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record UnreadCountChangedEvent(String key, long delta) {
+}
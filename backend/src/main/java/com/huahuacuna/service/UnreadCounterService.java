@@ -0,0 +1,326 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.UnreadCounter;
+import com.huahuacuna.repository.ChatMessageRepository;
+import com.huahuacuna.repository.NotificationRepository;
+import com.huahuacuna.repository.UnreadCounterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de no leídos para los indicadores (badges) de notificaciones y chat.
+ * <p>
+ * Los endpoints de conteo se consultan en cada sondeo del frontend; en lugar
+ * de ejecutar un COUNT sobre tablas que solo crecen, cada contador vive en
+ * memoria como un {@link LongAdder} y se actualiza con las altas y lecturas
+ * una vez confirmada la transacción que las produjo. Los contadores modificados
+ * se escriben en diferido en la tabla {@code unread_counters}, que sirve como
+ * punto de partida tras un reinicio, y una tarea periódica los reconcilia con
+ * las tablas de origen para corregir cualquier desviación.
+ * </p>
+ * <p>
+ * Entre el commit de un cambio y la aplicación de su evento el origen ya
+ * refleja el cambio y el contador todavía no. Para que la reconciliación no lo
+ * corrija y el evento lo vuelva a aplicar, los cambios registrados y aún no
+ * aplicados se cuentan por clave y esas claves no se reconcilian; además una
+ * desviación solo se corrige si se repite igual en dos pasadas seguidas, lo que
+ * cubre también los cambios confirmados fuera de una transacción.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class UnreadCounterService {
+
+    private static final String NOTIFICATION_PREFIX = "notif:";
+    private static final String GODPARENT_CHAT_PREFIX = "chat:godparent:";
+    private static final String ADMIN_CHAT_KEY = "chat:admin";
+
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final NotificationRepository notificationRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Cambios registrados con {@link #add} cuya transacción aún no terminó, por clave.
+     */
+    private final ConcurrentHashMap<String, Long> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Desviación observada en la última reconciliación, pendiente de confirmar.
+     */
+    private final ConcurrentHashMap<String, Long> suspectedDrift = new ConcurrentHashMap<>();
+
+    public UnreadCounterService(UnreadCounterRepository unreadCounterRepository,
+                                NotificationRepository notificationRepository,
+                                ChatMessageRepository chatMessageRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.notificationRepository = notificationRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ========== CLAVES ==========
+
+    /**
+     * Clave del contador de notificaciones no leídas de un usuario.
+     */
+    public static String notificationKey(Long userId) {
+        return NOTIFICATION_PREFIX + userId;
+    }
+
+    /**
+     * Clave del contador de mensajes del admin no leídos por un padrino.
+     */
+    public static String godparentChatKey(Long godparentId) {
+        return GODPARENT_CHAT_PREFIX + godparentId;
+    }
+
+    /**
+     * Clave del contador de mensajes de padrinos no leídos por el admin.
+     */
+    public static String adminChatKey() {
+        return ADMIN_CHAT_KEY;
+    }
+
+    // ========== LECTURA ==========
+
+    /**
+     * Obtiene el valor actual de un contador sin consultar la base de datos,
+     * salvo la primera vez que se pide en esta instancia.
+     *
+     * @param key clave del contador
+     * @return número de elementos no leídos (nunca negativo)
+     */
+    public long get(String key) {
+        return Math.max(0, counterFor(key).sum());
+    }
+
+    // ========== MODIFICACIÓN ==========
+
+    /**
+     * Registra una variación del contador. Se aplica al confirmarse la
+     * transacción en curso (o de inmediato si no hay ninguna). Llamado dentro de
+     * la transacción que modifica la tabla de origen, la reconciliación no toca
+     * la clave hasta que el cambio se aplica o se descarta.
+     *
+     * @param key   clave del contador
+     * @param delta variación (positiva en altas, negativa en lecturas o borrados)
+     */
+    public void add(String key, long delta) {
+        if (delta != 0) {
+            inFlight.merge(key, 1L, Long::sum);
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(key, delta));
+        }
+    }
+
+    /**
+     * Aplica el cambio al contador en memoria una vez confirmada la transacción,
+     * de modo que las operaciones revertidas no lo alteren.
+     *
+     * @param event cambio del contador
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        try {
+            LongAdder counter = counters.get(event.key());
+            if (counter == null) {
+                loadCounter(event.key(), event.delta());
+            } else {
+                counter.add(event.delta());
+            }
+            dirtyKeys.add(event.key());
+        } finally {
+            // Solo deja de estar en curso cuando el contador ya refleja el cambio
+            finishInFlight(event.key());
+        }
+    }
+
+    /**
+     * Descarta el cambio de una transacción revertida.
+     *
+     * @param event cambio del contador
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onUnreadCountDiscarded(UnreadCountChangedEvent event) {
+        finishInFlight(event.key());
+    }
+
+    // ========== ESCRITURA DIFERIDA Y RECONCILIACIÓN ==========
+
+    /**
+     * Escribe en la tabla los contadores modificados desde la última escritura.
+     */
+    @Scheduled(fixedDelayString = "${app.unread-counters.flush-ms:5000}")
+    public void flush() {
+        if (dirtyKeys.isEmpty()) {
+            return;
+        }
+
+        List<UnreadCounter> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (String key : dirtyKeys) {
+            // Se quita antes de leer el valor: un cambio posterior vuelve a marcarla
+            dirtyKeys.remove(key);
+            LongAdder counter = counters.get(key);
+            if (counter != null) {
+                rows.add(UnreadCounter.builder()
+                        .counterKey(key)
+                        .unreadCount(Math.max(0, counter.sum()))
+                        .updatedAt(now)
+                        .build());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> unreadCounterRepository.saveAll(rows));
+            log.debug("Escritos {} contadores de no leídos", rows.size());
+        } catch (RuntimeException e) {
+            rows.forEach(row -> dirtyKeys.add(row.getCounterKey()));
+            log.warn("No se pudieron escribir los contadores de no leídos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compara los contadores cargados con las tablas de origen y corrige las
+     * desviaciones (por ejemplo, tras una parada no ordenada de la aplicación).
+     */
+    @Scheduled(initialDelayString = "${app.unread-counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${app.unread-counters.reconcile-ms:600000}")
+    public void reconcileAll() {
+        int corrected = 0;
+        for (var entry : counters.entrySet()) {
+            if (reconcile(entry.getKey(), entry.getValue())) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciliación de contadores de no leídos: {} corregidos de {}", corrected, counters.size());
+        }
+    }
+
+    /**
+     * Escribe los contadores pendientes al detener la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /**
+     * Obtiene el contador de una clave, cargándolo desde la tabla de contadores
+     * o, si no existe fila, desde la tabla de origen.
+     */
+    private LongAdder counterFor(String key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : loadCounter(key, 0);
+    }
+
+    /**
+     * Carga un contador que aún no está en memoria.
+     *
+     * @param key          clave del contador
+     * @param pendingDelta variación ya confirmada que la fila guardada todavía no refleja
+     */
+    private LongAdder loadCounter(String key, long pendingDelta) {
+        // La carga se hace fuera del mapa para no bloquear otras claves durante la consulta
+        LongAdder loaded = new LongAdder();
+        Long stored = unreadCounterRepository.findById(key)
+                .map(UnreadCounter::getUnreadCount)
+                .orElse(null);
+        if (stored != null) {
+            loaded.add(stored + pendingDelta);
+        } else {
+            // El conteo de origen ya incluye los cambios confirmados
+            loaded.add(countFromSource(key));
+            dirtyKeys.add(key);
+        }
+
+        LongAdder existing = counters.putIfAbsent(key, loaded);
+        if (existing != null) {
+            existing.add(pendingDelta);
+            return existing;
+        }
+        return loaded;
+    }
+
+    /**
+     * Ajusta un contador al valor de la tabla de origen. No se reconcilian las
+     * claves con cambios en curso ni las que cambian mientras se cuenta, y una
+     * desviación solo se corrige si la pasada anterior observó la misma.
+     *
+     * @return true si se corrigió el valor
+     */
+    private boolean reconcile(String key, LongAdder counter) {
+        if (inFlight.containsKey(key)) {
+            return false;
+        }
+        long before = counter.sum();
+        long actual = countFromSource(key);
+        long after = counter.sum();
+        if (inFlight.containsKey(key) || before != after) {
+            return false;
+        }
+
+        long drift = actual - after;
+        if (drift == 0) {
+            suspectedDrift.remove(key);
+            return false;
+        }
+        // Una desviación vista una sola vez puede ser un cambio confirmado cuyo evento aún no se aplicó
+        Long previous = suspectedDrift.put(key, drift);
+        if (previous == null || previous != drift) {
+            return false;
+        }
+
+        suspectedDrift.remove(key);
+        counter.add(drift);
+        dirtyKeys.add(key);
+        log.debug("Contador {} corregido de {} a {}", key, after, actual);
+        return true;
+    }
+
+    private void finishInFlight(String key) {
+        inFlight.computeIfPresent(key, (k, pending) -> pending <= 1 ? null : pending - 1);
+    }
+
+    private long countFromSource(String key) {
+        if (ADMIN_CHAT_KEY.equals(key)) {
+            return chatMessageRepository.countUnreadFromGodparents();
+        }
+        if (key.startsWith(GODPARENT_CHAT_PREFIX)) {
+            return chatMessageRepository.countUnreadForGodparent(
+                    Long.parseLong(key.substring(GODPARENT_CHAT_PREFIX.length())));
+        }
+        if (key.startsWith(NOTIFICATION_PREFIX)) {
+            return notificationRepository.countByUserIdAndIsRead(
+                    Long.parseLong(key.substring(NOTIFICATION_PREFIX.length())), false);
+        }
+        throw new IllegalArgumentException("Clave de contador no válida: " + key);
+    }
+}
@@ -54,7 +54,12 @@ public interface UserService {
     List<User> getUsersByRole(String role);
 
     /**
-     * Busca usuarios por nombre o email
+     * Busca usuarios por nombre o email (insensible a mayúsculas y tildes)
      */
     List<User> searchUsers(String searchTerm);
+
+    /**
+     * Busca usuarios cuyo nombre comience con el prefijo dado (insensible a mayúsculas y tildes)
+     */
+    List<User> searchUsersByNamePrefix(String prefix);
 }
\ No newline at end of file
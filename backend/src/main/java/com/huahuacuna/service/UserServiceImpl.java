@@ -1,16 +1,20 @@
 package com.huahuacuna.service;
 
 import com.huahuacuna.model.Role;
+import com.huahuacuna.model.SearchEntityType;
 import com.huahuacuna.model.User;
 import com.huahuacuna.model.dto.CreateUserDTO;
 import com.huahuacuna.model.dto.UpdateUserDTO;
 import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.util.TextNormalizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -27,33 +31,54 @@ public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final SearchIndexService searchIndexService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository,
+                           PasswordHashingService passwordHashingService,
+                           SearchIndexService searchIndexService,
+                           PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.searchIndexService = searchIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * La contraseña se cifra antes de abrir la transacción para no retener
+     * una conexión mientras se espera al pool de cifrado.
+     * </p>
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(CreateUserDTO dto) {
         logger.info("Creando nuevo usuario: {}", dto.getEmail());
 
-        // Verificar que el email no exista
+        // Comprobación previa para no cifrar en vano; se repite dentro de la transacción
         if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
             throw new IllegalArgumentException("Ya existe un usuario con este email");
         }
+        String encodedPassword = passwordHashingService.encode(dto.getPassword());
 
-        // Crear nuevo usuario
-        User user = new User();
-        user.setFullName(dto.getFullName());
-        user.setEmail(dto.getEmail());
-        user.setTelefono(dto.getTelefono());
-        user.setPassword(passwordEncoder.encode(dto.getPassword()));
-        user.setRole(Role.valueOf(dto.getRole().toUpperCase()));
-        user.setIsActive(true);
+        User savedUser = transactionTemplate.execute(status -> {
+            if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
+                throw new IllegalArgumentException("Ya existe un usuario con este email");
+            }
 
-        User savedUser = userRepository.save(user);
+            // Crear nuevo usuario
+            User user = new User();
+            user.setFullName(dto.getFullName());
+            user.setEmail(dto.getEmail());
+            user.setTelefono(dto.getTelefono());
+            user.setPassword(encodedPassword);
+            user.setRole(Role.valueOf(dto.getRole().toUpperCase()));
+            user.setIsActive(true);
+            return userRepository.save(user);
+        });
         logger.info("Usuario creado exitosamente con ID: {}", savedUser.getId());
 
         return savedUser;
@@ -121,9 +146,7 @@ public class UserServiceImpl implements UserService {
 
         // Verificar que no sea el último admin
         if (user.getRole() == Role.ADMIN) {
-            long adminCount = userRepository.findAll().stream()
-                    .filter(u -> u.getRole() == Role.ADMIN && u.getIsActive())
-                    .count();
+            long adminCount = userRepository.countByRoleAndIsActive(Role.ADMIN, true);
 
             if (adminCount <= 1) {
                 throw new IllegalStateException("No se puede eliminar el último administrador del sistema");
@@ -145,9 +168,7 @@ public class UserServiceImpl implements UserService {
 
         // Si se está desactivando un admin, verificar que no sea el último
         if (user.getIsActive() && user.getRole() == Role.ADMIN) {
-            long activeAdminCount = userRepository.findAll().stream()
-                    .filter(u -> u.getRole() == Role.ADMIN && u.getIsActive())
-                    .count();
+            long activeAdminCount = userRepository.countByRoleAndIsActive(Role.ADMIN, true);
 
             if (activeAdminCount <= 1) {
                 throw new IllegalStateException("No se puede desactivar el último administrador activo");
@@ -162,12 +183,17 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void resetUserPassword(Long id, String newPassword) {
         logger.info("Reseteando contraseña del usuario: {}", id);
 
-        User user = getUserById(id);
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        // Se cifra fuera de la transacción, como en createUser
+        String encodedPassword = passwordHashingService.encode(newPassword);
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = getUserById(id);
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+        });
 
         logger.info("Contraseña reseteada exitosamente para el usuario: {}", id);
     }
@@ -177,22 +203,41 @@ public class UserServiceImpl implements UserService {
     public List<User> getUsersByRole(String role) {
         logger.info("Obteniendo usuarios con rol: {}", role);
         Role roleEnum = Role.valueOf(role.toUpperCase());
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == roleEnum)
-                .toList();
+        return userRepository.findByRole(roleEnum);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<User> searchUsers(String searchTerm) {
         logger.info("Buscando usuarios con término: {}", searchTerm);
-        String lowerSearchTerm = searchTerm.toLowerCase();
-
-        return userRepository.findAll().stream()
-                .filter(user ->
-                        user.getFullName().toLowerCase().contains(lowerSearchTerm) ||
-                                user.getEmail().toLowerCase().contains(lowerSearchTerm)
-                )
-                .toList();
+
+        // Consultas sin términos indexables (p. ej. solo "@") se resuelven por email/nombre
+        if (!searchIndexService.isSearchable(searchTerm)) {
+            String term = searchTerm.trim();
+            if (term.isEmpty()) {
+                return List.of();
+            }
+            return userRepository.searchByEmailOrName(
+                    "%" + TextNormalizer.escapeLike(term.toLowerCase()) + "%",
+                    "%" + TextNormalizer.escapeLike(TextNormalizer.normalize(term)) + "%");
+        }
+
+        List<Long> ids = searchIndexService.search(SearchEntityType.USER, null, searchTerm);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findByIdInOrderByFullNameAsc(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> searchUsersByNamePrefix(String prefix) {
+        logger.info("Buscando usuarios por prefijo de nombre: {}", prefix);
+
+        String normalizedPrefix = TextNormalizer.normalize(prefix);
+        if (normalizedPrefix == null || normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findTop50ByFullNameNormalizedStartingWithOrderByFullNameNormalizedAsc(normalizedPrefix);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.huahuacuna.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por posición (keyset) sobre el par (fecha, id).
+ * <p>
+ * Las páginas se piden "a partir de la última fila vista" en lugar de con un
+ * desplazamiento, por lo que el costo de cada página no crece con su número y
+ * las filas insertadas entre páginas no provocan duplicados ni saltos.
+ * </p>
+ *
+ * @param timestamp fecha de la última fila de la página
+ * @param id        ID de la última fila de la página
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    /**
+     * Codifica la posición como texto seguro para URLs.
+     *
+     * @return cursor opaco
+     */
+    public String encode() {
+        String position = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Codifica la posición de una fila.
+     *
+     * @param timestamp fecha de la fila
+     * @param id        ID de la fila
+     * @return cursor opaco
+     */
+    public static String encode(LocalDateTime timestamp, Long id) {
+        return new KeysetCursor(timestamp, id).encode();
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encode()}.
+     *
+     * @param cursor cursor opaco
+     * @return la posición
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
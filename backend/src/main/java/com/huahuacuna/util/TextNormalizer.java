@@ -0,0 +1,97 @@
+package com.huahuacuna.util;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para normalizar texto en español con fines de búsqueda.
+ * <p>
+ * Convierte el texto a minúsculas y elimina las marcas diacríticas, de modo que
+ * "José", "JOSE" y "jose" producen la misma forma normalizada. La "ñ" se reduce
+ * a "n" por el mismo mecanismo.
+ * </p>
+ *
+ * @author Fundación Huahuacuna
+ * @version 1.0
+ */
+public final class TextNormalizer {
+
+    /**
+     * Longitud máxima de un término indexado.
+     */
+    public static final int MAX_TERM_LENGTH = 60;
+
+    /**
+     * Longitud mínima de un término indexado.
+     */
+    public static final int MIN_TERM_LENGTH = 2;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    /**
+     * Palabras vacías del español que no aportan a la búsqueda.
+     */
+    private static final Set<String> SPANISH_STOPWORDS = Set.of(
+            "de", "la", "el", "los", "las", "del", "al", "un", "una", "unos", "unas",
+            "y", "o", "u", "e", "en", "con", "por", "para", "que", "se", "su", "sus",
+            "lo", "le", "les", "es", "mi", "me", "sin", "sobre", "como", "mas", "pero"
+    );
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Normaliza un texto: minúsculas, sin diacríticos y con espacios colapsados.
+     *
+     * @param text texto original (puede ser null)
+     * @return texto normalizado, o null si la entrada es null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String withoutMarks = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Divide un texto en términos normalizados, descartando palabras vacías
+     * y términos demasiado cortos.
+     *
+     * @param text texto original (puede ser null)
+     * @return conjunto ordenado de términos sin duplicados
+     */
+    public static Set<String> tokenize(String text) {
+        String normalized = normalize(text);
+        if (normalized == null || normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : NON_ALPHANUMERIC.split(normalized)) {
+            if (token.length() < MIN_TERM_LENGTH || SPANISH_STOPWORDS.contains(token)) {
+                continue;
+            }
+            terms.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+        }
+        return terms;
+    }
+
+    /**
+     * Escapa los comodines de LIKE ({@code %}, {@code _}) y el carácter de
+     * escape ({@code \}) para que el término se compare de forma literal.
+     *
+     * @param term término de búsqueda
+     * @return término escapado para usar con {@code ESCAPE '\'}
+     */
+    public static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,54 @@
+package com.huahuacuna.config;
+
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NormalizedColumnsInitializerTest {
+
+    @Autowired
+    private NormalizedColumnsInitializer initializer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void backfillWritesOnlyTheNormalizedColumn() {
+        String email = "backfill-" + UUID.randomUUID() + "@ejemplo.org";
+        User user = userRepository.save(User.builder()
+                .fullName("Íñigo Peña")
+                .email(email)
+                .password("{noop}no-usado")
+                .role(Role.PADRINO)
+                .build());
+
+        // Simula una fila anterior a la columna normalizada
+        Timestamp updatedAt = Timestamp.valueOf("2020-01-01 00:00:00");
+        jdbcTemplate.update("UPDATE users SET full_name_normalized = NULL, updated_at = ? WHERE id = ?",
+                updatedAt, user.getId());
+
+        initializer.run();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT full_name_normalized FROM users WHERE id = ?", String.class, user.getId()))
+                .isEqualTo("inigo pena");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT updated_at FROM users WHERE id = ?", Timestamp.class, user.getId()))
+                .isEqualTo(updatedAt);
+    }
+}
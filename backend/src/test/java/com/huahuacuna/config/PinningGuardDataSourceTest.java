@@ -0,0 +1,140 @@
+package com.huahuacuna.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinningGuardDataSourceTest {
+
+    private static final int PERMITS = 2;
+    private static final int TRANSACTIONS = 6;
+
+    private PinningGuardDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        // Espera de bloqueo larga: un interbloqueo se vería como un tiempo de espera agotado
+        h2.setURL("jdbc:h2:mem:pinning-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        dataSource = new PinningGuardDataSource(h2, PERMITS);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE counters (id BIGINT PRIMARY KEY, total INT NOT NULL)");
+            statement.execute("INSERT INTO counters VALUES (1, 0)");
+        }
+    }
+
+    @Test
+    void moreTransactionsThanPermitsCanContendForOneRow() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(TRANSACTIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> transactions = new ArrayList<>();
+        try {
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                transactions.add(executor.submit(() -> {
+                    start.await();
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        // Bloquea la fila; el resto espera el bloqueo con su permiso tomado
+                        int total;
+                        try (PreparedStatement select = connection.prepareStatement(
+                                "SELECT total FROM counters WHERE id = 1 FOR UPDATE");
+                             ResultSet row = select.executeQuery()) {
+                            row.next();
+                            total = row.getInt(1);
+                        }
+                        Thread.sleep(20);
+                        // El titular del bloqueo sigue sin pedir permiso y lo libera al confirmar
+                        try (PreparedStatement update = connection.prepareStatement(
+                                "UPDATE counters SET total = ? WHERE id = 1")) {
+                            update.setInt(1, total + 1);
+                            update.executeUpdate();
+                        }
+                        connection.commit();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> transaction : transactions) {
+                transaction.get(20, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT total FROM counters WHERE id = 1")) {
+            row.next();
+            assertThat(row.getInt(1)).isEqualTo(TRANSACTIONS);
+        }
+        assertThat(dataSource.availablePermits()).isEqualTo(PERMITS);
+    }
+
+    @Test
+    void newStatementsWaitWhileTheLockHolderKeepsGoing() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (Connection holder = dataSource.getConnection()) {
+            holder.setAutoCommit(false);
+            try (Statement statement = holder.createStatement()) {
+                statement.executeQuery("SELECT total FROM counters WHERE id = 1 FOR UPDATE").close();
+            }
+
+            // Ocupan todos los permisos esperando el bloqueo del titular
+            List<Future<?>> waiters = new ArrayList<>();
+            for (int i = 0; i < PERMITS; i++) {
+                waiters.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("UPDATE counters SET total = total + 1 WHERE id = 1");
+                    }
+                    return null;
+                }));
+            }
+            while (dataSource.availablePermits() > 0) {
+                Thread.sleep(10);
+            }
+
+            // Una sentencia nueva espera permiso
+            Future<?> newcomer = executor.submit(() -> {
+                try (Connection connection = dataSource.getConnection();
+                     Statement statement = connection.createStatement()) {
+                    statement.executeQuery("SELECT 1").close();
+                }
+                return null;
+            });
+            Thread.sleep(200);
+            assertThat(newcomer).isNotDone();
+
+            // El titular continúa y confirma sin pedir permiso
+            try (Statement statement = holder.createStatement()) {
+                statement.executeUpdate("UPDATE counters SET total = 100 WHERE id = 1");
+            }
+            holder.commit();
+
+            for (Future<?> waiter : waiters) {
+                waiter.get(10, TimeUnit.SECONDS);
+            }
+            newcomer.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(dataSource.availablePermits()).isEqualTo(PERMITS);
+    }
+}
@@ -0,0 +1,136 @@
+package com.huahuacuna.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba el filtro de límite de peticiones sin levantar el contexto: los
+ * límites por email siguen aplicándose aunque el mapa de IPs esté lleno y el
+ * cuerpo se inspecciona aunque no declare su longitud.
+ */
+class RateLimitFilterTest {
+
+    private static final String LOGIN_BODY = "{\"email\":\"Victima@Ejemplo.org\",\"password\":\"x\"}";
+
+    private final AtomicReference<byte[]> forwardedBody = new AtomicReference<>();
+    private final FilterChain chain = (request, response) ->
+            forwardedBody.set(request.getInputStream().readAllBytes());
+
+    @Test
+    void fullIpMapDoesNotDisableEmailLimit() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(2);
+        RateLimitFilter filter = filter(rateLimiter);
+
+        // Cada petición viene de una IP nueva: el mapa de IPs se llena enseguida
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0." + i, LOGIN_BODY, false), response, chain);
+            statuses.add(response.getStatus());
+        }
+
+        assertThat(rateLimiter.size("login:ip")).isEqualTo(2);
+        assertThat(rateLimiter.size("login:email")).isEqualTo(1);
+        assertThat(statuses).containsExactly(200, 200, 200, 200, 200, 429, 429);
+    }
+
+    @Test
+    void chunkedBodyIsInspectedAndForwarded() throws Exception {
+        RateLimitFilter filter = filter(new RateLimiter(100));
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.1." + i, LOGIN_BODY, true), response, chain);
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(new String(forwardedBody.get(), StandardCharsets.UTF_8)).isEqualTo(LOGIN_BODY);
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.1.9", LOGIN_BODY, true), response, chain);
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void oversizedChunkedBodyIsForwardedIntact() throws Exception {
+        RateLimitFilter filter = filter(new RateLimiter(100));
+        String body = "{\"email\":\"grande@ejemplo.org\",\"relleno\":\"" + "x".repeat(40_000) + "\"}";
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.2.1", body, true), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(new String(forwardedBody.get(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void readListenerIsNotifiedImmediately() throws IOException {
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(
+                new MockHttpServletRequest(), LOGIN_BODY.getBytes(StandardCharsets.UTF_8), true);
+        List<String> calls = new ArrayList<>();
+        AtomicReference<byte[]> read = new AtomicReference<>();
+
+        var input = request.getInputStream();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("data");
+                read.set(input.readAllBytes());
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("all");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("error");
+            }
+        });
+
+        assertThat(calls).containsExactly("data", "all");
+        assertThat(new String(read.get(), StandardCharsets.UTF_8)).isEqualTo(LOGIN_BODY);
+        assertThat(input.isFinished()).isTrue();
+    }
+
+    private static RateLimitFilter filter(RateLimiter rateLimiter) {
+        return new RateLimitFilter(rateLimiter, new ObjectMapper(), new MockEnvironment());
+    }
+
+    private static MockHttpServletRequest login(String ip, String body, boolean chunked) {
+        MockHttpServletRequest request = chunked
+                ? new MockHttpServletRequest() {
+                    @Override
+                    public int getContentLength() {
+                        return -1;
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        return -1;
+                    }
+                }
+                : new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setServletPath("/api/auth/login");
+        request.setRequestURI("/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package com.huahuacuna.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rangeEtagsDependOnEveryParameter() throws Exception {
+        String june = etagOf("/api/events/range?from=2025-06-01T00:00:00&to=2025-07-01T00:00:00&limit=20");
+        String juneAgain = etagOf("/api/events/range?from=2025-06-01T00:00:00&to=2025-07-01T00:00:00&limit=20");
+        String juneSmallerPage = etagOf("/api/events/range?from=2025-06-01T00:00:00&to=2025-07-01T00:00:00&limit=10");
+        String july = etagOf("/api/events/range?from=2025-07-01T00:00:00&to=2025-08-01T00:00:00&limit=20");
+
+        assertThat(juneAgain).isEqualTo(june);
+        assertThat(juneSmallerPage).isNotEqualTo(june);
+        assertThat(july).isNotEqualTo(june);
+        // Resumen SHA-256 completo en hexadecimal
+        assertThat(june).matches("\".*-[0-9a-f]{64}\"");
+    }
+
+    @Test
+    void matchingEtagReturnsNotModified() throws Exception {
+        String etag = etagOf("/api/events/calendar?year=2025&month=6");
+
+        mockMvc.perform(get("/api/events/calendar?year=2025&month=6").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
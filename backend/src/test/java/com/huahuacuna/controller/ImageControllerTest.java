@@ -0,0 +1,134 @@
+package com.huahuacuna.controller;
+
+import com.huahuacuna.model.Child;
+import com.huahuacuna.service.ChildService;
+import com.huahuacuna.service.ImageStorageService;
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.service.ImageUrlSigner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImageControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageUrlSigner imageUrlSigner;
+
+    @Autowired
+    private ChildService childService;
+
+    @Test
+    void childImagesRequireAuthentication() throws Exception {
+        String hash = imageStorageService.store(randomPng(), ImageScope.CHILDREN).hash();
+
+        mockMvc.perform(get("/api/images/children/" + hash))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void signedChildImageUrlsWorkWithoutAuthorizationHeader() throws Exception {
+        String url = imageStorageService.store(randomPng(), ImageScope.CHILDREN).url();
+        String signed = imageUrlSigner.sign(url);
+
+        mockMvc.perform(get(signed))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")));
+        mockMvc.perform(get(signed + "&size=small"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tamperedOrExpiredSignaturesAreRejected() throws Exception {
+        String url = imageStorageService.store(randomPng(), ImageScope.CHILDREN).url();
+        String otherUrl = imageStorageService.store(randomPng(), ImageScope.CHILDREN).url();
+        String signed = imageUrlSigner.sign(url);
+        String otherSignature = imageUrlSigner.sign(otherUrl).substring(otherUrl.length());
+
+        // Firma de otra imagen
+        mockMvc.perform(get(url + otherSignature))
+                .andExpect(status().isForbidden());
+        // Expiración alterada
+        mockMvc.perform(get(signed.replaceFirst("expires=\\d+", "expires=4102444800")))
+                .andExpect(status().isForbidden());
+        // Expirada
+        mockMvc.perform(get(url + "?expires=1&sig=" + signed.substring(signed.indexOf("sig=") + 4)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "PADRINO")
+    void catalogSerializesSignedPhotoUrls() throws Exception {
+        String url = imageStorageService.store(randomPng(), ImageScope.CHILDREN).url();
+        Child child = new Child();
+        child.setFirstName("Foto");
+        child.setLastName("Firmada");
+        child.setBirthDate(LocalDate.of(2016, 3, 1));
+        // Una URL ya firmada que el cliente reenvía se guarda sin la firma
+        child.setImageUrl(imageUrlSigner.sign(url));
+        assertThat(childService.createChild(child).getImageUrl()).isEqualTo(url);
+
+        mockMvc.perform(get("/api/children/available"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].fotoUrl", hasItem(startsWith(url + "?expires="))))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("-" + imageUrlSigner.currentWindow())));
+    }
+
+    @Test
+    @WithMockUser(roles = "PADRINO")
+    void childImagesAreOnlyCachedPrivately() throws Exception {
+        String hash = imageStorageService.store(randomPng(), ImageScope.CHILDREN).hash();
+
+        mockMvc.perform(get("/api/images/children/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("public"))));
+    }
+
+    @Test
+    void publicImagesStayPublic() throws Exception {
+        String hash = imageStorageService.store(randomPng()).hash();
+
+        mockMvc.perform(get("/api/images/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")));
+    }
+
+    private static byte[] randomPng() throws IOException {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, ThreadLocalRandom.current().nextInt(0xFFFFFF));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+package com.huahuacuna.controller;
+
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga: durante una ráfaga de logins (BCrypt de coste alto) los
+ * endpoints baratos siguen respondiendo, porque la verificación se hace en el
+ * pool de cifrado y no en los pocos hilos de Tomcat de esta configuración.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=4",
+        "app.password-hashing.threads=1",
+        "app.password-hashing.queue-capacity=4",
+        "app.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+class LoginStormTest {
+
+    private static final int STORM_REQUESTS = 40;
+    private static final int PROBES = 10;
+    /** Un hilo de cifrado más cuatro en cola. */
+    private static final int HASHING_CAPACITY = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void cheapEndpointsStayResponsiveDuringLoginStorm() throws Exception {
+        String email = "tormenta-" + UUID.randomUUID().toString().substring(0, 8) + "@ejemplo.org";
+        userRepository.save(User.builder()
+                .fullName("Usuario Tormenta")
+                .email(email)
+                .password("{bcrypt}" + new BCryptPasswordEncoder(12).encode("correcta"))
+                .role(Role.PADRINO)
+                .build());
+
+        // Contraseña incorrecta: cada intento cuesta un BCrypt completo y no regenera el hash
+        String body = "{\"email\":\"" + email + "\",\"password\":\"incorrecta\"}";
+        // Calentamiento: la primera petición a cada endpoint carga clases y cachés
+        assertThat(httpClient.send(probe(), HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+        assertThat(httpClient.send(login(body), HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(401);
+
+        List<CompletableFuture<HttpResponse<String>>> storm = new ArrayList<>();
+        for (int i = 0; i < STORM_REQUESTS; i++) {
+            storm.add(httpClient.sendAsync(login(body), HttpResponse.BodyHandlers.ofString()));
+        }
+
+        // Se sondea cuando la ráfaga ya fue admitida (los 503 vuelven al instante)
+        // y el pool de cifrado sigue ocupado con los logins en cola
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (storm.stream().filter(CompletableFuture::isDone).count() < STORM_REQUESTS - HASHING_CAPACITY
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("password.hashing.active").gauge().value()).isEqualTo(1);
+
+        long slowestProbeMillis = 0;
+        for (int i = 0; i < PROBES; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> probe = httpClient.send(probe(), HttpResponse.BodyHandlers.ofString());
+            slowestProbeMillis = Math.max(slowestProbeMillis, Duration.ofNanos(System.nanoTime() - start).toMillis());
+            assertThat(probe.statusCode()).isEqualTo(200);
+        }
+
+        int unauthorized = 0;
+        int busy = 0;
+        for (CompletableFuture<HttpResponse<String>> request : storm) {
+            HttpResponse<String> response = request.join();
+            if (response.statusCode() == 401) {
+                unauthorized++;
+            } else if (response.statusCode() == 503) {
+                busy++;
+                assertThat(response.headers().firstValue("Retry-After")).isPresent();
+            }
+        }
+
+        // Lo que no cabe en el pool de cifrado se rechaza al instante
+        assertThat(unauthorized + busy).isEqualTo(STORM_REQUESTS);
+        assertThat(busy).isPositive();
+        assertThat(slowestProbeMillis).as("latencia máxima de /api/events durante la ráfaga (ms)")
+                .isLessThan(1000);
+    }
+
+    private HttpRequest login(String body) {
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest probe() {
+        return HttpRequest.newBuilder(uri("/api/events"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,106 @@
+package com.huahuacuna.controller;
+
+import com.huahuacuna.model.Notification;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.service.NotificationService;
+import com.huahuacuna.service.UnreadCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private User otherAdmin;
+
+    @BeforeEach
+    void setUp() {
+        admin = saveAdmin();
+        otherAdmin = saveAdmin();
+    }
+
+    @Test
+    void markingOneNotificationIsSynchronousAndIdempotent() throws Exception {
+        Notification notification = notificationService.createNotification("Aviso", "Mensaje", "INFO", admin.getId(), null);
+        notificationService.createNotification("Otro", "Mensaje", "INFO", admin.getId(), null);
+        String key = UnreadCounterService.notificationKey(admin.getId());
+        assertThat(unreadCounterService.get(key)).isEqualTo(2);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/api/notifications/" + notification.getId() + "/read").with(as(admin)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data.id").value(notification.getId()))
+                    .andExpect(jsonPath("$.data.isRead").value(true))
+                    .andExpect(jsonPath("$.data.readAt").isNotEmpty());
+        }
+
+        assertThat(unreadCounterService.get(key)).isEqualTo(1);
+    }
+
+    @Test
+    void otherUsersNotificationsAreNotFound() throws Exception {
+        Notification notification = notificationService.createNotification("Ajena", "Mensaje", "INFO", otherAdmin.getId(), null);
+
+        mockMvc.perform(patch("/api/notifications/" + notification.getId() + "/read").with(as(admin)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+
+        assertThat(notificationService.getNotificationById(notification.getId()).getIsRead()).isFalse();
+        assertThat(unreadCounterService.get(UnreadCounterService.notificationKey(otherAdmin.getId()))).isEqualTo(1);
+    }
+
+    @Test
+    void missingNotificationsAreNotFound() throws Exception {
+        mockMvc.perform(patch("/api/notifications/" + Long.MAX_VALUE + "/read").with(as(admin)))
+                .andExpect(status().isNotFound());
+    }
+
+    private static RequestPostProcessor as(User user) {
+        return authentication(new UsernamePasswordAuthenticationToken(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))));
+    }
+
+    private User saveAdmin() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .fullName("Admin " + suffix)
+                .email("admin-" + suffix + "@ejemplo.org")
+                .password("{noop}no-usado")
+                .role(Role.ADMIN)
+                .build());
+    }
+}
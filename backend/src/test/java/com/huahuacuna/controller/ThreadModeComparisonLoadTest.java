@@ -0,0 +1,296 @@
+package com.huahuacuna.controller;
+
+import com.huahuacuna.HuahuacunaApplication;
+import com.huahuacuna.model.Child;
+import com.huahuacuna.model.ChildStatus;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.Sponsorship;
+import com.huahuacuna.model.SponsorshipStatus;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.repository.SponsorshipRepository;
+import com.huahuacuna.repository.UserRepository;
+import com.huahuacuna.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara los hilos de plataforma con los virtuales en el mismo arnés.
+ * <p>
+ * Levanta la aplicación dos veces con el mismo límite de hilos de Tomcat
+ * ({@code server.tomcat.threads.max=8}), una en cada modo, y aplica la misma
+ * carga: varios padrinos escriben y leen su chat mientras el administrador
+ * consulta sus notificaciones (peticiones que pasan por la base de datos). A
+ * la vez, una sonda pide la lista pública de eventos, que se sirve desde
+ * memoria. Con hilos de plataforma la sonda espera en la cola de Tomcat
+ * detrás de las peticiones de base de datos; con hilos virtuales no hay cola
+ * de hilos y solo compite por CPU. El informe pone los dos modos lado a lado
+ * y, si queda al menos un portador reservado, la prueba exige que con hilos
+ * virtuales el p99 de la sonda no pase de {@link #PROBE_P99_BOUND_MILLIS}.
+ * </p>
+ */
+class ThreadModeComparisonLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeComparisonLoadTest.class);
+
+    private static final int GODPARENTS = 24;
+    private static final int ROUNDS = 3;
+    private static final long PROBE_INTERVAL_MILLIS = 25;
+    private static final long PROBE_P99_BOUND_MILLIS = 1_000;
+    private static final int RESERVED_CARRIERS = 1;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    /**
+     * Resultado de una pasada.
+     */
+    private record LoadResult(String mode, int requests, long elapsedMillis,
+                              List<Long> loadLatencies, List<Long> probeLatencies) {
+
+        long throughput() {
+            return requests * 1000L / Math.max(1, elapsedMillis);
+        }
+    }
+
+    @Test
+    void virtualThreadsKeepCheapRequestsFastUnderDatabaseLoad() throws Exception {
+        LoadResult platform = runMode("plataforma", false);
+        LoadResult virtual = runMode("virtuales", true);
+
+        log.info("Comparación de modos de hilos (Tomcat threads.max=8, {} padrinos x {} rondas x 5 peticiones):\n"
+                        + "  {}\n  {}\n  {}",
+                GODPARENTS, ROUNDS,
+                String.format("%-11s %9s %8s %8s %8s %10s %10s",
+                        "modo", "pet/s", "p50 ms", "p99 ms", "máx ms", "sonda p50", "sonda p99"),
+                row(platform), row(virtual));
+
+        // Con un solo portador el guardián no puede reservar ninguno (VirtualThreadsConfig ya lo avisa):
+        // una llamada JDBC fijada detiene también la sonda y solo queda el informe
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        if (carriers <= RESERVED_CARRIERS) {
+            log.warn("Solo {} portador(es): se omite el límite del p99 de la sonda con hilos virtuales", carriers);
+            return;
+        }
+        assertThat(percentile(virtual.probeLatencies(), 99))
+                .as("p99 de la sonda con hilos virtuales")
+                .isLessThanOrEqualTo(PROBE_P99_BOUND_MILLIS);
+    }
+
+    private LoadResult runMode(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HuahuacunaApplication.class)
+                .profiles("test")
+                // Argumentos y no properties(): esas solo son valores por defecto y application.properties las pisa
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=8",
+                        "--app.rate-limit.enabled=false",
+                        "--app.virtual-threads.reserved-carriers=" + RESERVED_CARRIERS,
+                        "--spring.datasource.url=jdbc:h2:mem:huahuacuna_load_" + virtualThreads + ";DB_CLOSE_DELAY=-1")) {
+            if (virtualThreads) {
+                assertThat(context.getBean(DataSource.class).getClass().getSimpleName())
+                        .isEqualTo("PinningGuardDataSource");
+            }
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return runLoad(mode, context, port);
+        }
+    }
+
+    private LoadResult runLoad(String mode, ConfigurableApplicationContext context, int port) throws Exception {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ChildRepository childRepository = context.getBean(ChildRepository.class);
+        SponsorshipRepository sponsorshipRepository = context.getBean(SponsorshipRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+
+        String adminToken = jwtService.generateToken(saveUser(userRepository, "admin-carga", Role.ADMIN));
+        List<String> godparentTokens = new ArrayList<>();
+        List<Long> sponsorshipIds = new ArrayList<>();
+        for (int i = 0; i < GODPARENTS; i++) {
+            User godparent = saveUser(userRepository, "padrino-carga" + i, Role.PADRINO);
+            godparentTokens.add(jwtService.generateToken(godparent));
+            sponsorshipIds.add(sponsorshipRepository.save(Sponsorship.builder()
+                    .godparent(godparent)
+                    .child(saveChild(childRepository, "Carga" + i))
+                    .status(SponsorshipStatus.ACTIVE)
+                    .build()).getId());
+        }
+
+        // Calentamiento: la primera petición a cada endpoint carga clases y cachés
+        runRound(port, godparentTokens.get(0), sponsorshipIds.get(0), adminToken, 0);
+        probe(port);
+
+        List<Long> loadLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<Long> probeLatencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean loadRunning = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(GODPARENTS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        long startNanos;
+        try {
+            for (int i = 0; i < GODPARENTS; i++) {
+                String godparentToken = godparentTokens.get(i);
+                Long sponsorshipId = sponsorshipIds.get(i);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 1; round <= ROUNDS; round++) {
+                        loadLatencies.addAll(runRound(port, godparentToken, sponsorshipId, adminToken, round));
+                    }
+                    return null;
+                }));
+            }
+            Future<?> prober = executor.submit(() -> {
+                start.await();
+                while (loadRunning.get()) {
+                    probeLatencies.add(probe(port));
+                    Thread.sleep(PROBE_INTERVAL_MILLIS);
+                }
+                return null;
+            });
+            startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(180, TimeUnit.SECONDS);
+            }
+            loadRunning.set(false);
+            prober.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(loadLatencies).hasSize(GODPARENTS * ROUNDS * 5);
+        assertThat(probeLatencies).isNotEmpty();
+        // Cada padrino escribió un mensaje por ronda (más el de calentamiento del primero)
+        for (int i = 0; i < GODPARENTS; i++) {
+            HttpResponse<String> messages = send(get(port, "/api/padrinos/apadrinamientos/" + sponsorshipIds.get(i)
+                    + "/mensajes", godparentTokens.get(i)));
+            assertThat(messages.statusCode()).isEqualTo(200);
+            assertThat(messages.body().split("\"contenido\"", -1).length - 1).isEqualTo(i == 0 ? ROUNDS + 1 : ROUNDS);
+        }
+        return new LoadResult(mode, loadLatencies.size(), elapsedMillis, sorted(loadLatencies), sorted(probeLatencies));
+    }
+
+    /**
+     * Una ronda: el padrino envía un mensaje, lee su chat y su contador; el
+     * administrador lee sus notificaciones y su contador.
+     *
+     * @return latencia de cada petición en milisegundos
+     */
+    private List<Long> runRound(int port, String godparentToken, Long sponsorshipId, String adminToken, int round)
+            throws Exception {
+        String chat = "/api/padrinos/apadrinamientos/" + sponsorshipId + "/mensajes";
+        List<HttpRequest> requests = List.of(
+                HttpRequest.newBuilder(uri(port, chat))
+                        .header("Authorization", "Bearer " + godparentToken)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"contenido\":\"Mensaje " + round + "\"}"))
+                        .build(),
+                get(port, chat, godparentToken),
+                get(port, "/api/padrinos/mensajes/no-leidos", godparentToken),
+                get(port, "/api/notifications/unread/count", adminToken),
+                get(port, "/api/notifications", adminToken));
+
+        List<Long> latencies = new ArrayList<>();
+        for (HttpRequest request : requests) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = send(request);
+            latencies.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+            assertThat(response.statusCode()).as("%s %s", request.method(), request.uri()).isEqualTo(200);
+        }
+        return latencies;
+    }
+
+    /**
+     * Pide la lista pública de eventos (instantánea en memoria).
+     *
+     * @return latencia en milisegundos
+     */
+    private long probe(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(port, "/api/events"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = send(request);
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertThat(response.statusCode()).isEqualTo(200);
+        return millis;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(int port, String path, String token) {
+        return HttpRequest.newBuilder(uri(port, path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String row(LoadResult result) {
+        List<Long> load = result.loadLatencies();
+        return String.format("%-11s %9d %8d %8d %8d %10d %10d",
+                result.mode(), result.throughput(), percentile(load, 50), percentile(load, 99),
+                load.get(load.size() - 1),
+                percentile(result.probeLatencies(), 50), percentile(result.probeLatencies(), 99));
+    }
+
+    private static List<Long> sorted(List<Long> latencies) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static User saveUser(UserRepository userRepository, String emailPrefix, Role role) {
+        return userRepository.save(User.builder()
+                .fullName("Usuario " + emailPrefix)
+                .email(emailPrefix + "@ejemplo.org")
+                .password("{noop}no-usado")
+                .role(role)
+                .build());
+    }
+
+    private static Child saveChild(ChildRepository childRepository, String firstName) {
+        Child child = new Child();
+        child.setFirstName(firstName);
+        child.setLastName("Prueba");
+        child.setBirthDate(LocalDate.of(2015, 5, 20));
+        child.setStatus(ChildStatus.SPONSORED);
+        return childRepository.save(child);
+    }
+}
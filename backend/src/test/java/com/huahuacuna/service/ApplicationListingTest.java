@@ -0,0 +1,82 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ApplicationRequest;
+import com.huahuacuna.model.ApplicationStatus;
+import com.huahuacuna.model.ApplicationType;
+import com.huahuacuna.model.dto.ApplicationPageDTO;
+import com.huahuacuna.model.dto.ApplicationSummaryDTO;
+import com.huahuacuna.repository.ApplicationRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationListingTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private ApplicationRequestRepository applicationRepository;
+
+    @Test
+    void keysetPagesWalkEachFilterCombinationWithoutGapsOrDuplicates() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<ApplicationRequest> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ApplicationRequest application = new ApplicationRequest();
+            application.setFullName("Listado " + i);
+            application.setEmail("listado" + i + "-" + suffix + "@ejemplo.org");
+            application.setPhone("3000000000");
+            application.setType(i % 2 == 0 ? ApplicationType.VOLUNTARIO : ApplicationType.PADRINO);
+            application.setStatus(i % 3 == 0 ? ApplicationStatus.EN_REVISION : ApplicationStatus.PENDIENTE);
+            created.add(applicationRepository.save(application));
+        }
+
+        assertWalk(null, null, created, suffix);
+        assertWalk(ApplicationType.VOLUNTARIO, null, created, suffix);
+        assertWalk(null, ApplicationStatus.EN_REVISION, created, suffix);
+        assertWalk(ApplicationType.PADRINO, ApplicationStatus.PENDIENTE, created, suffix);
+    }
+
+    private void assertWalk(ApplicationType type, ApplicationStatus status,
+                            List<ApplicationRequest> created, String suffix) {
+        List<ApplicationSummaryDTO> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            ApplicationPageDTO page = applicationService.listApplications(type, status, null, null, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(all).isSortedAccordingTo(Comparator
+                .comparing(ApplicationSummaryDTO::getCreatedAt)
+                .thenComparing(ApplicationSummaryDTO::getId)
+                .reversed());
+        assertThat(all).extracting(ApplicationSummaryDTO::getId).doesNotHaveDuplicates();
+        assertThat(all).allMatch(a -> (type == null || a.getType() == type)
+                && (status == null || a.getStatus() == status));
+
+        Set<Long> expected = created.stream()
+                .filter(a -> (type == null || a.getType() == type) && (status == null || a.getStatus() == status))
+                .map(ApplicationRequest::getId)
+                .collect(Collectors.toSet());
+        Set<Long> found = all.stream()
+                .filter(a -> a.getEmail().endsWith(suffix + "@ejemplo.org"))
+                .map(ApplicationSummaryDTO::getId)
+                .collect(Collectors.toSet());
+        assertThat(found).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,116 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ApplicationRequest;
+import com.huahuacuna.util.TextNormalizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de la búsqueda por prefijo sobre la columna normalizada frente a
+ * la búsqueda anterior con {@code LOWER(full_name) LIKE '%...%'}, sobre un
+ * millón de solicitudes (configurable con {@code -Dbenchmark.rows}).
+ * <p>
+ * Solo se ejecuta con {@code -Dbenchmark=true}; usa su propia base de datos
+ * en memoria para no cargar el resto de pruebas con el millón de filas.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:huahuacuna_benchmark;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ApplicationSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationSearchBenchmarkTest.class);
+
+    private static final String[] FIRST_NAMES = {
+            "José", "Jose", "María", "Maria", "Ángela", "Iñigo", "Lucía", "Andrés", "Sofía", "Martín"};
+    private static final String[] LAST_NAMES = {
+            "Pérez", "Peña", "Gómez", "Núñez", "Rodríguez", "Ortiz", "Díaz", "Álvarez"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void normalizedPrefixSearchBeatsLowerLikeScan() {
+        int rows = Integer.getInteger("benchmark.rows", 1_000_000);
+        long seedStart = System.nanoTime();
+        seed(rows);
+        log.info("Benchmark de búsqueda: {} solicitudes insertadas en {} ms", rows, millisSince(seedStart));
+
+        // Búsqueda anterior: sensible a tildes y sin índice posible
+        String oldSql = "SELECT id FROM application_requests WHERE LOWER(full_name) LIKE LOWER(?)";
+        Supplier<List<Long>> oldSearch = () -> jdbcTemplate.queryForList(oldSql, Long.class, "%jose pe%");
+        Supplier<List<ApplicationRequest>> newSearch = () -> applicationService.searchApplicationsByNamePrefix("jose pe");
+
+        long oldMicros = medianMicros(oldSearch);
+        long newMicros = medianMicros(newSearch);
+        List<Long> oldResults = oldSearch.get();
+        List<ApplicationRequest> newResults = newSearch.get();
+
+        log.info("Benchmark de búsqueda sobre {} filas: LOWER LIKE mediana {} µs ({} resultados); "
+                        + "prefijo normalizado mediana {} µs ({} resultados, máx. 50); {}x más rápida",
+                rows, oldMicros, oldResults.size(), newMicros, newResults.size(),
+                oldMicros / Math.max(1, newMicros));
+
+        // La búsqueda nueva encuentra también las variantes con tilde
+        assertThat(newResults).hasSize(50)
+                .allMatch(a -> a.getFullNameNormalized().startsWith("jose pe"));
+        assertThat(newResults).extracting(ApplicationRequest::getFullName).anyMatch(name -> name.startsWith("José"));
+        assertThat(oldResults).isNotEmpty();
+        assertThat(newMicros).isLessThan(oldMicros);
+    }
+
+    private void seed(int rows) {
+        String sql = "INSERT INTO application_requests "
+                + "(type, status, full_name, full_name_normalized, email, phone, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(rows, from + BATCH_SIZE); i++) {
+                String fullName = FIRST_NAMES[i % FIRST_NAMES.length] + " "
+                        + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i;
+                batch.add(new Object[]{
+                        i % 2 == 0 ? "VOLUNTARIO" : "PADRINO", "PENDIENTE",
+                        fullName, TextNormalizer.normalize(fullName),
+                        "benchmark" + i + "@ejemplo.org", "3000000000", now, now});
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static long medianMicros(Supplier<?> search) {
+        search.get(); // calentamiento
+        long[] micros = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            search.get();
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros[RUNS / 2];
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
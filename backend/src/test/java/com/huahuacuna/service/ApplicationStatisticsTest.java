@@ -0,0 +1,34 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ApplicationRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationStatisticsTest {
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Test
+    void cachedStatisticsAreInvalidatedOnceTheChangeCommits() {
+        long before = (Long) applicationService.getApplicationStatistics().get("total");
+        // Segunda lectura servida desde la caché
+        assertThat(applicationService.getApplicationStatistics().get("total")).isEqualTo(before);
+
+        ApplicationRequest application = new ApplicationRequest();
+        application.setFullName("Estadisticas");
+        application.setEmail("estadisticas-" + UUID.randomUUID() + "@ejemplo.org");
+        application.setPhone("3000000000");
+        applicationService.createVolunteerApplication(application);
+
+        assertThat(applicationService.getApplicationStatistics().get("total")).isEqualTo(before + 1);
+    }
+}
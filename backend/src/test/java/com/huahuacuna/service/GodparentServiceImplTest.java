@@ -0,0 +1,232 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ChatMessage;
+import com.huahuacuna.model.Child;
+import com.huahuacuna.model.ChildStatus;
+import com.huahuacuna.model.LogEntry;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.Sponsorship;
+import com.huahuacuna.model.SponsorshipStatus;
+import com.huahuacuna.model.User;
+import com.huahuacuna.model.dto.ChatMessageDTO;
+import com.huahuacuna.model.dto.SponsorshipSummaryDTO;
+import com.huahuacuna.repository.ChatMessageRepository;
+import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.repository.LogEntryRepository;
+import com.huahuacuna.repository.SponsorshipRepository;
+import com.huahuacuna.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class GodparentServiceImplTest {
+
+    @Autowired
+    private GodparentService godparentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private SponsorshipRepository sponsorshipRepository;
+
+    @Autowired
+    private LogEntryRepository logEntryRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void adminSponsorshipListIsASingleProjectionQuery() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<Sponsorship> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Sponsorship sponsorship = sponsorshipRepository.save(Sponsorship.builder()
+                    .godparent(saveGodparent("resumen" + i + "-" + suffix))
+                    .child(saveChild("Resumen" + i, ChildStatus.SPONSORED))
+                    .status(SponsorshipStatus.ACTIVE)
+                    .build());
+            for (int entry = 0; entry < i; entry++) {
+                logEntryRepository.save(LogEntry.builder()
+                        .sponsorship(sponsorship)
+                        .title("Entrada " + entry)
+                        .content("Contenido")
+                        .registeredBy(LogEntry.RegisteredBy.ADMIN)
+                        .build());
+            }
+            created.add(sponsorship);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<SponsorshipSummaryDTO> summaries = godparentService.getAllActiveSponsorshipsForAdmin();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        Map<Long, SponsorshipSummaryDTO> byId = summaries.stream()
+                .collect(Collectors.toMap(SponsorshipSummaryDTO::getId, Function.identity()));
+        for (int i = 0; i < created.size(); i++) {
+            SponsorshipSummaryDTO summary = byId.get(created.get(i).getId());
+            assertThat(summary).isNotNull();
+            assertThat(summary.getEntriesCount()).isEqualTo(i);
+            assertThat(summary.getGodparentEmail()).startsWith("resumen" + i + "-");
+            assertThat(summary.getChildName()).startsWith("Resumen" + i);
+        }
+    }
+
+    @Test
+    void readReceiptsOnlyMoveTheWatermark() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User godparent = saveGodparent("lectura-" + suffix);
+        Sponsorship sponsorship = sponsorshipRepository.save(Sponsorship.builder()
+                .godparent(godparent)
+                .child(saveChild("Lectura", ChildStatus.SPONSORED))
+                .status(SponsorshipStatus.ACTIVE)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .fullName("Admin lectura")
+                .email("admin-lectura-" + suffix + "@ejemplo.org")
+                .password("{noop}no-usado")
+                .role(Role.ADMIN)
+                .build());
+        List<Long> messageIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            messageIds.add(chatMessageRepository.save(ChatMessage.builder()
+                    .sponsorship(sponsorship)
+                    .content("Mensaje " + i)
+                    .sentBy(ChatMessage.SentBy.ADMIN)
+                    .senderUserId(admin.getId())
+                    .isRead(false)
+                    .build()).getId());
+        }
+        String counterKey = UnreadCounterService.godparentChatKey(godparent.getId());
+        assertThat(unreadCounterService.get(counterKey)).isEqualTo(3);
+
+        godparentService.markMessagesAsRead(sponsorship.getId(), godparent.getId(), messageIds.get(1));
+        // Repetir la misma lectura no vuelve a descontar
+        godparentService.markMessagesAsRead(sponsorship.getId(), godparent.getId(), messageIds.get(1));
+
+        assertThat(unreadCounterService.get(counterKey)).isEqualTo(1);
+        List<ChatMessageDTO> messages = godparentService.getChatMessages(sponsorship.getId(), godparent.getId());
+        assertThat(messages).extracting(ChatMessageDTO::getLeido).containsExactly(true, true, false);
+        assertThat(messages.get(0).getFechaLectura()).isNotNull();
+        assertThat(messages.get(2).getFechaLectura()).isNull();
+        // Ningún mensaje se actualizó: la lectura se deriva de la marca
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chat_messages WHERE sponsorship_id = ? AND is_read = TRUE",
+                Long.class, sponsorship.getId())).isZero();
+
+        godparentService.markMessagesAsRead(sponsorship.getId(), godparent.getId(), messageIds.get(2));
+        assertThat(unreadCounterService.get(counterKey)).isZero();
+    }
+
+    @Test
+    void concurrentSelectionsProduceExactlyOneWinnerPerChild() throws Exception {
+        int requests = 200;
+        int childCount = 10;
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        List<Long> childIds = new ArrayList<>();
+        for (int i = 0; i < childCount; i++) {
+            childIds.add(saveChild("Disputado" + i, ChildStatus.AVAILABLE).getId());
+        }
+        List<Long> godparentIds = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            godparentIds.add(saveGodparent("carrera" + i + "-" + suffix).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                Long godparentId = godparentIds.get(i);
+                Long childId = childIds.get(i % childCount);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        godparentService.selectChild(godparentId, childId);
+                        return childId;
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Long> wonChildren = new ArrayList<>();
+            for (Future<Long> result : results) {
+                Long childId = result.get(60, TimeUnit.SECONDS);
+                if (childId != null) {
+                    wonChildren.add(childId);
+                }
+            }
+
+            assertThat(wonChildren).containsExactlyInAnyOrderElementsOf(childIds);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Long, Long> activeByChild = sponsorshipRepository.findAll().stream()
+                .filter(s -> s.getStatus() == SponsorshipStatus.ACTIVE && childIds.contains(s.getChild().getId()))
+                .collect(Collectors.groupingBy(s -> s.getChild().getId(), Collectors.counting()));
+        for (Long childId : childIds) {
+            assertThat(childRepository.findById(childId).orElseThrow().getStatus()).isEqualTo(ChildStatus.SPONSORED);
+            assertThat(activeByChild.get(childId)).as("apadrinamientos activos del niño %d", childId).isEqualTo(1L);
+        }
+    }
+
+    private User saveGodparent(String emailPrefix) {
+        return userRepository.save(User.builder()
+                .fullName("Padrino " + emailPrefix)
+                .email(emailPrefix + "@ejemplo.org")
+                .password("{noop}no-usado")
+                .role(Role.PADRINO)
+                .build());
+    }
+
+    private Child saveChild(String firstName, ChildStatus status) {
+        Child child = new Child();
+        child.setFirstName(firstName);
+        child.setLastName("Prueba");
+        child.setBirthDate(LocalDate.of(2015, 5, 20));
+        child.setStatus(status);
+        return childRepository.save(child);
+    }
+}
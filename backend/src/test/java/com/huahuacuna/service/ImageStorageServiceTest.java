@@ -0,0 +1,84 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageStorageServiceTest {
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void childImagesAreStoredOutsideThePublicScope() throws IOException {
+        ImageStorageService.StoredImage image = imageStorageService.store(randomPng(), ImageScope.CHILDREN);
+
+        assertThat(image.url()).isEqualTo("/api/images/children/" + image.hash());
+        assertThat(imageStorageService.find(ImageScope.CHILDREN, image.hash())).isPresent();
+        assertThat(imageStorageService.find(ImageScope.PUBLIC, image.hash())).isEmpty();
+    }
+
+    @Test
+    void copyingAPublicImageToTheChildrenScopeKeepsItsHash() throws IOException {
+        ImageStorageService.StoredImage publicImage = imageStorageService.store(randomPng());
+
+        String childUrl = imageStorageService.copyToScope(publicImage.url(), ImageScope.CHILDREN);
+
+        assertThat(childUrl).isEqualTo("/api/images/children/" + publicImage.hash());
+        assertThat(imageStorageService.find(ImageScope.CHILDREN, publicImage.hash())).isPresent();
+    }
+
+    @Test
+    void filesWrittenInARolledBackTransactionAreDeleted() throws IOException {
+        byte[] png = randomPng();
+        String[] hash = new String[1];
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            hash[0] = imageStorageService.store(png, ImageScope.CHILDREN).hash();
+            assertThat(imageStorageService.find(ImageScope.CHILDREN, hash[0])).isPresent();
+            throw new IllegalStateException("fallo al guardar el niño");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(imageStorageService.find(ImageScope.CHILDREN, hash[0])).isEmpty();
+    }
+
+    @Test
+    void filesWrittenInACommittedTransactionAreKept() throws IOException {
+        byte[] png = randomPng();
+
+        String hash = new TransactionTemplate(transactionManager)
+                .execute(status -> imageStorageService.store(png, ImageScope.CHILDREN).hash());
+
+        assertThat(imageStorageService.find(ImageScope.CHILDREN, hash)).isPresent();
+    }
+
+    /**
+     * PNG con un píxel aleatorio, para que cada prueba escriba un archivo nuevo.
+     */
+    static byte[] randomPng() throws IOException {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, ThreadLocalRandom.current().nextInt(0xFFFFFF));
+        image.setRGB(3, 3, ThreadLocalRandom.current().nextInt(0xFFFFFF));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
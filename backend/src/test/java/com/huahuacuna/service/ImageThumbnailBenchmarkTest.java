@@ -0,0 +1,148 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.service.ImageThumbnailService.ImageVariant;
+import com.huahuacuna.service.ImageThumbnailService.ThumbnailSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del pool acotado de miniaturas: guarda 1.000 imágenes generadas
+ * (configurable con {@code -Dbenchmark.images}) y mide cuántas por segundo
+ * quedan con sus tres variantes mientras varios clientes piden miniaturas.
+ * <p>
+ * Solo se ejecuta con {@code -Dbenchmark=true}. Las imágenes que el pool
+ * rechaza con la cola llena se encolan de nuevo con la siguiente petición,
+ * igual que en producción.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:huahuacuna_benchmark;DB_CLOSE_DELAY=-1",
+        // Directorio nuevo en cada ejecución: con las miniaturas ya en disco no se mediría nada
+        "app.images.storage-dir=./target/benchmark-images/${random.uuid}"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ImageThumbnailBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageThumbnailBenchmarkTest.class);
+
+    private static final int WIDTH = 1200;
+    private static final int HEIGHT = 900;
+    private static final int CLIENTS = 4;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageThumbnailService imageThumbnailService;
+
+    @Value("${app.images.thumbnail-threads:2}")
+    private int threads;
+
+    @Value("${app.images.thumbnail-queue-capacity:100}")
+    private int queueCapacity;
+
+    @Test
+    void thumbnailPoolThroughput() throws Exception {
+        int images = Integer.getInteger("benchmark.images", 1_000);
+        long generateStart = System.nanoTime();
+        List<byte[]> originals = new ArrayList<>(images);
+        for (int i = 0; i < images; i++) {
+            originals.add(jpeg(i));
+        }
+        log.info("Benchmark de miniaturas: {} JPEG de {}x{} generados en {} ms",
+                images, WIDTH, HEIGHT, millisSince(generateStart));
+
+        AtomicInteger provisional = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        List<String> hashes = new ArrayList<>(images);
+        try {
+            List<Future<?>> requests = new ArrayList<>(images);
+            for (byte[] original : originals) {
+                // Guardar encola las miniaturas; un cliente las pide a continuación
+                String hash = imageStorageService.store(original).hash();
+                hashes.add(hash);
+                requests.add(clients.submit(() -> {
+                    ImageVariant variant = imageThumbnailService
+                            .findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.MEDIUM).orElseThrow();
+                    if (!variant.permanent()) {
+                        provisional.incrementAndGet();
+                        // Original provisional: se vuelve a pedir hasta que la miniatura exista
+                        while (!imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.MEDIUM)
+                                .orElseThrow().permanent()) {
+                            Thread.sleep(10);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get(10, TimeUnit.MINUTES);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        long elapsedMillis = millisSince(start);
+
+        for (String hash : hashes) {
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                assertThat(Files.isRegularFile(imageStorageService.variantPathFor(ImageScope.PUBLIC, hash, size.key())))
+                        .as("miniatura %s de %s", size.key(), hash)
+                        .isTrue();
+            }
+        }
+        log.info("Benchmark de miniaturas: {} imágenes ({} variantes) en {} ms con {} hilos y cola de {}: "
+                        + "{} imágenes/s; {} peticiones recibieron el original provisional",
+                images, images * ThumbnailSize.values().length, elapsedMillis, threads, queueCapacity,
+                String.format("%.1f", images * 1000.0 / Math.max(1, elapsedMillis)), provisional.get());
+    }
+
+    /**
+     * JPEG distinto para cada índice (el almacén deduplica por contenido).
+     */
+    private static byte[] jpeg(int index) throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, new Color(index * 7919 & 0xFFFFFF),
+                    WIDTH, HEIGHT, new Color(index * 104729 & 0xFFFFFF)));
+            graphics.fillRect(0, 0, WIDTH, HEIGHT);
+            graphics.setColor(Color.WHITE);
+            graphics.drawString("Imagen " + index, WIDTH / 3, HEIGHT / 2);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return output.toByteArray();
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,153 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.service.ImageStorageService.ImageScope;
+import com.huahuacuna.service.ImageThumbnailService.ImageVariant;
+import com.huahuacuna.service.ImageThumbnailService.ThumbnailSize;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageThumbnailServiceTest {
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ImageThumbnailService imageThumbnailService;
+
+    @Test
+    void thumbnailsFollowTheExifOrientation() throws IOException {
+        // Foto apaisada de 40x20 marcada como "girar 90° en sentido horario"
+        byte[] jpeg = withExifOrientation(jpeg(40, 20), 6);
+        String hash = imageStorageService.store(jpeg).hash();
+
+        ImageVariant variant = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.SMALL).orElseThrow();
+
+        assertThat(variant.permanent()).isTrue();
+        BufferedImage thumbnail = ImageIO.read(variant.file().path().toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(20);
+        assertThat(thumbnail.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    void imagesWithoutOrientationKeepTheirShape() throws IOException {
+        String hash = imageStorageService.store(jpeg(40, 20)).hash();
+
+        ImageVariant variant = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.SMALL).orElseThrow();
+
+        BufferedImage thumbnail = ImageIO.read(variant.file().path().toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+        assertThat(thumbnail.getHeight()).isEqualTo(20);
+    }
+
+    @Test
+    void undecodableImagesAreServedAsOriginalWithoutRetrying() {
+        // Firma PNG válida seguida de datos corruptos
+        byte[] corrupt = new byte[64];
+        ThreadLocalRandom.current().nextBytes(corrupt);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, corrupt, 0, signature.length);
+        String hash = imageStorageService.store(corrupt).hash();
+
+        ImageVariant first = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.MEDIUM).orElseThrow();
+        ImageVariant second = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.LARGE).orElseThrow();
+
+        assertThat(first.file().format()).isEqualTo(ImageStorageService.ImageFormat.PNG);
+        assertThat(first.permanent()).isTrue();
+        assertThat(second.file().path()).isEqualTo(first.file().path());
+        assertThat(second.permanent()).isTrue();
+    }
+
+    @Test
+    void imagesOverThePixelBudgetAreNotDecoded() throws IOException {
+        // PNG de unos cientos de bytes que declara 50000x50000 píxeles (10 GB en memoria)
+        String hash = imageStorageService.store(pngDeclaring(50_000, 50_000)).hash();
+
+        ImageVariant first = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.SMALL).orElseThrow();
+        ImageVariant second = imageThumbnailService.findVariant(ImageScope.PUBLIC, hash, ThumbnailSize.LARGE).orElseThrow();
+
+        assertThat(first.file().format()).isEqualTo(ImageStorageService.ImageFormat.PNG);
+        assertThat(first.permanent()).isTrue();
+        assertThat(second.file().path()).isEqualTo(first.file().path());
+        assertThat(second.permanent()).isTrue();
+    }
+
+    /**
+     * PNG en escala de grises con la cabecera indicada y unas pocas filas de ceros comprimidos.
+     */
+    private static byte[] pngDeclaring(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(output);
+        data.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.write(new byte[]{8, 0, 0, 0, 0}); // 8 bits, gris, sin entrelazado
+        writeChunk(data, "IHDR", header.toByteArray());
+
+        ByteArrayOutputStream pixels = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(pixels)) {
+            deflater.write(new byte[(width + 1) * 4]);
+        }
+        writeChunk(data, "IDAT", pixels.toByteArray());
+        writeChunk(data, "IEND", new byte[0]);
+        return output.toByteArray();
+    }
+
+    private static void writeChunk(DataOutputStream data, String type, byte[] content) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(content);
+        data.writeInt(content.length);
+        data.write(typeBytes);
+        data.write(content);
+        data.writeInt((int) crc.getValue());
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, 0, ThreadLocalRandom.current().nextInt(0xFFFFFF));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Inserta tras el SOI un segmento APP1 con un IFD0 que solo contiene la orientación.
+     */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] exif = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] result = new byte[jpeg.length + exif.length];
+        System.arraycopy(jpeg, 0, result, 0, 2);
+        System.arraycopy(exif, 0, result, 2, exif.length);
+        System.arraycopy(jpeg, 2, result, 2 + exif.length, jpeg.length - 2);
+        return result;
+    }
+}
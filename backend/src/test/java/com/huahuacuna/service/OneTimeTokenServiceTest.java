@@ -0,0 +1,69 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.TokenPurpose;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OneTimeTokenServiceTest {
+
+    @Autowired
+    private OneTimeTokenService oneTimeTokenService;
+
+    @Test
+    void tokenIsValidOnlyForItsPurposeAndUntilConsumed() {
+        String token = oneTimeTokenService.issue(41L, TokenPurpose.PASSWORD_RESET, Duration.ofMinutes(10));
+
+        assertThat(oneTimeTokenService.peek(token, TokenPurpose.EMAIL_VERIFICATION)).isEmpty();
+        assertThat(oneTimeTokenService.peek(token, TokenPurpose.PASSWORD_RESET)).contains(41L);
+        assertThat(oneTimeTokenService.peek("desconocido", TokenPurpose.PASSWORD_RESET)).isEmpty();
+
+        assertThat(oneTimeTokenService.consume(token, TokenPurpose.PASSWORD_RESET)).contains(41L);
+        assertThat(oneTimeTokenService.consume(token, TokenPurpose.PASSWORD_RESET)).isEmpty();
+        assertThat(oneTimeTokenService.peek(token, TokenPurpose.PASSWORD_RESET)).isEmpty();
+    }
+
+    @Test
+    void concurrentConsumesHaveExactlyOneWinner() throws Exception {
+        String token = oneTimeTokenService.issue(42L, TokenPurpose.PASSWORD_RESET, Duration.ofMinutes(10));
+        int requests = 20;
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<Long>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return oneTimeTokenService.consume(token, TokenPurpose.PASSWORD_RESET);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Optional<Long>> result : results) {
+                if (result.get(30, TimeUnit.SECONDS).isPresent()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
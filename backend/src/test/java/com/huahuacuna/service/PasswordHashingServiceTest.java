@@ -0,0 +1,86 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.LoginRequest;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regeneración transparente de hashes: en el perfil de pruebas el coste
+ * configurado es 4, así que solo se regeneran los hashes sin prefijo o de
+ * otro algoritmo; los de coste mayor se conservan.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PasswordHashingServiceTest {
+
+    private static final String PASSWORD = "Secreta#2025";
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void onlyWeakerOrForeignHashesNeedRehash() {
+        String current = passwordHashingService.encode(PASSWORD);
+        assertThat(current).startsWith("{bcrypt}$2a$04$");
+
+        assertThat(passwordHashingService.needsRehash(current)).isFalse();
+        assertThat(passwordHashingService.needsRehash("{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD)))
+                .isFalse();
+        assertThat(passwordHashingService.needsRehash(new BCryptPasswordEncoder(4).encode(PASSWORD))).isTrue();
+        assertThat(passwordHashingService.needsRehash("{noop}" + PASSWORD)).isTrue();
+        assertThat(passwordHashingService.needsRehash("{bcrypt}no-es-un-hash")).isTrue();
+        assertThat(passwordHashingService.needsRehash(null)).isTrue();
+    }
+
+    @Test
+    void loginUpgradesLegacyHashAndKeepsStrongerOne() throws Exception {
+        User legacy = saveUser("legado", new BCryptPasswordEncoder(4).encode(PASSWORD));
+        String strongerHash = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD);
+        User stronger = saveUser("fuerte", strongerHash);
+
+        authService.login(new LoginRequest(legacy.getEmail(), PASSWORD));
+        authService.login(new LoginRequest(stronger.getEmail(), PASSWORD));
+
+        // La regeneración se hace en segundo plano tras responder
+        String upgraded = awaitPasswordChange(legacy);
+        assertThat(upgraded).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordHashingService.matchesAsync(PASSWORD, upgraded).join()).isTrue();
+        assertThat(userRepository.findById(stronger.getId()).orElseThrow().getPassword()).isEqualTo(strongerHash);
+    }
+
+    private String awaitPasswordChange(User user) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+            if (!stored.equals(user.getPassword())) {
+                return stored;
+            }
+            Thread.sleep(50);
+        }
+        return user.getPassword();
+    }
+
+    private User saveUser(String prefix, String encodedPassword) {
+        return userRepository.save(User.builder()
+                .fullName("Usuario " + prefix)
+                .email(prefix + "-" + UUID.randomUUID().toString().substring(0, 8) + "@ejemplo.org")
+                .password(encodedPassword)
+                .role(Role.PADRINO)
+                .build());
+    }
+}
@@ -0,0 +1,108 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.Project;
+import com.huahuacuna.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectContributionServiceTest {
+
+    @Autowired
+    private ProjectContributionService projectContributionService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentContributorsAreAllCounted() throws Exception {
+        int contributors = 500;
+        Long projectId = saveProject(BigDecimal.ZERO).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(contributors);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < contributors; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return projectContributionService.addContribution(projectId, new BigDecimal("1.25"), null);
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal expected = new BigDecimal("625.00");
+        assertThat(projectContributionService.getLiveAmount(projectId)).isEqualByComparingTo(expected);
+
+        projectContributionService.compactContributions();
+
+        assertThat(projectRepository.findById(projectId).orElseThrow().getCurrentAmount())
+                .isEqualByComparingTo(expected);
+        assertThat(projectContributionService.getLiveAmount(projectId)).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void bulkAddToCurrentAmountIsPersisted() {
+        Long projectId = saveProject(new BigDecimal("10.00")).getId();
+
+        // currentAmount es updatable = false: solo la actualización masiva puede cambiarlo
+        int updated = new TransactionTemplate(transactionManager)
+                .execute(status -> projectRepository.addToCurrentAmount(projectId, new BigDecimal("5.50")));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(projectRepository.findById(projectId).orElseThrow().getCurrentAmount())
+                .isEqualByComparingTo("15.50");
+    }
+
+    @Test
+    void savingAStaleProjectDoesNotOverwriteTheCompactedAmount() {
+        Project stale = saveProject(new BigDecimal("10.00"));
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> projectRepository.addToCurrentAmount(stale.getId(), new BigDecimal("90.00")));
+
+        Project details = new Project();
+        details.setTitle("Proyecto renombrado");
+        details.setCurrentAmount(BigDecimal.ZERO);
+        projectService.updateProject(stale.getId(), details);
+
+        Project reloaded = projectRepository.findById(stale.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Proyecto renombrado");
+        assertThat(reloaded.getCurrentAmount()).isEqualByComparingTo("100.00");
+    }
+
+    private Project saveProject(BigDecimal currentAmount) {
+        Project project = new Project();
+        project.setTitle("Proyecto de prueba");
+        project.setGoalAmount(new BigDecimal("1000.00"));
+        project.setCurrentAmount(currentAmount);
+        return projectRepository.save(project);
+    }
+}
@@ -0,0 +1,196 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ChatMessage;
+import com.huahuacuna.model.Child;
+import com.huahuacuna.model.ChildStatus;
+import com.huahuacuna.model.OneTimeToken;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.Sponsorship;
+import com.huahuacuna.model.SponsorshipStatus;
+import com.huahuacuna.model.TokenPurpose;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.ChatMessageRepository;
+import com.huahuacuna.repository.ChildRepository;
+import com.huahuacuna.repository.OneTimeTokenRepository;
+import com.huahuacuna.repository.SponsorshipRepository;
+import com.huahuacuna.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la limpieza de retención. Usa su propia base de datos para que
+ * los conteos de filas y métricas solo incluyan lo que siembra cada prueba.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:huahuacuna_retention;DB_CLOSE_DELAY=-1",
+        "app.retention.batch-size=500",
+        "app.retention.pause-ms=0"})
+@ActiveProfiles("test")
+class RetentionServiceTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChildRepository childRepository;
+
+    @Autowired
+    private SponsorshipRepository sponsorshipRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private OneTimeTokenRepository oneTimeTokenRepository;
+
+    @Test
+    void onlyOldReadNotificationsArePurgedAcrossSeveralBatches() {
+        // Tres lotes de 500 con filas elegibles y no elegibles intercaladas:
+        // leída antigua (se borra), leída reciente y no leída antigua (se conservan)
+        int rows = BATCH_SIZE * 2 + 200;
+        LocalDateTime old = LocalDateTime.now().minusDays(60);
+        LocalDateTime recent = LocalDateTime.now().minusDays(1);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            boolean read = i % 3 != 2;
+            LocalDateTime readAt = i % 3 == 0 ? old : i % 3 == 1 ? recent : null;
+            batch.add(new Object[]{"Aviso " + i, "Contenido", "INFO", read, 1L,
+                    Timestamp.valueOf(old), readAt != null ? Timestamp.valueOf(readAt) : null});
+        }
+        Long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM notifications", Long.class);
+        jdbcTemplate.batchUpdate("INSERT INTO notifications "
+                + "(title, message, type, is_read, user_id, created_at, read_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE id > ? ORDER BY id", Long.class, firstId);
+        assertThat(ids).hasSize(rows);
+
+        double purgedBefore = purgedCount("notifications");
+        long runsBefore = runCount("notifications");
+
+        int purged = retentionService.purgeReadNotifications();
+
+        int eligible = (rows + 2) / 3;
+        assertThat(purged).isEqualTo(eligible);
+        Set<Long> remaining = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE id > ?", Long.class, firstId));
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            for (int i = from; i < Math.min(rows, from + BATCH_SIZE); i++) {
+                assertThat(remaining.contains(ids.get(i)))
+                        .as("lote %d, notificación %d (%s)", from / BATCH_SIZE, i, i % 3 == 0 ? "elegible" : "no elegible")
+                        .isEqualTo(i % 3 != 0);
+            }
+        }
+        assertThat(purgedCount("notifications") - purgedBefore).isEqualTo(eligible);
+        assertThat(runCount("notifications") - runsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void expiredOneTimeTokensArePurgedUsedOrNot() {
+        LocalDateTime now = LocalDateTime.now();
+        Long expiredUnused = saveToken(now.minusHours(2), null);
+        Long expiredUsed = saveToken(now.minusMinutes(5), now.minusMinutes(30));
+        Long validUnused = saveToken(now.plusMinutes(30), null);
+        Long validUsed = saveToken(now.plusMinutes(30), now.minusMinutes(1));
+        double purgedBefore = purgedCount("one-time-tokens");
+        long runsBefore = runCount("one-time-tokens");
+
+        int purged = retentionService.purgeExpiredTokens();
+
+        assertThat(purged).isEqualTo(2);
+        assertThat(oneTimeTokenRepository.existsById(expiredUnused)).isFalse();
+        assertThat(oneTimeTokenRepository.existsById(expiredUsed)).isFalse();
+        assertThat(oneTimeTokenRepository.existsById(validUnused)).isTrue();
+        assertThat(oneTimeTokenRepository.existsById(validUsed)).isTrue();
+        assertThat(purgedCount("one-time-tokens") - purgedBefore).isEqualTo(2);
+        assertThat(runCount("one-time-tokens") - runsBefore).isEqualTo(1);
+    }
+
+    @Test
+    void chatHistoryIsOnlyPurgedWhenEnabled() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User godparent = userRepository.save(User.builder()
+                .fullName("Padrino retención")
+                .email("retencion-" + suffix + "@ejemplo.org")
+                .password("{noop}no-usado")
+                .role(Role.PADRINO)
+                .build());
+        Child child = new Child();
+        child.setFirstName("Retención");
+        child.setLastName("Prueba");
+        child.setBirthDate(LocalDate.of(2015, 5, 20));
+        child.setStatus(ChildStatus.AVAILABLE);
+        Sponsorship sponsorship = sponsorshipRepository.save(Sponsorship.builder()
+                .godparent(godparent)
+                .child(childRepository.save(child))
+                .status(SponsorshipStatus.ENDED)
+                .build());
+        Long messageId = chatMessageRepository.save(ChatMessage.builder()
+                .sponsorship(sponsorship)
+                .content("Mensaje antiguo")
+                .sentBy(ChatMessage.SentBy.GODPARENT)
+                .senderUserId(godparent.getId())
+                .isRead(true)
+                .build()).getId();
+        jdbcTemplate.update("UPDATE chat_messages SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusYears(2)), messageId);
+
+        // app.retention.chat.enabled está desactivado por defecto: la pasada completa no toca el chat
+        retentionService.runRetention();
+
+        assertThat(chatMessageRepository.existsById(messageId)).isTrue();
+        assertThat(meterRegistry.find("retention.run").tag("target", "chat-messages").timer()).isNull();
+
+        // El mensaje sí es elegible: solo lo protegía la opción desactivada
+        assertThat(retentionService.purgeArchivedChatMessages()).isEqualTo(1);
+        assertThat(chatMessageRepository.existsById(messageId)).isFalse();
+        assertThat(purgedCount("chat-messages")).isEqualTo(1);
+    }
+
+    private Long saveToken(LocalDateTime expiresAt, LocalDateTime usedAt) {
+        return oneTimeTokenRepository.save(OneTimeToken.builder()
+                .tokenHash(UUID.randomUUID().toString().replace("-", "") + "00000000000000000000000000000000")
+                .userId(1L)
+                .purpose(TokenPurpose.PASSWORD_RESET)
+                .expiresAt(expiresAt)
+                .usedAt(usedAt)
+                .build()).getId();
+    }
+
+    private double purgedCount(String target) {
+        Counter counter = meterRegistry.find("retention.rows.purged").tag("target", target).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private long runCount(String target) {
+        Timer timer = meterRegistry.find("retention.run").tag("target", target).timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
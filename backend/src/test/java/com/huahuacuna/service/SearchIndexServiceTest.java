@@ -0,0 +1,100 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.SearchEntityType;
+import com.huahuacuna.model.SearchTerm;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.SearchIndexBuildRepository;
+import com.huahuacuna.repository.SearchTermRepository;
+import com.huahuacuna.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SearchIndexServiceTest {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private SearchTermRepository searchTermRepository;
+
+    @Autowired
+    private SearchIndexBuildRepository searchIndexBuildRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+    }
+
+    @Test
+    void searchIntersectsAllTermsInTheDatabase() {
+        User alfa = saveUser("Comun" + suffix + " Alfa", "alfa-" + suffix + "@ejemplo.org");
+        User beta = saveUser("Comun" + suffix + " Beta", "beta-" + suffix + "@ejemplo.org");
+        User betania = saveUser("Comun" + suffix + " Betania", "betania-" + suffix + "@ejemplo.org");
+
+        assertThat(searchIndexService.search(SearchEntityType.USER, null, "comun" + suffix))
+                .containsExactly(alfa.getId(), beta.getId(), betania.getId());
+        assertThat(searchIndexService.search(SearchEntityType.USER, null, "comun" + suffix + " bet"))
+                .containsExactly(beta.getId(), betania.getId());
+        // Un término que es prefijo de otro se cumple con la misma palabra
+        assertThat(searchIndexService.search(SearchEntityType.USER, null, "beta betania comun" + suffix))
+                .containsExactly(betania.getId());
+    }
+
+    @Test
+    void updatingANonIndexedFieldDoesNotReindex() {
+        User user = saveUser("Indexado " + suffix, "persona-" + suffix + "@ejemplo.org");
+        List<Long> termIds = termIdsOf(user.getId());
+        assertThat(termIds).isNotEmpty();
+
+        user.setTelefono("3001234567");
+        userRepository.save(user);
+        assertThat(termIdsOf(user.getId())).isEqualTo(termIds);
+
+        user.setFullName("Renombrado " + suffix);
+        userRepository.save(user);
+        assertThat(termIdsOf(user.getId())).isNotEqualTo(termIds);
+        assertThat(searchIndexService.search(SearchEntityType.USER, null, "renombrado " + suffix))
+                .containsExactly(user.getId());
+        assertThat(searchIndexService.search(SearchEntityType.USER, null, "indexado " + suffix)).isEmpty();
+    }
+
+    @Test
+    void completedRebuildsAreMarkedPerType() {
+        for (SearchEntityType type : SearchEntityType.values()) {
+            assertThat(searchIndexBuildRepository.existsById(type)).as(type.name()).isTrue();
+        }
+    }
+
+    private List<Long> termIdsOf(Long userId) {
+        return searchTermRepository.findAll().stream()
+                .filter(t -> t.getEntityType() == SearchEntityType.USER && t.getEntityId().equals(userId))
+                .map(SearchTerm::getId)
+                .sorted()
+                .toList();
+    }
+
+    private User saveUser(String fullName, String email) {
+        return userRepository.save(User.builder()
+                .fullName(fullName)
+                .email(email)
+                .password("{noop}no-usado")
+                .role(Role.PADRINO)
+                .build());
+    }
+}
@@ -0,0 +1,137 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.Notification;
+import com.huahuacuna.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UnreadCounterServiceTest {
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        // Usuario sin notificaciones previas (userId no es clave foránea)
+        userId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        key = UnreadCounterService.notificationKey(userId);
+    }
+
+    @Test
+    void concurrentReadsOfTheSameNotificationDecrementOnce() throws Exception {
+        Notification target = notificationService.createNotification("Uno", "Mensaje", "INFO", userId, null);
+        notificationService.createNotification("Dos", "Mensaje", "INFO", userId, null);
+        assertThat(unreadCounterService.get(key)).isEqualTo(2);
+
+        int readers = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Notification>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < readers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return notificationService.markAsRead(target.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<Notification> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS).getIsRead()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(unreadCounterService.get(key)).isEqualTo(1);
+        assertThat(notificationRepository.countByUserIdAndIsRead(userId, false)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileBetweenCommitAndEventDoesNotApplyTheChangeTwice() {
+        assertThat(unreadCounterService.get(key)).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            notificationService.createNotification("Nueva", "Mensaje", "INFO", userId, null);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // La fila ya está confirmada pero el evento del contador aún no se aplicó
+                    CompletableFuture.runAsync(() -> {
+                        unreadCounterService.reconcileAll();
+                        unreadCounterService.reconcileAll();
+                    }).join();
+                }
+            });
+        });
+
+        assertThat(unreadCounterService.get(key)).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackChangesDoNotBlockReconciliation() {
+        assertThat(unreadCounterService.get(key)).isZero();
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                notificationService.createNotification("Revertida", "Mensaje", "INFO", userId, null);
+                throw new IllegalStateException("revertir");
+            });
+        } catch (IllegalStateException expected) {
+            // La transacción se revierte y el contador no cambia
+        }
+        assertThat(unreadCounterService.get(key)).isZero();
+
+        notificationRepository.save(new Notification("Sin contar", "Mensaje", "INFO", userId, null));
+        unreadCounterService.reconcileAll();
+        unreadCounterService.reconcileAll();
+
+        assertThat(unreadCounterService.get(key)).isEqualTo(1);
+    }
+
+    @Test
+    void driftIsCorrectedOnlyWhenSeenInTwoPasses() {
+        assertThat(unreadCounterService.get(key)).isZero();
+
+        // Fila escrita sin pasar por el contador, como tras una parada no ordenada
+        notificationRepository.save(new Notification("Sin contar", "Mensaje", "INFO", userId, null));
+
+        unreadCounterService.reconcileAll();
+        assertThat(unreadCounterService.get(key)).isZero();
+
+        unreadCounterService.reconcileAll();
+        assertThat(unreadCounterService.get(key)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.huahuacuna.service;
+
+import com.huahuacuna.model.ApplicationRequest;
+import com.huahuacuna.model.Role;
+import com.huahuacuna.model.User;
+import com.huahuacuna.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las consultas de usuarios solo leen las filas que necesitan,
+ * contando las entidades cargadas con las estadísticas de Hibernate.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationService applicationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        // Volumen de usuarios que no deben leerse en ninguna de las consultas
+        for (int i = 0; i < 30; i++) {
+            saveUser("Padrino Relleno " + i, "relleno" + i + "-" + suffix + "@ejemplo.org", Role.PADRINO, true);
+        }
+    }
+
+    @Test
+    void countingActiveAdminsLoadsNoUsers() {
+        saveUser("Admin Activo", "admin-activo-" + suffix + "@ejemplo.org", Role.ADMIN, true);
+        saveUser("Admin Inactivo", "admin-inactivo-" + suffix + "@ejemplo.org", Role.ADMIN, false);
+
+        statistics.clear();
+        long activeAdmins = userRepository.countByRoleAndIsActive(Role.ADMIN, true);
+
+        assertThat(activeAdmins).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void usersByRoleLoadsOnlyThatRole() {
+        saveUser("Voluntaria Uno", "vol1-" + suffix + "@ejemplo.org", Role.VOLUNTARIO, true);
+        saveUser("Voluntaria Dos", "vol2-" + suffix + "@ejemplo.org", Role.VOLUNTARIO, true);
+        long volunteers = userRepository.countByRole(Role.VOLUNTARIO);
+
+        statistics.clear();
+        List<User> result = userService.getUsersByRole("voluntario");
+
+        assertThat(result).hasSize((int) volunteers).allMatch(u -> u.getRole() == Role.VOLUNTARIO);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(volunteers);
+    }
+
+    @Test
+    void searchLoadsOnlyMatchingUsers() {
+        User target = saveUser("José Zubiría " + suffix, "jose-" + suffix + "@ejemplo.org", Role.PADRINO, true);
+
+        statistics.clear();
+        List<User> result = userService.searchUsers("zubiria " + suffix);
+
+        assertThat(result).extracting(User::getId).containsExactly(target.getId());
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fallbackSearchMatchesEmailSubstringAndEscapesWildcards() {
+        User underscore = saveUser("Con Guion Bajo", "con_guion-" + suffix + "@ejemplo.org", Role.PADRINO, true);
+
+        statistics.clear();
+        List<User> result = userService.searchUsers("_");
+
+        // "_" es literal: no coincide con cualquier carácter
+        assertThat(result).extracting(User::getEmail).allMatch(email -> email.contains("_"));
+        assertThat(result).extracting(User::getId).contains(underscore.getId());
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(result.size());
+
+        assertThat(userService.searchUsers("%")).isEmpty();
+    }
+
+    @Test
+    void notifyingAdminsAboutNewApplicationLoadsNoUsers() {
+        saveUser("Admin Notificado", "admin-notif-" + suffix + "@ejemplo.org", Role.ADMIN, true);
+
+        ApplicationRequest application = new ApplicationRequest();
+        application.setFullName("Solicitante " + suffix);
+        application.setEmail("solicitante-" + suffix + "@ejemplo.org");
+        application.setPhone("3000000000");
+
+        statistics.clear();
+        applicationService.createVolunteerApplication(application);
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    private User saveUser(String fullName, String email, Role role, boolean active) {
+        return userRepository.save(User.builder()
+                .fullName(fullName)
+                .email(email)
+                .password("{noop}no-usado")
+                .role(role)
+                .isActive(active)
+                .build());
+    }
+}